@@ -0,0 +1,38 @@
+package onehajo.seurasaeng.archive.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.archive.service.BoardingArchiveService;
+import onehajo.seurasaeng.util.JwtUtil;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/archive")
+public class BoardingArchiveController {
+    private final BoardingArchiveService boardingArchiveService;
+    private final JwtUtil jwtUtil;
+
+    // 보관된 탑승 내역 조회 - 관리자
+    @GetMapping("/boardings")
+    public ResponseEntity<?> getArchivedBoardings(@RequestHeader("Authorization") String authHeader,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                  @RequestParam(required = false) Long user_id,
+                                                  @RequestParam(required = false) Long shuttle_id) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        return ResponseEntity.ok(boardingArchiveService.find(from, to, user_id, shuttle_id));
+    }
+}
@@ -0,0 +1,20 @@
+package onehajo.seurasaeng.archive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 파일로 옮겨진 탑승 내역
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BoardingArchiveRecordDTO {
+    private Long boarding_id;
+    private Long user_id;
+    private Long shuttle_id;
+    private LocalDateTime boarding_time;
+}
@@ -0,0 +1,75 @@
+package onehajo.seurasaeng.archive.service;
+
+import onehajo.seurasaeng.archive.dto.BoardingArchiveRecordDTO;
+import onehajo.seurasaeng.archive.exception.ArchiveException;
+import onehajo.seurasaeng.archive.util.BoardingArchiveFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 보관 파일로 옮겨진 탑승 내역 조회
+ * 조회 기간에 걸친 월 파일만 열고, 파일 안에서도 해당 운행일 블록만 읽는다.
+ */
+@Service
+public class BoardingArchiveService {
+    private static final int MAX_RANGE_DAYS = 31;
+
+    private final Path root;
+
+    public BoardingArchiveService(@Value("${boarding.archive.path:./data/boarding-archive}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 월별 보관 파일 경로
+     */
+    public Path pathOf(YearMonth month) {
+        return root.resolve("boarding-" + month + ".csv.gz");
+    }
+
+    /**
+     * 보관된 탑승 내역 조회 (user_id, shuttle_id 는 선택)
+     */
+    public List<BoardingArchiveRecordDTO> find(LocalDate from, LocalDate to, Long user_id, Long shuttle_id) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.");
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        List<BoardingArchiveRecordDTO> records = new ArrayList<>();
+
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            Path path = pathOf(month);
+            if (!Files.exists(path)) {
+                continue;
+            }
+
+            try {
+                records.addAll(BoardingArchiveFile.read(path, start, end, record ->
+                        (user_id == null || user_id.equals(record.getUser_id()))
+                                && (shuttle_id == null || shuttle_id.equals(record.getShuttle_id()))));
+            } catch (IOException e) {
+                throw new ArchiveException("보관 파일 읽기 실패: " + path, e);
+            }
+        }
+
+        records.sort(Comparator.comparing(BoardingArchiveRecordDTO::getBoarding_time)
+                .thenComparing(BoardingArchiveRecordDTO::getBoarding_id));
+        return records;
+    }
+}
@@ -0,0 +1,437 @@
+package onehajo.seurasaeng.archive.service;
+
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.archive.dto.BoardingArchiveRecordDTO;
+import onehajo.seurasaeng.archive.exception.ArchiveException;
+import onehajo.seurasaeng.archive.util.BoardingArchiveFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 탑승 내역 월 단위 파티션 관리
+ * - 기동 시 boarding 이 service_date 범위 파티션 테이블이 아니면 전환한다.
+ * - 매일 다음 달 파티션을 미리 만들고, 보관 기간이 지난 파티션은 보관 파일로 내보낸 뒤 분리 / 삭제한다.
+ *   (내보내는 동안 쓰기를 막지 않고, 분리는 잠금 대기 시간을 제한한 짧은 트랜잭션으로 처리)
+ * - 파티션이 없던 월의 행은 기본 파티션에 들어가며, 파티션을 만들 때 옮기거나 보관 기간이 지나면 보관 파일에 합친다.
+ * 여러 서버가 동시에 실행해도 한 곳에서만 처리되도록 DB 잠금을 건다.
+ */
+@Slf4j
+@Service
+public class BoardingPartitionService {
+    private static final String SCHEMA = "seurasaeng_prod";
+    private static final String TABLE = SCHEMA + ".boarding";
+    private static final String DEFAULT_PARTITION = SCHEMA + ".boarding_default";
+    private static final String PARTITION_PREFIX = "boarding_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // 파티션 관리 잠금 키
+    private static final long PARTITION_LOCK_KEY = 0x424F4152L;
+
+    // 파티션 분리 시 부모 테이블 잠금 대기 제한
+    private static final String DETACH_LOCK_TIMEOUT = "5s";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final BoardingArchiveService boardingArchiveService;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public BoardingPartitionService(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    BoardingArchiveService boardingArchiveService,
+                                    @Value("${boarding.partition.months-ahead:2}") int monthsAhead,
+                                    @Value("${boarding.archive.retention-months:12}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.boardingArchiveService = boardingArchiveService;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            if (!isPartitionedByServiceDate()) {
+                migrate();
+            }
+        });
+        createPartitions();
+    }
+
+    @Scheduled(cron = "${boarding.partition.cron:0 0 3 * * *}")
+    public void maintain() {
+        createPartitions();
+        archiveExpired();
+    }
+
+    /**
+     * 이번 달부터 monthsAhead 개월 뒤까지 파티션 생성
+     * 파티션이 생기기 전에 기본 파티션에 들어간 해당 월 행이 있어 생성에 실패하면, 그 행을 새 파티션으로 옮기며 만든다.
+     */
+    public void createPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    lock();
+                    createPartition(month);
+                });
+            } catch (DataAccessException e) {
+                log.warn("탑승 내역 파티션 생성 실패, 기본 파티션에서 옮겨 생성 - {}: {}", month, e.getMessage());
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        lock();
+                        createPartitionFromDefault(month);
+                    });
+                } catch (DataAccessException retry) {
+                    log.error("탑승 내역 파티션 생성 실패 - {}: {}", month, retry.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 파티션을 보관 파일로 내보내고 분리 / 삭제
+     * 파티션이 없던 월이나 이미 보관한 월에 늦게 들어와 기본 파티션에 남은 행도 그 월 보관 파일에 합쳐 옮긴다.
+     * @return 보관 처리한 월 목록
+     */
+    public List<YearMonth> archiveExpired() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+
+        List<YearMonth> expired = listPartitionMonths().stream()
+                .filter(month -> month.isBefore(cutoff))
+                .sorted()
+                .toList();
+
+        List<YearMonth> archived = new ArrayList<>();
+        for (YearMonth month : expired) {
+            try {
+                if (archive(month)) {
+                    archived.add(month);
+                }
+            } catch (ArchiveException | DataAccessException e) {
+                // 분리 대기 시간 초과 등, 다음 실행 때 이어서 처리
+                log.error("탑승 내역 파티션 보관 실패 - {}: {}", month, e.getMessage());
+            }
+        }
+
+        // 파티션 보관 파일을 먼저 만든 뒤 합친다
+        for (YearMonth month : listDefaultMonthsBefore(cutoff)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> archiveFromDefault(month));
+                if (!archived.contains(month)) {
+                    archived.add(month);
+                }
+            } catch (ArchiveException | DataAccessException e) {
+                log.error("기본 파티션 탑승 내역 보관 실패 - {}: {}", month, e.getMessage());
+            }
+        }
+        return archived;
+    }
+
+    // 내보내기 -> 분리 -> (분리 전 늦게 들어온 행이 있으면 다시 내보내기) -> 삭제, 단계마다 짧은 트랜잭션
+    private boolean archive(YearMonth month) {
+        String partition = SCHEMA + "." + partitionName(month);
+        Path target = boardingArchiveService.pathOf(month);
+
+        // 쓰기를 막지 않고 한 스냅샷에서 내보내고 행 수를 확인
+        Long exported = snapshotTransaction.execute(status -> {
+            lock();
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT to_regclass('" + partition + "') IS NOT NULL", Boolean.class))) {
+                return null;
+            }
+            return export(partition, target);
+        });
+        if (exported == null) {
+            // 다른 서버에서 이미 처리한 경우
+            return false;
+        }
+
+        detach(partition);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            // 분리된 뒤에는 더 쓰이지 않으므로 스냅샷 이후 들어온 행이 있으면 지금 다시 내보낸다
+            Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition, Long.class);
+            if (!Objects.equals(rows, exported)) {
+                log.info("탑승 내역 파티션 재보관 - {}: {} -> {}건", partition, exported, rows);
+                export(partition, target);
+            }
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        });
+        log.info("탑승 내역 파티션 보관 완료 - {} -> {}", partition, target);
+        return true;
+    }
+
+    // 파티션 전체를 보관 파일로 기록 (호출한 트랜잭션의 스냅샷 기준)
+    private long export(String partition, Path target) {
+        Long expected = jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition, Long.class);
+        return writeArchive(target, expected == null ? 0 : expected, writer ->
+                jdbcTemplate.query("SELECT boarding_id, user_id, shuttle_id, boarding_time FROM " + partition
+                        + " ORDER BY boarding_time, boarding_id", rs -> {
+                    try {
+                        writer.append(toRecord(rs));
+                    } catch (IOException e) {
+                        throw new ArchiveException("보관 파일 기록 실패: " + target, e);
+                    }
+                }));
+    }
+
+    // 기본 파티션의 해당 월 행을 지우면서 보관 파일에 합침 (같은 탑승이 이미 보관되어 있으면 보관된 것을 둔다)
+    private void archiveFromDefault(YearMonth month) {
+        lock();
+        Path target = boardingArchiveService.pathOf(month);
+
+        List<BoardingArchiveRecordDTO> moved = jdbcTemplate.query("DELETE FROM " + DEFAULT_PARTITION
+                        + " WHERE service_date >= ? AND service_date < ?"
+                        + " RETURNING boarding_id, user_id, shuttle_id, boarding_time",
+                (rs, rowNum) -> toRecord(rs), Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1)));
+        if (moved.isEmpty()) {
+            return;
+        }
+
+        Map<String, BoardingArchiveRecordDTO> merged = new LinkedHashMap<>();
+        try {
+            if (Files.exists(target)) {
+                for (BoardingArchiveRecordDTO record : BoardingArchiveFile.read(target,
+                        LocalDateTime.MIN, LocalDateTime.MAX, record -> true)) {
+                    merged.putIfAbsent(boardingKey(record), record);
+                }
+            }
+        } catch (IOException e) {
+            throw new ArchiveException("보관 파일 읽기 실패: " + target, e);
+        }
+        for (BoardingArchiveRecordDTO record : moved) {
+            merged.putIfAbsent(boardingKey(record), record);
+        }
+
+        List<BoardingArchiveRecordDTO> records = new ArrayList<>(merged.values());
+        records.sort(Comparator.comparing(BoardingArchiveRecordDTO::getBoarding_time)
+                .thenComparing(BoardingArchiveRecordDTO::getBoarding_id));
+        // 파일을 교체한 뒤 커밋하지 못해도 다음 실행에서 같은 행을 다시 합칠 뿐 중복되지 않는다
+        writeArchive(target, records.size(), writer -> {
+            for (BoardingArchiveRecordDTO record : records) {
+                writer.append(record);
+            }
+        });
+        log.info("기본 파티션 탑승 내역 보관 완료 - {}: {}건 -> {}", month, moved.size(), target);
+    }
+
+    // 임시 파일에 기록 후 행 수 확인 / fsync 하고 보관 파일로 교체
+    private long writeArchive(Path target, long expected, ArchiveContent content) {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            long written;
+            try (BoardingArchiveFile.Writer writer = new BoardingArchiveFile.Writer(temp)) {
+                content.writeTo(writer);
+                written = writer.getRows();
+            }
+
+            if (written != expected) {
+                throw new ArchiveException("보관 파일 행 수 불일치 - " + target.getFileName() + ": " + written + " / " + expected);
+            }
+            // 파티션을 지우기 전에 파일 내용과 이름 변경이 디스크에 기록되었는지 확인
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(target.getParent());
+            return written;
+        } catch (IOException e) {
+            throw new ArchiveException("보관 파일 기록 실패: " + target, e);
+        }
+    }
+
+    // 부모 테이블에서 분리 (잠금 대기 시간을 제한한 짧은 트랜잭션)
+    // 기본 파티션이 있으면 DETACH ... CONCURRENTLY 를 쓸 수 없다
+    private void detach(String partition) {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            // 부모 테이블 잠금을 오래 기다리면 뒤따르는 탑승 기록이 모두 막히므로 짧게 기다리고 다음 실행에 다시 시도
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + DETACH_LOCK_TIMEOUT + "'");
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_inherits"
+                    + " WHERE inhrelid = '" + partition + "'::regclass)", Boolean.class))) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+            }
+        });
+    }
+
+    // 이름 변경이 유지되도록 디렉터리 fsync (지원하지 않는 플랫폼은 건너뜀)
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("보관 디렉터리 fsync 생략 - {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static BoardingArchiveRecordDTO toRecord(ResultSet rs) throws SQLException {
+        return BoardingArchiveRecordDTO.builder()
+                .boarding_id(rs.getLong(1))
+                .user_id(rs.getLong(2))
+                .shuttle_id(rs.getLong(3))
+                .boarding_time(rs.getTimestamp(4).toLocalDateTime())
+                .build();
+    }
+
+    // 스트림 재전달로 다시 들어온 탑승은 boarding_id 가 달라지므로 사용자 / 셔틀 / 탑승 시각으로 구분
+    private static String boardingKey(BoardingArchiveRecordDTO record) {
+        return record.getUser_id() + ":" + record.getShuttle_id() + ":" + record.getBoarding_time();
+    }
+
+    @FunctionalInterface
+    private interface ArchiveContent {
+        void writeTo(BoardingArchiveFile.Writer writer) throws IOException;
+    }
+
+    // 기존 테이블(일반 또는 boarding_time 파티션)을 같은 이름의 service_date 파티션 테이블로 전환
+    private void migrate() {
+        log.info("탑승 내역 테이블 파티션 전환 시작");
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint"
+                        + " WHERE conrelid = '" + TABLE + "'::regclass AND contype = 'f'");
+
+        // 운행일 컬럼이 없던 행은 탑승 시각으로 채움
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN IF NOT EXISTS service_date date");
+        jdbcTemplate.update("UPDATE " + TABLE + " SET service_date = boarding_time::date WHERE service_date IS NULL");
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                "SELECT min(service_date) AS min_date, max(service_date) AS max_date FROM " + TABLE);
+
+        // 기존 파티션과 이름이 겹치지 않도록 일반 테이블로 옮겨 두고 원본은 파티션째 삭제
+        jdbcTemplate.execute("CREATE TABLE " + SCHEMA + ".boarding_unpartitioned (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+        jdbcTemplate.update("INSERT INTO " + SCHEMA + ".boarding_unpartitioned SELECT * FROM " + TABLE);
+        jdbcTemplate.execute("DROP TABLE " + TABLE);
+
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + SCHEMA + ".boarding_unpartitioned INCLUDING DEFAULTS)"
+                + " PARTITION BY RANGE (service_date)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN service_date SET NOT NULL");
+        // 파티션 범위를 벗어난 운행일이 들어와도 저장되도록 기본 파티션을 둔다
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+        YearMonth first = bounds.get("min_date") == null
+                ? YearMonth.now()
+                : YearMonth.from(((Date) bounds.get("min_date")).toLocalDate());
+        YearMonth last = bounds.get("max_date") == null
+                ? YearMonth.now()
+                : YearMonth.from(((Date) bounds.get("max_date")).toLocalDate());
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+
+        // 같은 운행일 같은 셔틀의 중복 탑승은 처음 것만 남김
+        int moved = jdbcTemplate.update("INSERT INTO " + TABLE
+                + " SELECT DISTINCT ON (user_id, shuttle_id, service_date) * FROM " + SCHEMA + ".boarding_unpartitioned"
+                + " ORDER BY user_id, shuttle_id, service_date, boarding_time, boarding_id");
+        jdbcTemplate.execute("DROP TABLE " + SCHEMA + ".boarding_unpartitioned");
+
+        // 파티션 테이블의 기본키 / 유니크 인덱스는 파티션 키를 포함해야 한다
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT boarding_pkey PRIMARY KEY (boarding_id, service_date)");
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + foreignKey.get("conname")
+                    + " " + foreignKey.get("definition"));
+        }
+        jdbcTemplate.execute("CREATE UNIQUE INDEX uk_boarding_user_shuttle_date ON " + TABLE + " (user_id, shuttle_id, service_date)");
+        jdbcTemplate.execute("CREATE INDEX idx_boarding_user_time ON " + TABLE + " (user_id, boarding_time, boarding_id)");
+
+        log.info("탑승 내역 테이블 파티션 전환 완료 - {}건, {} ~ {}", moved, first, last);
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + SCHEMA + "." + partitionName(month)
+                + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    // 기본 파티션을 잠시 떼어 낸 상태에서 파티션을 만들고 해당 월 행을 옮긴 뒤 다시 붙임 (한 트랜잭션)
+    private void createPartitionFromDefault(YearMonth month) {
+        String partition = SCHEMA + "." + partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + DEFAULT_PARTITION);
+        createPartition(month);
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                        + " WHERE service_date >= ? AND service_date < ? RETURNING *)"
+                        + " INSERT INTO " + partition + " SELECT * FROM moved",
+                Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1)));
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        log.info("탑승 내역 파티션 생성 - {}: 기본 파티션에서 {}건 이동", partition, moved);
+    }
+
+    // 기본 파티션에 남은 보관 기준 이전 월
+    private List<YearMonth> listDefaultMonthsBefore(YearMonth cutoff) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT date_trunc('month', service_date)::date FROM "
+                        + DEFAULT_PARTITION + " WHERE service_date < ? ORDER BY 1",
+                        Date.class, Date.valueOf(cutoff.atDay(1))).stream()
+                .map(date -> YearMonth.from(date.toLocalDate()))
+                .toList();
+    }
+
+    private boolean isPartitionedByServiceDate() {
+        List<String> partitionKeys = jdbcTemplate.queryForList(
+                "SELECT a.attname::text FROM pg_partitioned_table pt"
+                        + " JOIN pg_attribute a ON a.attrelid = pt.partrelid AND a.attnum = pt.partattrs[0]"
+                        + " WHERE pt.partrelid = '" + TABLE + "'::regclass", String.class);
+        return partitionKeys.equals(List.of("service_date"));
+    }
+
+    // 분리만 되고 삭제되지 못한 파티션도 다시 처리하도록 부모 테이블이 아닌 이름으로 찾는다
+    private List<YearMonth> listPartitionMonths() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_class c"
+                        + " JOIN pg_namespace n ON n.oid = c.relnamespace"
+                        + " WHERE n.nspname = ? AND c.relkind = 'r' AND c.relname LIKE 'boarding\\_p%'",
+                String.class, SCHEMA);
+
+        return names.stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.parse(matcher.group(1), PARTITION_SUFFIX))
+                .toList();
+    }
+
+    private void lock() {
+        jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(?)", Integer.class, PARTITION_LOCK_KEY);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,206 @@
+package onehajo.seurasaeng.archive.util;
+
+import onehajo.seurasaeng.archive.dto.BoardingArchiveRecordDTO;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 탑승 내역 보관 파일 (월 단위)
+ * 운행일마다 CSV(boarding_id,user_id,shuttle_id,boarding_time)를 gzip 블록 하나로 압축해 이어 붙이고,
+ * 끝에 운행일별 블록 위치 색인과 트레일러(색인 위치 8바이트 + 매직 4바이트)를 둔다.
+ * 조회 시 색인만 읽고 기간에 해당하는 블록만 풀며, zcat 으로 열면 색인은 무시되고 CSV 전체가 나온다.
+ */
+public final class BoardingArchiveFile {
+    private static final int MAGIC = 0x42415243; // "BARC"
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private BoardingArchiveFile() {
+    }
+
+    // 운행일 블록 색인 (파일 내 위치, 압축 크기, 행 수)
+    public record Block(LocalDate date, long offset, long length, int rows) {
+    }
+
+    /**
+     * 보관 파일 작성기 (탑승 시각 오름차순으로 append 해야 한다)
+     */
+    public static final class Writer implements Closeable {
+        private final OutputStream out;
+        private final List<Block> blocks = new ArrayList<>();
+        private final StringBuilder lines = new StringBuilder();
+        private LocalDate currentDate;
+        private int currentRows;
+        private long offset;
+        private long rows;
+
+        public Writer(Path path) throws IOException {
+            this.out = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+        }
+
+        public void append(BoardingArchiveRecordDTO record) throws IOException {
+            LocalDate date = record.getBoarding_time().toLocalDate();
+            if (currentDate != null && date.isBefore(currentDate)) {
+                throw new IllegalArgumentException("탑승 시각 오름차순으로 기록해야 합니다.");
+            }
+            if (!date.equals(currentDate)) {
+                flushBlock();
+                currentDate = date;
+            }
+
+            lines.append(record.getBoarding_id()).append(',')
+                    .append(record.getUser_id()).append(',')
+                    .append(record.getShuttle_id()).append(',')
+                    .append(record.getBoarding_time()).append('\n');
+            currentRows++;
+            rows++;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flushBlock();
+
+                StringBuilder footer = new StringBuilder();
+                for (Block block : blocks) {
+                    footer.append(block.date()).append(',')
+                            .append(block.offset()).append(',')
+                            .append(block.length()).append(',')
+                            .append(block.rows()).append('\n');
+                }
+                DataOutputStream data = new DataOutputStream(out);
+                data.write(footer.toString().getBytes(StandardCharsets.UTF_8));
+                data.writeLong(offset);
+                data.writeInt(MAGIC);
+                data.flush();
+            } finally {
+                out.close();
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            if (currentRows == 0) {
+                return;
+            }
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            compressed.writeTo(out);
+
+            blocks.add(new Block(currentDate, offset, compressed.size(), currentRows));
+            offset += compressed.size();
+            lines.setLength(0);
+            currentRows = 0;
+        }
+    }
+
+    /**
+     * 운행일 블록 색인 조회
+     */
+    public static List<Block> readIndex(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readIndex(channel);
+        }
+    }
+
+    /**
+     * [from, to) 기간 탑승 내역 조회 (해당 운행일 블록만 읽음)
+     */
+    public static List<BoardingArchiveRecordDTO> read(Path path, LocalDateTime from, LocalDateTime to,
+                                                      Predicate<BoardingArchiveRecordDTO> filter) throws IOException {
+        List<BoardingArchiveRecordDTO> records = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (Block block : readIndex(channel)) {
+                if (block.date().isBefore(from.toLocalDate()) || !block.date().atStartOfDay().isBefore(to)) {
+                    continue;
+                }
+
+                ByteBuffer buffer = readFully(channel, block.offset(), (int) block.length());
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(new ByteArrayInputStream(buffer.array())), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        BoardingArchiveRecordDTO record = parse(line);
+                        LocalDateTime boardingTime = record.getBoarding_time();
+                        if (!boardingTime.isBefore(from) && boardingTime.isBefore(to) && filter.test(record)) {
+                            records.add(record);
+                        }
+                    }
+                }
+            }
+        }
+        return records;
+    }
+
+    private static List<Block> readIndex(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < TRAILER_BYTES) {
+            throw new IOException("보관 파일이 손상되었습니다.");
+        }
+
+        ByteBuffer trailer = readFully(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != MAGIC || footerOffset < 0 || footerOffset > size - TRAILER_BYTES) {
+            throw new IOException("보관 파일이 손상되었습니다.");
+        }
+
+        ByteBuffer footer = readFully(channel, footerOffset, (int) (size - TRAILER_BYTES - footerOffset));
+        List<Block> blocks = new ArrayList<>();
+        for (String line : new String(footer.array(), StandardCharsets.UTF_8).split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            blocks.add(new Block(LocalDate.parse(fields[0]), Long.parseLong(fields[1]),
+                    Long.parseLong(fields[2]), Integer.parseInt(fields[3])));
+        }
+        return blocks;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("보관 파일이 손상되었습니다.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static BoardingArchiveRecordDTO parse(String line) {
+        String[] fields = line.split(",");
+        return BoardingArchiveRecordDTO.builder()
+                .boarding_id(Long.parseLong(fields[0]))
+                .user_id(Long.parseLong(fields[1]))
+                .shuttle_id(Long.parseLong(fields[2]))
+                .boarding_time(LocalDateTime.parse(fields[3]))
+                .build();
+    }
+}
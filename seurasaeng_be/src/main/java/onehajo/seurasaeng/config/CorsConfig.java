@@ -20,6 +20,7 @@ public class CorsConfig {
                 registry.addMapping("/api/**")
                         .allowedOrigins(allowedOrigins)
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH")
+                        .exposedHeaders("X-Next-Cursor", "ETag")
                         .allowCredentials(true);
             }
         };
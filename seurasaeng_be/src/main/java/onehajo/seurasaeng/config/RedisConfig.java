@@ -6,9 +6,16 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.util.List;
 
 @Configuration
 @EnableRedisRepositories
@@ -40,4 +47,59 @@ public class RedisConfig {
         template.setDefaultSerializer(new StringRedisSerializer());
         return template;
     }
+
+    /**
+     * Redis pub/sub 구독 컨테이너 (인스턴스 간 캐시 무효화)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
+
+    /**
+     * 탑승 승인 스크립트 (중복 확인 + 정원 확인 + 인원 증가)
+     */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> boardingAdmissionScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/boarding_admission.lua")));
+        script.setResultType(List.class);
+        return script;
+    }
+
+    /**
+     * 탑승 승인 취소 스크립트
+     */
+    @Bean
+    public RedisScript<Long> boardingRevokeScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/boarding_revoke.lua")));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    /**
+     * 작업 점유 연장 스크립트
+     */
+    @Bean
+    public RedisScript<Long> leaseRenewScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/lease_renew.lua")));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    /**
+     * 작업 점유 해제 스크립트
+     */
+    @Bean
+    public RedisScript<Long> leaseReleaseScript() {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/lease_release.lua")));
+        script.setResultType(Long.class);
+        return script;
+    }
 }
@@ -41,9 +41,11 @@ public class SecurityConfig {
                                 "/api/users/email", "/api/users/forgot-password",
                                 "/api/users/me", "/ws/**", "/v3/api-docs/**",
                                 "/swagger-ui.html", "/swagger-ui/**", "/api/users/me/qr/valid",
-                                "/api/shuttle/count/*", "/api/notices","/api/notices/**",
+                                "/api/users/me/qr/valid/batch", "/api/users/me/qr/bundle",
+                                "/api/users/me/qr/cache", "/api/users/me/qr/regeneration",
+                                "/api/shuttle/count/*", "/api/shuttle/occupancy", "/api/notices","/api/notices/**",
                                 "/api/route/**", "/api/timetables/**", "/api/timetable/**",
-                                "/api/shuttles/**", "/api/inquiries/**",
+                                "/api/shuttles/**", "/api/inquiries/**", "/api/ridership/**", "/api/archive/**",
                                 "/actuator/**", "/").permitAll()
                         .anyRequest().authenticated()
                 )
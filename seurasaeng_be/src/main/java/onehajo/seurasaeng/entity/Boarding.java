@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -14,10 +15,19 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "boarding", schema = "seurasaeng_prod")
+// service_date 기준 월 단위 범위 파티션 (BoardingPartitionService 에서 전환 / 관리)
+@Table(name = "boarding", schema = "seurasaeng_prod",
+        indexes = {
+                // 사용자별 탑승 내역 커서 페이지 조회용
+                @Index(name = "idx_boarding_user_time", columnList = "user_id, boarding_time, boarding_id"),
+                // 사용자는 운행일마다 셔틀별로 한 번만 탑승 (중복 저장은 INSERT ... ON CONFLICT 로 무시)
+                @Index(name = "uk_boarding_user_shuttle_date", columnList = "user_id, shuttle_id, service_date", unique = true)
+        })
 public class Boarding {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 배치 INSERT를 위해 시퀀스로 ID 할당
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boarding_seq")
+    @SequenceGenerator(name = "boarding_seq", sequenceName = "boarding_seq", schema = "seurasaeng_prod", allocationSize = 50)
     @Column(name = "boarding_id")
     private Long id;
 
@@ -33,4 +43,19 @@ public class Boarding {
     @NotNull
     @Column(name = "boarding_time")
     private LocalDateTime boarding_time;
+
+    // 운행일 (boarding_time 의 날짜, 기존 행은 파티션 전환 시 채움)
+    @Column(name = "service_date")
+    private LocalDate service_date;
+
+    // 승인한 회차 출발 시각 (자정 기준 분, 시간표에 없는 탑승은 -1, 기존 행은 null)
+    @Column(name = "departure_minute")
+    private Integer departure_minute;
+
+    @PrePersist
+    void fillServiceDate() {
+        if (service_date == null && boarding_time != null) {
+            service_date = boarding_time.toLocalDate();
+        }
+    }
 }
@@ -25,8 +25,13 @@ public class Qr {
     @JoinColumn(name = "user_id")
     private User user;
 
+    // 압축 QR 토큰 (토큰 도입 전 발급분은 S3 이미지 URL)
     @NotNull
     @Column(name = "qr_code", columnDefinition = "TEXT")
     @NotBlank
     private String qrCode;
+
+    public void updateQrCode(String qrCode) {
+        this.qrCode = qrCode;
+    }
 }
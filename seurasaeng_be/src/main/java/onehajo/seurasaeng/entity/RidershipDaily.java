@@ -0,0 +1,49 @@
+package onehajo.seurasaeng.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 탑승 집계 (셔틀, 회차 출발 시각, 운행일 단위)
+ */
+@Entity
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "ridership_daily", schema = "seurasaeng_prod",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ridership_daily",
+                columnNames = {"shuttle_id", "departure_minute", "service_date"}))
+public class RidershipDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ridership_daily_id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "shuttle_id")
+    private Long shuttleId;
+
+    @NotNull
+    @Column(name = "is_commute", columnDefinition = "BOOLEAN")
+    private Boolean isCommute;
+
+    // 회차 출발 시각 (자정 기준 분, 시간표 외 탑승은 -1)
+    @NotNull
+    @Column(name = "departure_minute", columnDefinition = "SMALLINT")
+    private Integer departureMinute;
+
+    @NotNull
+    @Column(name = "service_date")
+    private LocalDate serviceDate;
+
+    @NotNull
+    @Column(name = "boardings")
+    private Long boardings;
+}
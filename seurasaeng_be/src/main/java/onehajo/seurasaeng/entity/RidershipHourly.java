@@ -0,0 +1,49 @@
+package onehajo.seurasaeng.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시간대별 탑승 집계 (셔틀, 회차 출발 시각, 시간 단위)
+ */
+@Entity
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "ridership_hourly", schema = "seurasaeng_prod",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ridership_hourly",
+                columnNames = {"shuttle_id", "departure_minute", "hour_start"}))
+public class RidershipHourly {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ridership_hourly_id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "shuttle_id")
+    private Long shuttleId;
+
+    @NotNull
+    @Column(name = "is_commute", columnDefinition = "BOOLEAN")
+    private Boolean isCommute;
+
+    // 회차 출발 시각 (자정 기준 분, 시간표 외 탑승은 -1)
+    @NotNull
+    @Column(name = "departure_minute", columnDefinition = "SMALLINT")
+    private Integer departureMinute;
+
+    @NotNull
+    @Column(name = "hour_start")
+    private LocalDateTime hourStart;
+
+    @NotNull
+    @Column(name = "boardings")
+    private Long boardings;
+}
@@ -17,8 +17,10 @@ import java.time.LocalTime;
 @Table(name = "timetable", schema = "seurasaeng_prod")
 public class Timetable {
 
+    // 시퀀스 값을 50개씩 미리 받아 시간표 저장을 JDBC 배치로 묶는다 (hibernate.jdbc.batch_size 와 같은 크기)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timetable_seq")
+    @SequenceGenerator(name = "timetable_seq", sequenceName = "timetable_seq", schema = "seurasaeng_prod", allocationSize = 50)
     @Column(name = "timetable_id")
     private Long id;
 
@@ -48,4 +50,10 @@ public class Timetable {
     public void updateDepartureTime(LocalTime newTime) {
         this.departureTime = newTime;
     }
+
+    public void updateSeatsAndLocations(Integer totalSeats, String boardingLocation, String dropoffLocation) {
+        this.totalSeats = totalSeats;
+        this.boardingLocation = boardingLocation;
+        this.dropoffLocation = dropoffLocation;
+    }
 }
\ No newline at end of file
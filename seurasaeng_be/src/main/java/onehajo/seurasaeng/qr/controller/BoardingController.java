@@ -2,8 +2,11 @@ package onehajo.seurasaeng.qr.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import onehajo.seurasaeng.qr.dto.BoardingRecordResDTO;
+import onehajo.seurasaeng.qr.dto.BoardingRecordPageDTO;
+import onehajo.seurasaeng.qr.dto.OccupancyResDTO;
 import onehajo.seurasaeng.qr.service.BoardingService;
+import onehajo.seurasaeng.qr.service.BoardingStreamConsumer;
+import onehajo.seurasaeng.qr.service.OccupancyService;
 import onehajo.seurasaeng.util.JwtUtil;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,17 +21,34 @@ import java.util.Map;
 @RequestMapping("/api/shuttle")
 public class BoardingController {
     private final BoardingService boardingService;
+    private final OccupancyService occupancyService;
+    private final BoardingStreamConsumer boardingStreamConsumer;
     private final JwtUtil jwtUtil;
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     // 탑승 기록 조회
     @GetMapping("/rides")
-    public ResponseEntity<?> getBoardingRecords(@RequestHeader("Authorization") String authHeader) {
+    // 다음 페이지 커서는 X-Next-Cursor 헤더로 전달 (마지막 페이지면 생략)
+    public ResponseEntity<?> getBoardingRecords(@RequestHeader("Authorization") String authHeader,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size) {
         String token = authHeader.replace("Bearer ", "");
         Long user_id = jwtUtil.getIdFromToken(token);
 
-        List<BoardingRecordResDTO> boardingRecords = boardingService.getUserBoardingRecord(user_id);
+        BoardingRecordPageDTO page = boardingService.getUserBoardingRecords(user_id, cursor, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNext_cursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNext_cursor());
+        }
+        return response.body(page.getRecords());
+    }
 
-        return ResponseEntity.ok(boardingRecords);
+    // 여러 셔틀 탑승 현황 조회 (shuttle_ids 생략 시 현재 운행 중인 회차 전체)
+    @GetMapping("/occupancy")
+    public ResponseEntity<List<OccupancyResDTO>> getOccupancies(@RequestParam(required = false) List<Long> shuttle_ids) {
+        return ResponseEntity.ok(occupancyService.getOccupancies(shuttle_ids));
     }
 
     @GetMapping("/count/{shuttleId}")
@@ -41,12 +61,23 @@ public class BoardingController {
         return ResponseEntity.ok(response);
     }
 
-    @DeleteMapping("/count/{shuttleId}")
-    public ResponseEntity<Map<String, String>> resetBoardingCount(@PathVariable Long shuttleId) {
-        boardingService.resetBoardingCount(shuttleId);
+    // 처리 포기된 탑승 이벤트 재처리 - 관리자 (group 생략 시 전체 그룹, 앞에서부터 limit 건 확인)
+    @PostMapping("/events/dead/replay")
+    public ResponseEntity<?> replayDeadBoardingEvents(@RequestHeader("Authorization") String authHeader,
+                                                      @RequestParam(required = false) String group,
+                                                      @RequestParam(defaultValue = "100") int limit) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
 
-        Map<String, String> response = Map.of("message", "탑승인원이 삭제되었습니다.");
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+        if (limit < 1 || limit > 1000) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit 은 1 ~ 1000 사이여야 합니다."));
+        }
 
-        return ResponseEntity.ok(response);
+        long replayed = boardingStreamConsumer.replayDeadLetters(group, limit);
+
+        return ResponseEntity.ok(Map.of("replayed", replayed));
     }
 }
@@ -1,16 +1,30 @@
 package onehajo.seurasaeng.qr.controller;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.qr.dto.OfflineBundleResDTO;
+import onehajo.seurasaeng.qr.dto.QrImageDTO;
+import onehajo.seurasaeng.qr.dto.QrScanBatchReqDTO;
+import onehajo.seurasaeng.qr.dto.QrScanResDTO;
 import onehajo.seurasaeng.qr.dto.ValidUserResDTO;
+import onehajo.seurasaeng.qr.service.OfflineBundleService;
 import onehajo.seurasaeng.qr.service.QRService;
+import onehajo.seurasaeng.qr.service.QrImageService;
+import onehajo.seurasaeng.qr.service.QrRegenerationService;
 import onehajo.seurasaeng.util.JwtUtil;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -19,6 +33,9 @@ import java.util.Map;
 @RequestMapping("/api/users/me/qr")
 public class QRController {
     private final QRService qrService;
+    private final OfflineBundleService offlineBundleService;
+    private final QrImageService qrImageService;
+    private final QrRegenerationService qrRegenerationService;
     private final JwtUtil jwtUtil;
 
     // QR 생성 test
@@ -47,9 +64,137 @@ public class QRController {
         return ResponseEntity.ok(response);
     }
 
+    // QR 이미지 조회 (PNG/SVG 바이너리, ETag 로 재발급 전까지 304 응답)
+    @GetMapping("/image")
+    public ResponseEntity<?> getQRImageByUserId(@RequestHeader("Authorization") String authHeader,
+                                                @RequestParam(defaultValue = "png") String format,
+                                                WebRequest webRequest) {
+        String token = authHeader.replace("Bearer ", "");
+        Long user_id = jwtUtil.getIdFromToken(token);
+
+        boolean svg = format.equalsIgnoreCase("svg");
+        if (!svg && !format.equalsIgnoreCase("png")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "지원하지 않는 형식입니다 : " + format));
+        }
+
+        QrImageDTO image = qrImageService.getQRImage(user_id);
+        if (svg && !image.isToken()) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE)
+                    .body(Map.of("error", "SVG를 지원하지 않는 QR 입니다. PNG로 조회해 주세요."));
+        }
+
+        // 사용자별 이미지이므로 공유 캐시에는 저장하지 않고, 매번 ETag 로 재검증
+        String eTag = "\"" + image.getVersion() + "-" + (svg ? "svg" : "png") + "\"";
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.AUTHORIZATION);
+
+        if (svg) {
+            return response.contentType(MediaType.valueOf("image/svg+xml"))
+                    .body(qrImageService.renderSvg(image.getQr_code()));
+        }
+        return response.contentType(MediaType.IMAGE_PNG).body(image.getPng());
+    }
+
     // 사용자 유효성 확인
     @PostMapping("/valid")
     public ValidUserResDTO validUser(@RequestParam String qrCode, @RequestParam Long shuttle_id) throws Exception {
         return qrService.userValidate(qrCode, shuttle_id);
     }
+
+    // 사용자 유효성 일괄 확인 (스캐너 재연결 시 밀린 스캔 업로드)
+    @PostMapping("/valid/batch")
+    public List<QrScanResDTO> validUsers(@RequestBody @Valid QrScanBatchReqDTO request) {
+        return qrService.userValidateBatch(request.getScans());
+    }
+
+    // 스캐너 오프라인 검증 번들 발급 - 관리자 (since 버전 이후 변경분만 요청 가능)
+    @GetMapping("/bundle")
+    public ResponseEntity<?> getOfflineBundle(@RequestHeader("Authorization") String authHeader,
+                                              @RequestParam Long shuttle_id,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate service_date,
+                                              @RequestParam(defaultValue = "0") long since) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        OfflineBundleResDTO bundle = offlineBundleService.createBundle(
+                shuttle_id, service_date != null ? service_date : LocalDate.now(), since);
+
+        return ResponseEntity.ok(bundle);
+    }
+
+    // QR 이미지 캐시 통계 - 관리자
+    @GetMapping("/cache")
+    public ResponseEntity<?> getQRImageCacheStats(@RequestHeader("Authorization") String authHeader) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        return ResponseEntity.ok(qrImageService.getStats());
+    }
+
+    // QR 일괄 재발급 시작 - 관리자 (restart=true 면 체크포인트 무시)
+    @PostMapping("/regeneration")
+    public ResponseEntity<?> startQRRegeneration(@RequestHeader("Authorization") String authHeader,
+                                                 @RequestParam(defaultValue = "false") boolean restart) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        if (!qrRegenerationService.start(restart)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "QR 일괄 재발급이 이미 실행 중입니다."));
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(qrRegenerationService.getProgress());
+    }
+
+    // QR 일괄 재발급 진행 상황 - 관리자
+    @GetMapping("/regeneration")
+    public ResponseEntity<?> getQRRegenerationProgress(@RequestHeader("Authorization") String authHeader) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        return ResponseEntity.ok(qrRegenerationService.getProgress());
+    }
+
+    // QR 일괄 재발급 중지 - 관리자 (체크포인트는 유지되어 다시 시작하면 이어서 처리)
+    @DeleteMapping("/regeneration")
+    public ResponseEntity<?> stopQRRegeneration(@RequestHeader("Authorization") String authHeader) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        qrRegenerationService.stop();
+
+        return ResponseEntity.ok(qrRegenerationService.getProgress());
+    }
 }
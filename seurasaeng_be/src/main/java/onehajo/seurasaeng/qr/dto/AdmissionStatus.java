@@ -0,0 +1,17 @@
+package onehajo.seurasaeng.qr.dto;
+
+/**
+ * 탑승 승인 결과
+ */
+public enum AdmissionStatus {
+    // 탑승 승인
+    ADMITTED,
+    // 당일 중복 탑승
+    DUPLICATE,
+    // 정원 초과
+    FULL;
+
+    public static AdmissionStatus fromCode(long code) {
+        return values()[(int) code];
+    }
+}
@@ -0,0 +1,19 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class BoardingAdmissionDTO {
+    private AdmissionStatus status;
+    private Long count;
+    // 승인한 회차 좌석 수 (0 이면 제한 없음)
+    private int capacity;
+    // 승인한 회차가 지금 운행 중인 회차인지 (탑승 인원 알림 대상)
+    private boolean current_run;
+    // 승인한 회차 출발 시각 (자정 기준 분, 시간표에 없는 탑승은 -1)
+    private int departure_minute;
+}
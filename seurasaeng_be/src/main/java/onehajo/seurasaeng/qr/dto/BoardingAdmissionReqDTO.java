@@ -0,0 +1,19 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 탑승 승인 요청 (탑승 시각으로 운행일과 회차를 정한다)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BoardingAdmissionReqDTO {
+    private Long user_id;
+    private Long shuttle_id;
+    private LocalDateTime boarding_time;
+}
@@ -0,0 +1,21 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 승인된 탑승 이벤트 (DB 저장 대기)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BoardingEventDTO {
+    private Long user_id;
+    private Long shuttle_id;
+    private LocalDateTime boarding_time;
+    // 승인한 회차 출발 시각 (자정 기준 분, 시간표에 없는 탑승은 -1, 이전 형식 레코드는 null)
+    private Integer departure_minute;
+}
@@ -0,0 +1,18 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 탑승 내역 한 페이지 (next_cursor 가 null 이면 마지막 페이지)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BoardingRecordPageDTO {
+    private List<BoardingRecordResDTO> records;
+    private String next_cursor;
+}
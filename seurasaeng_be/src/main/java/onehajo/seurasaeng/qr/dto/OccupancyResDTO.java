@@ -0,0 +1,24 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalTime;
+
+/**
+ * 셔틀 현재 회차 탑승 현황
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class OccupancyResDTO {
+    private Long shuttle_id;
+    // 현재 회차 출발 시각 (시간표 외 운행이면 null)
+    private LocalTime departure_time;
+    private Long count;
+    // 좌석 수 (0 이면 제한 없음)
+    private int capacity;
+    // 탑승률 (count / capacity, 좌석 제한이 없으면 null)
+    private Double load_factor;
+}
@@ -0,0 +1,33 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 스캐너 오프라인 검증 번들 내용
+ * digests : 유효한 QR 문자열의 SHA-256 앞 8바이트를 오름차순(부호 없는 비교)으로 이어 붙인 값 (Base64)
+ * user_ids : digests 와 같은 순서의 사용자 ID (QR 형식별로 한 사용자가 여러 번 나올 수 있음)
+ * base_version 이 0이면 전체 번들, 아니면 base_version 이후 추가된 사용자만 담은 변경분
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfflineBundleDTO {
+    private int format;
+    private Long shuttle_id;
+    private LocalDate service_date;
+    private long version;
+    private long base_version;
+    private LocalDateTime issued_at;
+    private int digest_bytes;
+    private String digests;
+    private List<Long> user_ids;
+    private List<Long> boarded_user_ids;
+}
@@ -0,0 +1,17 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 서명된 오프라인 검증 번들
+ * payload : OfflineBundleDTO JSON (Base64url), signature : payload 바이트의 HMAC-SHA256 (Base64url)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class OfflineBundleResDTO {
+    private String payload;
+    private String signature;
+}
@@ -0,0 +1,22 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * QR 이미지 캐시 통계
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class QrImageCacheStatsDTO {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long renders;
+    private long storage_fetches;
+    private int entries;
+    private long bytes;
+    private long max_bytes;
+}
@@ -0,0 +1,23 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 사용자 QR 이미지
+ * version : QR 토큰(기존 행은 S3 URL)에서 계산한 값으로 재발급 전까지 바뀌지 않는다. (ETag 용)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class QrImageDTO {
+    private String version;
+    private String qr_code;
+    private byte[] png;
+
+    /**
+     * 압축 토큰 QR 여부 (SVG 는 토큰 QR 만 생성 가능)
+     */
+    private boolean token;
+}
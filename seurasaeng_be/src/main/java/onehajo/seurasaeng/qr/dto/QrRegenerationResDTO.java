@@ -0,0 +1,26 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * QR 일괄 재발급 진행 상황
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class QrRegenerationResDTO {
+    private QrRegenerationStatus status;
+    private int key_id;
+    private long total;
+    private long processed;
+    private long updated;
+    private long cursor;
+    private LocalDateTime started_at;
+    private double throughput_per_sec;
+    private Long eta_seconds;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package onehajo.seurasaeng.qr.dto;
+
+/**
+ * QR 일괄 재발급 작업 상태
+ */
+public enum QrRegenerationStatus {
+    // 실행 이력 없음
+    IDLE,
+    // 실행 중
+    RUNNING,
+    // 중지 요청됨 (현재 페이지 처리 후 중지)
+    STOPPING,
+    // 중지됨 (체크포인트부터 재개 가능)
+    STOPPED,
+    // 완료
+    COMPLETED,
+    // 실패 (체크포인트부터 재개 가능)
+    FAILED
+}
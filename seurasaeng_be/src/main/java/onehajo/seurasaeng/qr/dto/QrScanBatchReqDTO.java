@@ -0,0 +1,23 @@
+package onehajo.seurasaeng.qr.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 스캐너 QR 일괄 검증 요청 (스캔 순서대로)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QrScanBatchReqDTO {
+    @Valid
+    @NotEmpty
+    @Size(max = 500)
+    private List<QrScanReqDTO> scans;
+}
@@ -0,0 +1,30 @@
+package onehajo.seurasaeng.qr.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스캐너 QR 스캔 1건
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QrScanReqDTO {
+    @NotBlank
+    private String qrCode;
+
+    @NotNull
+    private Long shuttle_id;
+
+    // 스캐너 기준 스캔 시각 (없으면 서버 수신 시각)
+    private LocalDateTime scanned_at;
+
+    // 재전송 시 같은 결과를 돌려주기 위한 스캔 고유 키
+    @NotBlank
+    private String idempotency_key;
+}
@@ -0,0 +1,25 @@
+package onehajo.seurasaeng.qr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * QR 스캔 1건 처리 결과
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QrScanResDTO {
+    private String idempotency_key;
+    private ScanStatus status;
+    private String message;
+    private String user_name;
+    private String departure;
+    private String destination;
+    private LocalDateTime boarding_time;
+}
@@ -0,0 +1,31 @@
+package onehajo.seurasaeng.qr.dto;
+
+/**
+ * QR 스캔 처리 결과
+ */
+public enum ScanStatus {
+    // 탑승 승인
+    ADMITTED,
+    // 당일 중복 탑승
+    DUPLICATE,
+    // 정원 초과
+    FULL,
+    // 유효하지 않은 QR
+    INVALID_QR,
+    // 유효하지 않은 사용자
+    INVALID_USER,
+    // 존재하지 않는 셔틀
+    INVALID_SHUTTLE,
+    // 허용 범위를 벗어난 스캔 시각
+    INVALID_TIME,
+    // 일시적인 처리 실패 (재전송하면 다시 처리)
+    ERROR;
+
+    public static ScanStatus from(AdmissionStatus status) {
+        return switch (status) {
+            case ADMITTED -> ADMITTED;
+            case DUPLICATE -> DUPLICATE;
+            case FULL -> FULL;
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package onehajo.seurasaeng.qr.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 셔틀 탑승 인원 변경 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class OccupancyChangedEvent {
+    private Long shuttle_id;
+    private Long count;
+    // 정원 (0 이면 제한 없음)
+    private int capacity;
+}
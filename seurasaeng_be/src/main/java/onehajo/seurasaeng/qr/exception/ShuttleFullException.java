@@ -0,0 +1,7 @@
+package onehajo.seurasaeng.qr.exception;
+
+public class ShuttleFullException extends RuntimeException {
+    public ShuttleFullException(String message) {
+        super(message);
+    }
+}
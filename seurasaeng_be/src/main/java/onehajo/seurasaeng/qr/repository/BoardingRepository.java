@@ -1,6 +1,9 @@
 package onehajo.seurasaeng.qr.repository;
 
 import onehajo.seurasaeng.entity.Boarding;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import onehajo.seurasaeng.qr.dto.BoardingRecordResDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,17 +11,27 @@ import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface BoardingRepository extends JpaRepository<Boarding, Long> {
-    @Query("SELECT b FROM Boarding b WHERE b.user_id = :user_id ORDER BY b.boarding_time DESC")
-    List<Boarding> findByUser_idOrderByBoarding_timeDesc(@Param("user_id") Long user_id);
+public interface BoardingRepository extends JpaRepository<Boarding, Long>, BoardingRepositoryCustom {
+    // 탑승 내역 첫 페이지 (셔틀, 출발/도착지를 조인해 DTO 로 바로 조회)
+    @Query("SELECT new onehajo.seurasaeng.qr.dto.BoardingRecordResDTO(b.id, d.locationName, a.locationName, b.boarding_time) " +
+            "FROM Boarding b JOIN b.shuttle s JOIN s.departure d JOIN s.destination a " +
+            "WHERE b.user_id = :user_id " +
+            "ORDER BY b.boarding_time DESC, b.id DESC")
+    List<BoardingRecordResDTO> findRecordsByUser_id(@Param("user_id") Long user_id, Pageable pageable);
 
-    // 중복 탑승 여부 확인
-    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Boarding b " +
-            "WHERE b.user_id = :userId AND b.shuttle.id = :shuttleId " +
-            "AND b.boarding_time BETWEEN :startTime AND :endTime")
-    boolean existsByUser_idAndShuttleIdAndBoarding_timeBetween(
-            @Param("userId") Long userId,
-            @Param("shuttleId") Long shuttleId,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
+    // 탑승 내역 다음 페이지 (커서 (boarding_time, boarding_id) 이전 행)
+    @Query("SELECT new onehajo.seurasaeng.qr.dto.BoardingRecordResDTO(b.id, d.locationName, a.locationName, b.boarding_time) " +
+            "FROM Boarding b JOIN b.shuttle s JOIN s.departure d JOIN s.destination a " +
+            "WHERE b.user_id = :user_id " +
+            "AND (b.boarding_time < :cursorTime OR (b.boarding_time = :cursorTime AND b.id < :cursorId)) " +
+            "ORDER BY b.boarding_time DESC, b.id DESC")
+    List<BoardingRecordResDTO> findRecordsByUser_idBefore(@Param("user_id") Long user_id,
+                                                          @Param("cursorTime") LocalDateTime cursorTime,
+                                                          @Param("cursorId") Long cursorId,
+                                                          Pageable pageable);
+
+    // 기간 내 탑승 이벤트 조회 (집계 재계산용)
+    @Query("SELECT new onehajo.seurasaeng.qr.dto.BoardingEventDTO(b.user_id, b.shuttle.id, b.boarding_time) " +
+            "FROM Boarding b WHERE b.boarding_time >= :from AND b.boarding_time < :to")
+    List<BoardingEventDTO> findEventsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,14 @@
+package onehajo.seurasaeng.qr.repository;
+
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+
+import java.util.List;
+
+public interface BoardingRepositoryCustom {
+    /**
+     * 탑승 내역 일괄 저장 (INSERT ... ON CONFLICT DO NOTHING 한 번)
+     * 같은 운행일에 이미 저장된 (user_id, shuttle_id) 는 건너뛴다.
+     * @return 새로 저장된 탑승 이벤트 (중복은 제외)
+     */
+    List<BoardingEventDTO> insertIgnoringDuplicates(List<BoardingEventDTO> events);
+}
@@ -0,0 +1,82 @@
+package onehajo.seurasaeng.qr.repository;
+
+import lombok.RequiredArgsConstructor;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BoardingRepositoryImpl implements BoardingRepositoryCustom {
+    // boarding_seq 의 INCREMENT BY (data.sql, Boarding 의 allocationSize 와 같아야 함)
+    private static final int SEQUENCE_BLOCK_SIZE = 50;
+    // nextval 한 번이 예약하는 ID 블록은 (값 - 50, 값] (Hibernate pooled 할당과 같은 범위라 겹치지 않음)
+    private static final String RESERVE_ID_BLOCKS =
+            "SELECT nextval('seurasaeng_prod.boarding_seq') FROM generate_series(1, ?)";
+    // 배열 6개를 unnest 해 한 문장으로 저장하고, 실제로 들어간 행만 돌려받는다
+    private static final String INSERT_IGNORING_DUPLICATES =
+            "INSERT INTO seurasaeng_prod.boarding " +
+            "(boarding_id, user_id, shuttle_id, boarding_time, service_date, departure_minute) " +
+            "SELECT e.boarding_id, e.user_id, e.shuttle_id, e.boarding_time, e.service_date, e.departure_minute " +
+            "FROM unnest(?, ?, ?, ?, ?, ?) " +
+            "AS e(boarding_id, user_id, shuttle_id, boarding_time, service_date, departure_minute) " +
+            "ON CONFLICT (user_id, shuttle_id, service_date) DO NOTHING " +
+            "RETURNING user_id, shuttle_id, boarding_time, departure_minute";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<BoardingEventDTO> insertIgnoringDuplicates(List<BoardingEventDTO> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        Long[] boardingIds = reserveIds(events.size());
+        Long[] userIds = new Long[events.size()];
+        Long[] shuttleIds = new Long[events.size()];
+        Timestamp[] boardingTimes = new Timestamp[events.size()];
+        Date[] serviceDates = new Date[events.size()];
+        Integer[] departureMinutes = new Integer[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            BoardingEventDTO event = events.get(i);
+            userIds[i] = event.getUser_id();
+            shuttleIds[i] = event.getShuttle_id();
+            boardingTimes[i] = Timestamp.valueOf(event.getBoarding_time());
+            serviceDates[i] = Date.valueOf(event.getBoarding_time().toLocalDate());
+            departureMinutes[i] = event.getDeparture_minute();
+        }
+
+        return jdbcTemplate.query((Connection connection) -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_IGNORING_DUPLICATES);
+            statement.setArray(1, connection.createArrayOf("bigint", boardingIds));
+            statement.setArray(2, connection.createArrayOf("bigint", userIds));
+            statement.setArray(3, connection.createArrayOf("bigint", shuttleIds));
+            statement.setArray(4, connection.createArrayOf("timestamp", boardingTimes));
+            statement.setArray(5, connection.createArrayOf("date", serviceDates));
+            statement.setArray(6, connection.createArrayOf("integer", departureMinutes));
+            return statement;
+        }, (rs, rowNum) -> BoardingEventDTO.builder()
+                .user_id(rs.getLong(1))
+                .shuttle_id(rs.getLong(2))
+                .boarding_time(rs.getTimestamp(3).toLocalDateTime())
+                .departure_minute(rs.getObject(4, Integer.class))
+                .build());
+    }
+
+    // 행마다 nextval 을 부르면 행 하나에 ID 50개를 쓰게 되므로 50행마다 블록 하나를 예약한다
+    private Long[] reserveIds(int count) {
+        int blocks = (count + SEQUENCE_BLOCK_SIZE - 1) / SEQUENCE_BLOCK_SIZE;
+        List<Long> highs = jdbcTemplate.queryForList(RESERVE_ID_BLOCKS, Long.class, blocks);
+
+        Long[] ids = new Long[count];
+        for (int i = 0; i < count; i++) {
+            long high = highs.get(i / SEQUENCE_BLOCK_SIZE);
+            ids[i] = high - SEQUENCE_BLOCK_SIZE + 1 + i % SEQUENCE_BLOCK_SIZE;
+        }
+        return ids;
+    }
+}
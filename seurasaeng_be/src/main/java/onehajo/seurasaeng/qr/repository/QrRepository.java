@@ -5,10 +5,13 @@ import onehajo.seurasaeng.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface QrRepository extends JpaRepository<Qr, Long> {
     Optional<Qr> findByUser(User user);
     Optional<Qr> findByUserId(Long userId);
+    List<Qr> findAllByUserIdIn(Collection<Long> userIds);
 }
\ No newline at end of file
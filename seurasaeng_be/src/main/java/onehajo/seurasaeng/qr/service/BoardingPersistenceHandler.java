@@ -0,0 +1,34 @@
+package onehajo.seurasaeng.qr.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import onehajo.seurasaeng.qr.repository.BoardingRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 탑승 내역 저장 단계
+ * 같은 운행일에 이미 저장된 탑승은 INSERT ... ON CONFLICT 로 건너뛰므로 같은 이벤트가 다시 전달되어도 결과가 같다.
+ * 탑승 집계는 별도 단계(RidershipAggregationService)에서 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoardingPersistenceHandler implements BoardingStreamHandler {
+    private final BoardingRepository boardingRepository;
+
+    @Override
+    public String group() {
+        return "persistence";
+    }
+
+    @Override
+    public void handle(List<BoardingEventDTO> events) {
+        List<BoardingEventDTO> inserted = boardingRepository.insertIgnoringDuplicates(events);
+        if (inserted.size() < events.size()) {
+            log.info("이미 저장된 탑승 {}건 제외", events.size() - inserted.size());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package onehajo.seurasaeng.qr.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.qr.event.OccupancyChangedEvent;
+import onehajo.seurasaeng.shuttle.dto.TimetableRunDto;
+import onehajo.seurasaeng.shuttle.service.TimetableRunResolver;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 운행 회차 전환
+ * 매분 셔틀별 현재 회차를 확인하고, 회차가 바뀌면 새 회차의 탑승 인원을 알린다.
+ * 지난 회차 카운터는 TTL로 만료되므로 따로 초기화하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardingRunScheduler {
+    private static final String NO_RUN = "none";
+
+    private final TimetableRunResolver timetableRunResolver;
+    private final BoardingService boardingService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 셔틀별 마지막으로 확인한 회차 (운행일 + 출발 시각)
+    private final Map<Long, String> activeRuns = new ConcurrentHashMap<>();
+
+    @Scheduled(cron = "0 * * * * *")
+    public void rollover() {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Long shuttle_id : timetableRunResolver.getShuttleIds()) {
+            TimetableRunDto run = timetableRunResolver.resolve(shuttle_id, now);
+            String current = run == null ? NO_RUN : run.getServiceDate() + " " + run.getDepartureTime();
+            String previous = activeRuns.put(shuttle_id, current);
+
+            if (previous == null || Objects.equals(previous, current)) {
+                continue;
+            }
+
+            try {
+                Long count = boardingService.getCurrentBoardingCount(shuttle_id);
+                eventPublisher.publishEvent(new OccupancyChangedEvent(shuttle_id, count,
+                        run == null ? BoardingService.UNLIMITED_CAPACITY : run.getTotalSeats()));
+
+                log.info("셔틀 {} 회차 전환 : {} -> {}", shuttle_id, previous, current);
+            } catch (Exception e) {
+                log.error("셔틀 {} 회차 전환 처리 실패", shuttle_id, e);
+            }
+        }
+    }
+}
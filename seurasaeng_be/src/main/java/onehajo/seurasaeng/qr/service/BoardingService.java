@@ -2,78 +2,143 @@ package onehajo.seurasaeng.qr.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.qr.dto.AdmissionStatus;
+import onehajo.seurasaeng.qr.dto.BoardingAdmissionDTO;
+import onehajo.seurasaeng.qr.dto.BoardingAdmissionReqDTO;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import onehajo.seurasaeng.qr.dto.BoardingRecordPageDTO;
 import onehajo.seurasaeng.qr.dto.BoardingRecordResDTO;
-import onehajo.seurasaeng.qr.exception.DuplicateBoardingException;
+import onehajo.seurasaeng.qr.event.OccupancyChangedEvent;
 import onehajo.seurasaeng.qr.repository.BoardingRepository;
-import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
+import onehajo.seurasaeng.qr.util.BoardingStreamCodec;
+import onehajo.seurasaeng.shuttle.dto.TimetableRunDto;
+import onehajo.seurasaeng.shuttle.service.TimetableRunResolver;
+import onehajo.seurasaeng.shuttle.util.TimetableRuns;
 import onehajo.seurasaeng.entity.Boarding;
 import onehajo.seurasaeng.entity.Shuttle;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
-import onehajo.seurasaeng.shuttle.exception.ShuttleNotFoundException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BoardingService {
     private final RedisTemplate<String, String> redisTemplate;
+    // 회차별 탑승 인원 카운터 (boarding:count:shuttle:{shuttle_id}:{yyyy-MM-dd}:{HH:mm}, 시간표 외 탑승은 none)
     private static final String BOARDING_COUNT_KEY_PREFIX = "boarding:count:shuttle:";
+    private static final String NO_RUN_SLOT = "none";
+    private static final String BOARDING_RIDERS_KEY_PREFIX = "boarding:riders:shuttle:";
+    private static final long RIDERS_TTL_SECONDS = 60 * 60 * 48;
+    // 운행일 탑승자 보관 기간 (이보다 오래된 탑승은 Redis 에서 중복 확인 불가)
+    public static final Duration RIDERS_TTL = Duration.ofSeconds(RIDERS_TTL_SECONDS);
+    private static final String SCAN_RESULT_KEY_PREFIX = "boarding:scan:";
+    private static final Duration SCAN_RESULT_TTL = Duration.ofDays(2);
+
+    private static final int DEFAULT_RECORD_PAGE_SIZE = 20;
+    private static final int MAX_RECORD_PAGE_SIZE = 100;
+
+    // 정원 제한 없음
+    public static final int UNLIMITED_CAPACITY = 0;
 
     private final BoardingRepository boardingRepository;
-    private final ShuttleRepository shuttleRepository;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> boardingAdmissionScript;
+    private final RedisScript<Long> boardingRevokeScript;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TimetableRunResolver timetableRunResolver;
 
     /**
-     * 탑승 내역 저장
+     * 탑승 내역 지연 저장 (승인된 탑승을 이벤트 스트림에 추가하고 바로 반환)
+     * 저장 / 집계는 스트림 소비 단계(BoardingStreamHandler)에서 처리한다.
+     * 회차는 승인 시점에 정한 출발 시각(departure_minute)으로 기록해 이후 시간표가 바뀌어도 같은 회차로 집계한다.
      */
-    public Boarding saveBoardingRecord(Long user_id, Long shuttle_id) {
-        Shuttle shuttle = shuttleRepository.findById(shuttle_id)
-                .orElseThrow(() -> new ShuttleNotFoundException(shuttle_id));
-
+    public Boarding recordBoarding(Long user_id, Shuttle shuttle, LocalDateTime boarding_time, int departure_minute) {
         Boarding boardingRecord = Boarding.builder()
                 .user_id(user_id)
                 .shuttle(shuttle)
-                .boarding_time(LocalDateTime.now())
+                .boarding_time(boarding_time)
+                .departure_minute(departure_minute)
                 .build();
 
-        boardingRepository.save(boardingRecord);
+        redisTemplate.opsForStream().add(BoardingStreamCodec.STREAM_KEY, BoardingStreamCodec.encode(BoardingEventDTO.builder()
+                .user_id(user_id)
+                .shuttle_id(shuttle.getId())
+                .boarding_time(boardingRecord.getBoarding_time())
+                .departure_minute(departure_minute)
+                .build()));
 
         return boardingRecord;
     }
 
     /**
-     * 탑승 내역 조회
+     * 탑승 내역 조회 (boarding_time, boarding_id 기준 커서 페이지)
      */
-    public List<BoardingRecordResDTO> getUserBoardingRecord(Long user_id) {
-        List<Boarding> boardingList = boardingRepository.findByUser_idOrderByBoarding_timeDesc(user_id);
+    public BoardingRecordPageDTO getUserBoardingRecords(Long user_id, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_RECORD_PAGE_SIZE : Math.clamp(size, 1, MAX_RECORD_PAGE_SIZE);
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
 
-        return boardingList.stream()
-                .map(this::converToBoardingRecordDTO)
-                .collect(Collectors.toList());
+        List<BoardingRecordResDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = boardingRepository.findRecordsByUser_id(user_id, limit);
+        } else {
+            RecordCursor after = decodeCursor(cursor);
+            rows = boardingRepository.findRecordsByUser_idBefore(user_id, after.boarding_time(), after.boarding_id(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new BoardingRecordPageDTO(rows, null);
+        }
+
+        List<BoardingRecordResDTO> records = rows.subList(0, pageSize);
+        BoardingRecordResDTO last = records.get(pageSize - 1);
+        return new BoardingRecordPageDTO(records, encodeCursor(last.getBoarding_time(), last.getBoarding_id()));
     }
 
-    private BoardingRecordResDTO converToBoardingRecordDTO(Boarding boarding) {
-        Shuttle shuttle = shuttleRepository.findById(boarding.getShuttle().getId())
-                .orElseThrow(() -> new ShuttleNotFoundException(boarding.getShuttle().getId()));
+    private record RecordCursor(LocalDateTime boarding_time, Long boarding_id) {
+    }
 
-        return BoardingRecordResDTO.builder()
-                .boarding_id(boarding.getId())
-                .departure(shuttle.getDeparture().getLocationName())
-                .destination(shuttle.getDestination().getLocationName())
-                .boarding_time(boarding.getBoarding_time())
-                .build();
+    static String encodeCursor(LocalDateTime boarding_time, Long boarding_id) {
+        String raw = boarding_time + "_" + boarding_id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RecordCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new RecordCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
     }
 
     /**
-     * 탑승 인원 조회
+     * 현재 회차 탑승 인원 조회
      */
     public Long getCurrentBoardingCount(Long shuttle_id) {
         try {
-            String key = BOARDING_COUNT_KEY_PREFIX + shuttle_id;
+            String key = countKey(shuttle_id, LocalDateTime.now());
             String countStr = redisTemplate.opsForValue().get(key);
 
             return countStr != null ? Long.parseLong(countStr) : 0L;
@@ -84,52 +149,211 @@ public class BoardingService {
     }
 
     /**
-     * 탑승 인원 추가
+     * 여러 셔틀의 회차 탑승 인원 조회 (MGET 1회, 요청 순서대로 반환)
      */
-    public Long incrementBoardingCount(Long shuttle_id) {
+    public List<Long> getBoardingCounts(List<Long> shuttle_ids, LocalDateTime at) {
+        if (shuttle_ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> keys = shuttle_ids.stream()
+                .map(shuttle_id -> countKey(shuttle_id, at))
+                .toList();
         try {
-            String key = BOARDING_COUNT_KEY_PREFIX + shuttle_id;
-            Long count = redisTemplate.opsForValue().increment(key);
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+
+            List<Long> counts = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                String value = values == null ? null : values.get(i);
+                counts.add(value != null ? Long.parseLong(value) : 0L);
+            }
+            return counts;
+        } catch (Exception e) {
+            log.error("탑승 인원 일괄 조회 실패 - {}건", shuttle_ids.size());
+            throw new RuntimeException("탑승 인원 조회 실패", e);
+        }
+    }
+
+    /**
+     * 탑승 승인 (당일 중복 확인 + 회차 정원 확인 + 인원 증가를 Redis 스크립트 한 번으로 처리)
+     * 탑승 내역 기록 / 승인 취소에도 같은 boarding_time 을 넘겨야 같은 회차로 처리된다.
+     */
+    public BoardingAdmissionDTO admitBoarding(Long user_id, Long shuttle_id, LocalDateTime boarding_time) {
+        BoardingAdmissionReqDTO request = BoardingAdmissionReqDTO.builder()
+                .user_id(user_id)
+                .shuttle_id(shuttle_id)
+                .boarding_time(boarding_time)
+                .build();
+
+        return admitBoardings(List.of(request)).getFirst();
+    }
+
+    /**
+     * 탑승 일괄 승인 (요청 순서대로 처리, Redis 왕복 1회)
+     * 탑승 시각으로 회차를 찾아 회차 좌석 수까지만 승인한다.
+     * 지난 운행일의 탑승은 중복 여부만 확인하고 탑승 인원에는 반영하지 않는다.
+     * 탑승 인원 알림은 탑승 내역 기록 후 publishOccupancy 로 보낸다.
+     */
+    public List<BoardingAdmissionDTO> admitBoardings(List<BoardingAdmissionReqDTO> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        List<String> keys = new ArrayList<>(requests.size() * 2);
+        Object[] args = new Object[requests.size() * 3 + 1];
+        args[0] = String.valueOf(RIDERS_TTL_SECONDS);
+
+        int[] capacities = new int[requests.size()];
+        int[] departureMinutes = new int[requests.size()];
+        boolean[] currentRuns = new boolean[requests.size()];
+        Map<Long, TimetableRunDto> activeRuns = new HashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            BoardingAdmissionReqDTO request = requests.get(i);
+            LocalDateTime boardingTime = request.getBoarding_time();
+            TimetableRunDto run = timetableRunResolver.resolve(request.getShuttle_id(), boardingTime);
+            capacities[i] = run == null ? UNLIMITED_CAPACITY : run.getTotalSeats();
+            departureMinutes[i] = run == null ? TimetableRuns.NO_RUN : TimetableRuns.toMinute(run.getDepartureTime());
+
+            if (today.equals(boardingTime.toLocalDate())) {
+                if (!activeRuns.containsKey(request.getShuttle_id())) {
+                    activeRuns.put(request.getShuttle_id(), timetableRunResolver.resolve(request.getShuttle_id(), now));
+                }
+                currentRuns[i] = sameRun(run, activeRuns.get(request.getShuttle_id()));
+            }
 
-            log.info("셔틀 {} 탑승인원 증가 : {}", shuttle_id, count);
+            keys.add(ridersKey(request.getShuttle_id(), boardingTime.toLocalDate()));
+            keys.add(countKey(request.getShuttle_id(), boardingTime.toLocalDate(), run));
 
-            return count;
+            args[i * 3 + 1] = String.valueOf(request.getUser_id());
+            args[i * 3 + 2] = String.valueOf(capacities[i]);
+            args[i * 3 + 3] = today.equals(boardingTime.toLocalDate()) ? "1" : "0";
+        }
+
+        List<?> result;
+        try {
+            result = redisTemplate.execute(boardingAdmissionScript, keys, args);
         } catch (Exception e) {
-            log.error("탑승 인원 증가 실패 - 노선 ID : {}", shuttle_id);
+            log.error("탑승 승인 실패 - {}건", requests.size());
+            throw new RuntimeException("탑승 승인 실패", e);
+        }
+
+        List<BoardingAdmissionDTO> admissions = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            AdmissionStatus status = AdmissionStatus.fromCode((Long) result.get(i * 2));
+            Long count = (Long) result.get(i * 2 + 1);
 
-            throw new RuntimeException("탑승 인원 증가 실패.", e);
+            log.info("셔틀 {} 탑승 승인 결과 : {} (user_id : {}, 탑승인원 : {})",
+                    requests.get(i).getShuttle_id(), status, requests.get(i).getUser_id(), count);
+
+            admissions.add(BoardingAdmissionDTO.builder()
+                    .status(status)
+                    .count(count)
+                    .capacity(capacities[i])
+                    .current_run(currentRuns[i])
+                    .departure_minute(departureMinutes[i])
+                    .build());
         }
+
+        return admissions;
     }
 
     /**
-     * 탑승 인원 초기화
+     * 탑승 인원 변경 알림 (탑승 내역 기록까지 마친, 지금 운행 중인 회차의 승인만)
      */
-    public void resetBoardingCount(Long shuttle_id) {
+    public void publishOccupancy(Long shuttle_id, BoardingAdmissionDTO admission) {
+        if (admission.getStatus() == AdmissionStatus.ADMITTED && admission.isCurrent_run()) {
+            eventPublisher.publishEvent(new OccupancyChangedEvent(shuttle_id, admission.getCount(), admission.getCapacity()));
+        }
+    }
+
+    private static boolean sameRun(TimetableRunDto run, TimetableRunDto active) {
+        return Objects.equals(run == null ? null : run.getDepartureTime(),
+                active == null ? null : active.getDepartureTime());
+    }
+
+    /**
+     * 탑승 승인 취소 (탑승 내역 저장 실패 시)
+     */
+    public void revokeAdmission(Long user_id, Long shuttle_id, LocalDateTime boarding_time) {
+        LocalDate service_date = boarding_time.toLocalDate();
         try {
-            String key = BOARDING_COUNT_KEY_PREFIX + shuttle_id;
-            redisTemplate.delete(key);
+            redisTemplate.execute(boardingRevokeScript,
+                    List.of(ridersKey(shuttle_id, service_date), countKey(shuttle_id, boarding_time)),
+                    String.valueOf(user_id), LocalDate.now().equals(service_date) ? "1" : "0");
 
-            log.info("탑승 인원 삭제 - shuttle_id : {}", shuttle_id);
+            log.info("탑승 승인 취소 - user_id : {}, shuttle_id : {}", user_id, shuttle_id);
         } catch (Exception e) {
-            log.error("탑승 인원 삭제 실패 - shuttle_id : {}", shuttle_id);
-            throw new RuntimeException("탑승 인원 삭제 실패", e);
+            log.error("탑승 승인 취소 실패 - user_id : {}, shuttle_id : {}", user_id, shuttle_id, e);
         }
     }
 
     /**
-     * 중복 탑승 체크
+     * 운행일 탑승자 조회 (오프라인 검증 번들용)
      */
-    public void checkDuplicateBoarding(Long userId, Long shuttleId) {
-        LocalDate today = LocalDate.now();
-        LocalDateTime todayStart = today.atStartOfDay();
-        LocalDateTime todayEnd = today.plusDays(1).atStartOfDay();
+    public List<Long> findRiders(Long shuttle_id, LocalDate service_date) {
+        Set<String> members = redisTemplate.opsForSet().members(ridersKey(shuttle_id, service_date));
+        if (members == null) {
+            return List.of();
+        }
 
-        boolean alreadyBoardedToday = boardingRepository
-                .existsByUser_idAndShuttleIdAndBoarding_timeBetween(
-                        userId, shuttleId, todayStart, todayEnd);
+        return members.stream()
+                .map(Long::valueOf)
+                .sorted()
+                .toList();
+    }
 
-        if (alreadyBoardedToday) {
-            throw new DuplicateBoardingException("오늘 이미 해당 셔틀에 탑승하셨습니다.");
+    private String ridersKey(Long shuttle_id, LocalDate service_date) {
+        return BOARDING_RIDERS_KEY_PREFIX + shuttle_id + ":" + service_date;
+    }
+
+    private String countKey(Long shuttle_id, LocalDateTime boarding_time) {
+        return countKey(shuttle_id, boarding_time.toLocalDate(), timetableRunResolver.resolve(shuttle_id, boarding_time));
+    }
+
+    private String countKey(Long shuttle_id, LocalDate service_date, TimetableRunDto run) {
+        return BOARDING_COUNT_KEY_PREFIX + shuttle_id + ":" + service_date + ":"
+                + (run == null ? NO_RUN_SLOT : run.getDepartureTime());
+    }
+
+    /**
+     * 이전 스캔 처리 결과 조회 (idempotency key -> 결과, Redis 왕복 1회)
+     */
+    public Map<String, String> findScanResults(List<String> idempotency_keys) {
+        Map<String, String> results = new HashMap<>();
+        if (idempotency_keys.isEmpty()) {
+            return results;
+        }
+
+        List<String> keys = idempotency_keys.stream()
+                .map(key -> SCAN_RESULT_KEY_PREFIX + key)
+                .toList();
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+
+        if (values != null) {
+            for (int i = 0; i < idempotency_keys.size(); i++) {
+                if (values.get(i) != null) {
+                    results.put(idempotency_keys.get(i), values.get(i));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 스캔 처리 결과 저장 (재전송 시 같은 결과 반환용, 파이프라인 1회)
+     */
+    public void saveScanResults(Map<String, String> results) {
+        if (results.isEmpty()) {
+            return;
         }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                results.forEach((key, value) ->
+                        operations.opsForValue().set(SCAN_RESULT_KEY_PREFIX + key, value, SCAN_RESULT_TTL));
+                return null;
+            }
+        });
     }
 }
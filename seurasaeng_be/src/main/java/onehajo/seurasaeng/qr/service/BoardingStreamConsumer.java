@@ -0,0 +1,448 @@
+package onehajo.seurasaeng.qr.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import onehajo.seurasaeng.qr.util.BoardingStreamCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 탑승 이벤트 스트림 소비
+ * 후처리 단계(BoardingStreamHandler)마다 consumer group 과 전용 스레드를 두고,
+ * 처리에 성공한 묶음만 확인(ACK)한다. 다른 서버가 처리하다 멈춘 레코드는 일정 시간이 지나면 가져와 다시 처리하고,
+ * 처리 실패 횟수 한도를 넘긴 레코드는 별도 스트림(최대 길이 제한)으로 옮긴다. 묶음이 실패하면 한 건씩 다시 처리해
+ * 실패한 레코드만 세고, DB · Redis 연결 장애 같은 일시적인 실패는 횟수에 넣지 않아
+ * 장애가 길어져도 레코드를 버리지 않는다. 서버를 늘리면 같은 그룹 안에서 레코드가 나뉘어 처리된다.
+ */
+@Slf4j
+@Service
+public class BoardingStreamConsumer {
+    private static final long RETRY_BACKOFF_MS = 1000;
+    private static final Duration FAILURES_TTL = Duration.ofDays(7);
+    private static final Comparator<RecordId> RECORD_ID_ORDER =
+            Comparator.comparingLong(RecordId::getTimestamp).thenComparingLong(RecordId::getSequence);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final List<BoardingStreamHandler> handlers;
+    private final String consumerName;
+    private final int batchSize;
+    private final Duration blockTimeout;
+    private final Duration reclaimIdle;
+    private final long maxDeliveries;
+    private final long deadLetterMaxLength;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public BoardingStreamConsumer(RedisTemplate<String, String> redisTemplate,
+                                  List<BoardingStreamHandler> handlers,
+                                  @Value("${boarding.stream.consumer-name:}") String consumerName,
+                                  @Value("${boarding.stream.batch-size:50}") int batchSize,
+                                  @Value("${boarding.stream.block-ms:2000}") long blockMs,
+                                  @Value("${boarding.stream.reclaim-idle-ms:60000}") long reclaimIdleMs,
+                                  @Value("${boarding.stream.max-deliveries:20}") long maxDeliveries,
+                                  @Value("${boarding.stream.dead-letter-max-length:10000}") long deadLetterMaxLength) {
+        this.redisTemplate = redisTemplate;
+        this.handlers = handlers;
+        this.consumerName = consumerName.isBlank() ? defaultConsumerName() : consumerName;
+        this.batchSize = batchSize;
+        this.blockTimeout = Duration.ofMillis(blockMs);
+        this.reclaimIdle = Duration.ofMillis(reclaimIdleMs);
+        this.maxDeliveries = maxDeliveries;
+        this.deadLetterMaxLength = deadLetterMaxLength;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        for (BoardingStreamHandler handler : handlers) {
+            createGroup(handler.group());
+
+            Thread worker = new Thread(() -> run(handler), "boarding-stream-" + handler.group());
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("탑승 이벤트 스트림 소비 시작 - consumer : {}, 그룹 : {}", consumerName,
+                handlers.stream().map(BoardingStreamHandler::group).toList());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 처리 중인 묶음은 마치고 종료 (확인하지 못한 레코드는 다른 서버 또는 재시작 후 다시 처리)
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        workers.clear();
+    }
+
+    /**
+     * 모든 그룹이 확인한 레코드 정리
+     * 그룹마다 확인하지 않은 레코드 중 가장 오래된 ID (없으면 마지막으로 전달한 ID) 를 구해
+     * 그중 가장 작은 ID 보다 앞선 레코드만 지운다 (XTRIM MINID ~). 아직 만들어지지 않은 그룹이 있으면 정리하지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${boarding.stream.trim-interval-ms:60000}")
+    public void trim() {
+        StreamInfo.XInfoGroups groups = streamOps().groups(BoardingStreamCodec.STREAM_KEY);
+        Set<String> existing = new HashSet<>();
+        RecordId minId = null;
+        for (StreamInfo.XInfoGroup group : groups) {
+            existing.add(group.groupName());
+
+            RecordId oldest = group.pendingCount() != null && group.pendingCount() > 0
+                    ? streamOps().pending(BoardingStreamCodec.STREAM_KEY, group.groupName()).minRecordId()
+                    : RecordId.of(group.lastDeliveredId());
+            if (minId == null || RECORD_ID_ORDER.compare(oldest, minId) < 0) {
+                minId = oldest;
+            }
+        }
+
+        for (BoardingStreamHandler handler : handlers) {
+            if (!existing.contains(handler.group())) {
+                return;
+            }
+        }
+        if (minId == null) {
+            return;
+        }
+
+        String threshold = minId.getValue();
+        Object trimmed = redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("XTRIM",
+                BoardingStreamCodec.STREAM_KEY.getBytes(StandardCharsets.UTF_8),
+                "MINID".getBytes(StandardCharsets.UTF_8),
+                "~".getBytes(StandardCharsets.UTF_8),
+                threshold.getBytes(StandardCharsets.UTF_8)));
+        log.debug("탑승 이벤트 스트림 정리 - MINID : {}, {}건", threshold, trimmed);
+    }
+
+    private void run(BoardingStreamHandler handler) {
+        long lastReclaim = 0;
+
+        while (running) {
+            try {
+                if (System.currentTimeMillis() - lastReclaim >= reclaimIdle.toMillis()) {
+                    reclaim(handler);
+                    lastReclaim = System.currentTimeMillis();
+                }
+                poll(handler);
+            } catch (Exception e) {
+                log.error("탑승 이벤트 스트림 소비 실패 - 그룹 : {}", handler.group(), e);
+                sleepBackoff();
+            }
+        }
+    }
+
+    /**
+     * 새 레코드 한 묶음 처리
+     */
+    public void poll(BoardingStreamHandler handler) {
+        List<MapRecord<String, Object, Object>> records = streamOps().read(
+                Consumer.from(handler.group(), consumerName),
+                StreamReadOptions.empty().count(batchSize).block(blockTimeout),
+                StreamOffset.create(BoardingStreamCodec.STREAM_KEY, ReadOffset.lastConsumed()));
+
+        if (records != null && !records.isEmpty() && !process(handler, records, false)) {
+            sleepBackoff();
+        }
+    }
+
+    /**
+     * 오래 확인되지 않은 레코드를 가져와 다시 처리 (처리 실패 횟수 한도를 넘긴 레코드는 별도 스트림으로 이동)
+     * 장애 동안 쌓인 레코드가 한 번에 밀려 처리되도록, 미확인 목록 끝에 닿거나 재처리가 실패할 때까지 묶음 단위로 이어서 가져온다.
+     * @return 다시 처리한 레코드 수
+     */
+    public int reclaim(BoardingStreamHandler handler) {
+        Range<String> range = Range.unbounded();
+        int reclaimed = 0;
+
+        while (true) {
+            PendingMessages pending = streamOps().pending(BoardingStreamCodec.STREAM_KEY, handler.group(),
+                    range, batchSize);
+
+            List<RecordId> idle = new ArrayList<>();
+            for (PendingMessage message : pending) {
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(reclaimIdle) >= 0) {
+                    idle.add(message.getId());
+                }
+            }
+            if (!idle.isEmpty()) {
+                if (!reclaim(handler, idle)) {
+                    // 아직 장애 중이면 다음 주기에 다시 시도
+                    return reclaimed;
+                }
+                reclaimed += idle.size();
+            }
+            if (pending.size() < batchSize) {
+                return reclaimed;
+            }
+            range = Range.rightUnbounded(Range.Bound.exclusive(pending.get(pending.size() - 1).getIdAsString()));
+        }
+    }
+
+    private boolean reclaim(BoardingStreamHandler handler, List<RecordId> idle) {
+        List<Object> failures = redisTemplate.opsForHash().multiGet(failuresKey(handler),
+                idle.stream().<Object>map(RecordId::getValue).toList());
+        Set<RecordId> exhausted = new HashSet<>();
+        for (int i = 0; i < idle.size(); i++) {
+            Object count = failures.get(i);
+            if (count != null && Long.parseLong(count.toString()) >= maxDeliveries) {
+                exhausted.add(idle.get(i));
+            }
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = streamOps().claim(BoardingStreamCodec.STREAM_KEY,
+                handler.group(), consumerName, reclaimIdle, idle.toArray(RecordId[]::new));
+
+        List<MapRecord<String, Object, Object>> retry = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : claimed) {
+            if (exhausted.contains(record.getId())) {
+                deadLetter(handler, record, "전달 횟수 초과");
+            } else {
+                retry.add(record);
+            }
+        }
+        if (retry.isEmpty()) {
+            return true;
+        }
+        log.warn("탑승 이벤트 재처리 - 그룹 : {}, {}건", handler.group(), retry.size());
+        return process(handler, retry, true);
+    }
+
+    /**
+     * 별도 스트림의 레코드를 다시 탑승 이벤트 스트림에 넣음 (처리에 실패했던 그룹만 다시 처리)
+     * @param group 해당 그룹에서 실패한 레코드만 (null 이면 전체)
+     * @param limit 별도 스트림 앞쪽에서 확인할 최대 레코드 수
+     * @return 다시 넣은 레코드 수
+     */
+    public long replayDeadLetters(String group, int limit) {
+        List<MapRecord<String, Object, Object>> dead = streamOps().range(BoardingStreamCodec.DEAD_LETTER_KEY,
+                Range.unbounded(), Limit.limit().count(limit));
+
+        long replayed = 0;
+        for (MapRecord<String, Object, Object> record : dead) {
+            Map<Object, Object> fields = new HashMap<>(record.getValue());
+            Object failedGroup = fields.remove(BoardingStreamCodec.DEAD_LETTER_GROUP);
+            if (group != null && !group.equals(failedGroup)) {
+                continue;
+            }
+            fields.remove(BoardingStreamCodec.DEAD_LETTER_ID);
+            fields.remove(BoardingStreamCodec.DEAD_LETTER_REASON);
+            fields.remove(BoardingStreamCodec.TARGET_GROUP);
+            if (failedGroup != null) {
+                fields.put(BoardingStreamCodec.TARGET_GROUP, failedGroup);
+            }
+
+            streamOps().add(BoardingStreamCodec.STREAM_KEY, fields);
+            streamOps().delete(BoardingStreamCodec.DEAD_LETTER_KEY, record.getId());
+            replayed++;
+        }
+
+        log.info("탑승 이벤트 별도 스트림 재처리 - 그룹 : {}, {}건", group, replayed);
+        return replayed;
+    }
+
+    // 처리한 레코드 확인 (clearFailures 면 확인한 레코드의 실패 횟수도 지움), 모두 처리했으면 true
+    private boolean process(BoardingStreamHandler handler, List<MapRecord<String, Object, Object>> records,
+                            boolean clearFailures) {
+        List<BoardingEventDTO> events = new ArrayList<>(records.size());
+        List<RecordId> ids = new ArrayList<>(records.size());
+        List<RecordId> skipped = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            // 다른 그룹을 위해 다시 넣은 레코드
+            Object target = record.getValue().get(BoardingStreamCodec.TARGET_GROUP);
+            if (target != null && !handler.group().equals(target.toString())) {
+                skipped.add(record.getId());
+                continue;
+            }
+            try {
+                events.add(BoardingStreamCodec.decode(record.getValue()));
+                ids.add(record.getId());
+            } catch (IllegalArgumentException e) {
+                deadLetter(handler, record, e.getMessage());
+            }
+        }
+        if (!skipped.isEmpty()) {
+            streamOps().acknowledge(BoardingStreamCodec.STREAM_KEY, handler.group(), skipped.toArray(RecordId[]::new));
+        }
+        if (events.isEmpty()) {
+            return true;
+        }
+
+        try {
+            handler.handle(events);
+        } catch (Exception e) {
+            // 확인하지 않은 레코드는 reclaimIdle 이후 다시 전달된다
+            if (isTransient(e)) {
+                log.warn("탑승 이벤트 처리 일시 실패 - 그룹 : {}, {}건", handler.group(), events.size(), e);
+                return false;
+            }
+            if (events.size() == 1) {
+                log.error("탑승 이벤트 처리 실패 - 그룹 : {}, id : {}", handler.group(), ids.get(0), e);
+                countFailures(handler, ids);
+                return false;
+            }
+            // 문제 레코드 하나 때문에 같은 묶음의 레코드까지 실패로 세지 않도록 한 건씩 다시 처리
+            log.warn("탑승 이벤트 묶음 처리 실패, 한 건씩 재처리 - 그룹 : {}, {}건", handler.group(), events.size(), e);
+            return processEach(handler, events, ids, clearFailures);
+        }
+
+        acknowledge(handler, ids, clearFailures);
+        return true;
+    }
+
+    private boolean processEach(BoardingStreamHandler handler, List<BoardingEventDTO> events, List<RecordId> ids,
+                                boolean clearFailures) {
+        List<RecordId> handled = new ArrayList<>(ids.size());
+        boolean all = true;
+        try {
+            for (int i = 0; i < events.size(); i++) {
+                try {
+                    handler.handle(List.of(events.get(i)));
+                    handled.add(ids.get(i));
+                } catch (Exception e) {
+                    if (isTransient(e)) {
+                        log.warn("탑승 이벤트 처리 일시 실패 - 그룹 : {}, id : {}", handler.group(), ids.get(i), e);
+                        return false;
+                    }
+                    log.error("탑승 이벤트 처리 실패 - 그룹 : {}, id : {}", handler.group(), ids.get(i), e);
+                    countFailures(handler, List.of(ids.get(i)));
+                    all = false;
+                }
+            }
+        } finally {
+            if (!handled.isEmpty()) {
+                acknowledge(handler, handled, clearFailures);
+            }
+        }
+        return all;
+    }
+
+    private void acknowledge(BoardingStreamHandler handler, List<RecordId> ids, boolean clearFailures) {
+        streamOps().acknowledge(BoardingStreamCodec.STREAM_KEY, handler.group(), ids.toArray(RecordId[]::new));
+        if (clearFailures) {
+            redisTemplate.opsForHash().delete(failuresKey(handler), ids.stream().map(RecordId::getValue).toArray());
+        }
+    }
+
+    private void deadLetter(BoardingStreamHandler handler, MapRecord<String, Object, Object> record, String reason) {
+        Map<Object, Object> fields = new HashMap<>(record.getValue());
+        fields.put(BoardingStreamCodec.DEAD_LETTER_GROUP, handler.group());
+        fields.put(BoardingStreamCodec.DEAD_LETTER_ID, record.getId().getValue());
+        fields.put(BoardingStreamCodec.DEAD_LETTER_REASON, reason);
+
+        streamOps().add(BoardingStreamCodec.DEAD_LETTER_KEY, fields);
+        // 오래된 것부터 잘라 내 별도 스트림이 한없이 커지지 않도록 함
+        streamOps().trim(BoardingStreamCodec.DEAD_LETTER_KEY, deadLetterMaxLength, true);
+        streamOps().acknowledge(BoardingStreamCodec.STREAM_KEY, handler.group(), record.getId());
+        redisTemplate.opsForHash().delete(failuresKey(handler), record.getId().getValue());
+        log.error("탑승 이벤트 처리 포기 - 그룹 : {}, id : {}, 사유 : {}", handler.group(), record.getId(), reason);
+    }
+
+    private void countFailures(BoardingStreamHandler handler, List<RecordId> ids) {
+        String key = failuresKey(handler);
+        try {
+            for (RecordId id : ids) {
+                redisTemplate.opsForHash().increment(key, id.getValue(), 1);
+            }
+            redisTemplate.expire(key, FAILURES_TTL);
+        } catch (Exception e) {
+            log.warn("탑승 이벤트 처리 실패 횟수 기록 실패 - 그룹 : {}", handler.group(), e);
+        }
+    }
+
+    private static String failuresKey(BoardingStreamHandler handler) {
+        return BoardingStreamCodec.FAILURES_KEY_PREFIX + handler.group();
+    }
+
+    /**
+     * 일시적인 장애 (DB · Redis 연결, 타임아웃 등) 여부
+     */
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private void createGroup(String group) {
+        try {
+            // 스트림이 없으면 만들고, 그룹 생성 전에 쌓인 레코드부터 처리
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(
+                    BoardingStreamCodec.STREAM_KEY.getBytes(StandardCharsets.UTF_8), group, ReadOffset.from("0"), true));
+        } catch (Exception e) {
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    && (e.getCause() == null || !String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                throw e;
+            }
+        }
+    }
+
+    private StreamOperations<String, Object, Object> streamOps() {
+        return redisTemplate.opsForStream();
+    }
+
+    private void sleepBackoff() {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String defaultConsumerName() {
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + ProcessHandle.current().pid();
+        } catch (UnknownHostException e) {
+            return "consumer-" + ProcessHandle.current().pid();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package onehajo.seurasaeng.qr.service;
+
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+
+import java.util.List;
+
+/**
+ * 탑승 이벤트 스트림 후처리 단계
+ * 단계마다 consumer group 하나를 쓰며, 같은 레코드가 다시 전달될 수 있으므로 멱등하게 처리해야 한다.
+ * 예외를 던지면 해당 묶음은 확인(ACK)되지 않고 일정 시간 뒤 다시 전달된다.
+ */
+public interface BoardingStreamHandler {
+    String group();
+
+    void handle(List<BoardingEventDTO> events);
+}
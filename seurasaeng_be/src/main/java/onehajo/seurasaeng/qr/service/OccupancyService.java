@@ -0,0 +1,110 @@
+package onehajo.seurasaeng.qr.service;
+
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.qr.dto.OccupancyResDTO;
+import onehajo.seurasaeng.qr.event.OccupancyChangedEvent;
+import onehajo.seurasaeng.shuttle.dto.TimetableRunDto;
+import onehajo.seurasaeng.shuttle.service.TimetableRunResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 여러 셔틀의 현재 회차 탑승 현황 조회
+ * 조회 결과를 짧은 시간 로컬에 보관해 같은 화면을 여러 사용자가 동시에 불러와도
+ * Redis 조회는 만료된 셔틀만 모아 MGET 한 번으로 처리한다.
+ */
+@Slf4j
+@Service
+public class OccupancyService {
+    private static final int MAX_SHUTTLES = 100;
+
+    private final BoardingService boardingService;
+    private final TimetableRunResolver timetableRunResolver;
+    private final long snapshotTtlNanos;
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private record Snapshot(OccupancyResDTO occupancy, long expiresAt) {
+    }
+
+    public OccupancyService(BoardingService boardingService,
+                            TimetableRunResolver timetableRunResolver,
+                            @Value("${boarding.occupancy.snapshot-ttl-ms:1000}") long snapshotTtlMs) {
+        this.boardingService = boardingService;
+        this.timetableRunResolver = timetableRunResolver;
+        this.snapshotTtlNanos = snapshotTtlMs * 1_000_000;
+    }
+
+    /**
+     * 셔틀별 탑승 현황 조회 (shuttle_ids 가 비어 있으면 현재 운행 중인 회차 전체)
+     */
+    public List<OccupancyResDTO> getOccupancies(Collection<Long> shuttle_ids) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> targets = shuttle_ids == null || shuttle_ids.isEmpty()
+                ? timetableRunResolver.getShuttleIds().stream()
+                        .filter(shuttle_id -> timetableRunResolver.resolve(shuttle_id, now) != null)
+                        .sorted()
+                        .toList()
+                : shuttle_ids.stream().distinct().toList();
+
+        if (targets.size() > MAX_SHUTTLES) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 셔틀은 최대 " + MAX_SHUTTLES + "개입니다.");
+        }
+
+        long nanoNow = System.nanoTime();
+        OccupancyResDTO[] results = new OccupancyResDTO[targets.size()];
+        List<Integer> missIndexes = new ArrayList<>();
+
+        for (int i = 0; i < targets.size(); i++) {
+            Snapshot snapshot = snapshots.get(targets.get(i));
+            if (snapshot != null && snapshot.expiresAt() - nanoNow > 0) {
+                results[i] = snapshot.occupancy();
+            } else {
+                missIndexes.add(i);
+            }
+        }
+
+        if (!missIndexes.isEmpty()) {
+            List<Long> missIds = missIndexes.stream().map(targets::get).toList();
+            List<Long> counts = boardingService.getBoardingCounts(missIds, now);
+
+            for (int n = 0; n < missIds.size(); n++) {
+                OccupancyResDTO occupancy = toOccupancy(missIds.get(n), counts.get(n),
+                        timetableRunResolver.resolve(missIds.get(n), now));
+                // 시간표에 있는 셔틀만 보관 (임의의 ID 로 보관 목록이 늘어나지 않도록)
+                if (timetableRunResolver.getShuttleIds().contains(missIds.get(n))) {
+                    snapshots.put(missIds.get(n), new Snapshot(occupancy, nanoNow + snapshotTtlNanos));
+                }
+                results[missIndexes.get(n)] = occupancy;
+            }
+        }
+
+        return List.of(results);
+    }
+
+    // 이 서버에서 탑승 인원이 바뀌면 보관 중인 현황을 바로 버림
+    @EventListener
+    public void onOccupancyChanged(OccupancyChangedEvent event) {
+        snapshots.remove(event.getShuttle_id());
+    }
+
+    private OccupancyResDTO toOccupancy(Long shuttle_id, Long count, TimetableRunDto run) {
+        int capacity = run == null ? BoardingService.UNLIMITED_CAPACITY : run.getTotalSeats();
+
+        return OccupancyResDTO.builder()
+                .shuttle_id(shuttle_id)
+                .departure_time(run == null ? null : run.getDepartureTime())
+                .count(count)
+                .capacity(capacity)
+                .load_factor(capacity > 0 ? (double) count / capacity : null)
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package onehajo.seurasaeng.qr.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.qr.dto.OfflineBundleDTO;
+import onehajo.seurasaeng.qr.dto.OfflineBundleResDTO;
+import onehajo.seurasaeng.qr.dto.QrReqDTO;
+import onehajo.seurasaeng.qr.util.QrTokenCodec;
+import onehajo.seurasaeng.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 스캐너 오프라인 검증 번들 발급
+ * QR 문자열은 사용자별로 결정되므로 서버에서 미리 계산한 QR 다이제스트 목록만 내려주고,
+ * 스캐너는 스캔한 QR 문자열의 다이제스트를 이진 탐색해 복호화 키 없이 사용자를 확인한다.
+ * 오프라인 중 승인한 스캔은 재연결 후 일괄 검증 API로 업로드해 서버에서 중복을 정리한다.
+ */
+@Slf4j
+@Service
+public class OfflineBundleService {
+    public static final int BUNDLE_FORMAT = 1;
+    public static final int DIGEST_BYTES = 8;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final QRService qrService;
+    private final QrTokenCodec qrTokenCodec;
+    private final BoardingService boardingService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec signingKey;
+
+    // 사용자 ID 순 다이제스트 목록 (사용자는 삭제/이메일 변경이 없으므로 새 가입자만 이어 붙인다)
+    // 사용자가 가진 QR 이 어떤 형식인지 알 수 없으므로 기존 AES 토큰과 키별 압축 토큰을 모두 담는다.
+    private final List<DigestEntry> digestTable = new ArrayList<>();
+    private final Set<Long> indexedUserIds = new HashSet<>();
+    private long digestVersion;
+    // 사용자 ID 는 커밋 순서대로 보이지 않으므로(서버별 ID 블록, 긴 트랜잭션) 버전 아래 이 구간을 다시 확인한다
+    private final long rescanWindow;
+
+    public OfflineBundleService(QRService qrService,
+                                QrTokenCodec qrTokenCodec,
+                                BoardingService boardingService,
+                                UserRepository userRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${qr.bundle.signing-key}") String signingKey,
+                                @Value("${qr.bundle.rescan-window:1000}") long rescanWindow) {
+        this.qrService = qrService;
+        this.qrTokenCodec = qrTokenCodec;
+        this.boardingService = boardingService;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.signingKey = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.rescanWindow = rescanWindow;
+    }
+
+    /**
+     * 오프라인 검증 번들 생성
+     * since 가 0이면 전체 번들, 아니면 since 버전 이후 추가된 사용자만 담는다. 탑승자 목록은 항상 전체를 담는다.
+     * 늦게 커밋된 가입자를 놓치지 않도록 변경분에는 since 아래 재확인 구간의 사용자도 다시 담는다. (스캐너는 중복 다이제스트를 무시)
+     */
+    public OfflineBundleResDTO createBundle(Long shuttle_id, LocalDate service_date, long since) {
+        long base = Math.max(since, 0);
+        long from = Math.max(base - rescanWindow, 0);
+
+        List<DigestEntry> entries;
+        long version;
+        synchronized (this) {
+            refreshDigestTable();
+            version = digestVersion;
+            entries = digestTable.stream()
+                    .filter(entry -> entry.user_id() > from)
+                    .sorted(Comparator.comparing(DigestEntry::digest, Long::compareUnsigned))
+                    .toList();
+        }
+
+        ByteBuffer digests = ByteBuffer.allocate(entries.size() * DIGEST_BYTES);
+        List<Long> user_ids = new ArrayList<>(entries.size());
+        for (DigestEntry entry : entries) {
+            digests.putLong(entry.digest());
+            user_ids.add(entry.user_id());
+        }
+
+        OfflineBundleDTO bundle = OfflineBundleDTO.builder()
+                .format(BUNDLE_FORMAT)
+                .shuttle_id(shuttle_id)
+                .service_date(service_date)
+                .version(version)
+                .base_version(base)
+                .issued_at(LocalDateTime.now())
+                .digest_bytes(DIGEST_BYTES)
+                .digests(Base64.getEncoder().encodeToString(digests.array()))
+                .user_ids(user_ids)
+                .boarded_user_ids(boardingService.findRiders(shuttle_id, service_date))
+                .build();
+
+        log.info("오프라인 번들 발급 - shuttle_id : {}, 버전 : {} -> {}, 사용자 {}명",
+                shuttle_id, base, version, entries.size());
+
+        return sign(bundle);
+    }
+
+    /**
+     * QR 문자열 다이제스트 (SHA-256 앞 8바이트, 빅엔디언)
+     */
+    public static long digestOf(String qrCode) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(qrCode.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(hash, 0, DIGEST_BYTES).getLong();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 사용 불가", e);
+        }
+    }
+
+    private void refreshDigestTable() {
+        List<QrReqDTO> subjects = userRepository.findQrSubjectsByIdGreaterThan(Math.max(digestVersion - rescanWindow, 0));
+
+        for (QrReqDTO subject : subjects) {
+            if (!indexedUserIds.add(subject.getUser_id())) {
+                continue;
+            }
+            try {
+                String legacyQrCode = qrService.createEncryptedQRData(subject.getUser_id(), subject.getUser_email());
+                digestTable.add(new DigestEntry(subject.getUser_id(), digestOf(legacyQrCode)));
+
+                for (int keyId : qrTokenCodec.keyIds()) {
+                    String qrToken = qrTokenCodec.encode(subject.getUser_id(), keyId);
+                    digestTable.add(new DigestEntry(subject.getUser_id(), digestOf(qrToken)));
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("QR 다이제스트 생성 실패 - user_id : " + subject.getUser_id(), e);
+            }
+            digestVersion = Math.max(digestVersion, subject.getUser_id());
+        }
+    }
+
+    private OfflineBundleResDTO sign(OfflineBundleDTO bundle) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(bundle);
+
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            return OfflineBundleResDTO.builder()
+                    .payload(encoder.encodeToString(payload))
+                    .signature(encoder.encodeToString(mac.doFinal(payload)))
+                    .build();
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("오프라인 번들 서명 실패", e);
+        }
+    }
+
+    private record DigestEntry(long user_id, long digest) {
+    }
+}
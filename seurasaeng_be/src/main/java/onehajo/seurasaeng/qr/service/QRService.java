@@ -1,71 +1,69 @@
 package onehajo.seurasaeng.qr.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.zxing.*;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
-import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import onehajo.seurasaeng.qr.dto.QrReqDTO;
-import onehajo.seurasaeng.qr.dto.ValidUserResDTO;
+import onehajo.seurasaeng.qr.dto.*;
+import onehajo.seurasaeng.qr.exception.DuplicateBoardingException;
 import onehajo.seurasaeng.qr.exception.InvalidQRCodeException;
+import onehajo.seurasaeng.qr.exception.ShuttleFullException;
 import onehajo.seurasaeng.qr.exception.UserNotFoundException;
 import onehajo.seurasaeng.qr.repository.QrRepository;
 import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
 import onehajo.seurasaeng.user.repository.UserRepository;
 import onehajo.seurasaeng.qr.util.AESUtil;
+import onehajo.seurasaeng.qr.util.QrTokenCodec;
 import onehajo.seurasaeng.entity.Boarding;
 import onehajo.seurasaeng.entity.Qr;
 import onehajo.seurasaeng.entity.Shuttle;
 import onehajo.seurasaeng.entity.User;
 import org.springframework.stereotype.Service;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class QRService {
-    private static final int QR_WIDTH = 200;
-    private static final int QR_HEIGHT = 200;
-    private static final String QR_IMAGE_FORMAT = "png";
+    // 스캐너 시계가 서버보다 빠를 때 허용하는 오차
+    private static final Duration SCAN_CLOCK_SKEW = Duration.ofMinutes(5);
 
     private final AESUtil aesUtil;
-    private final S3Service s3Service;
+    private final QrTokenCodec qrTokenCodec;
+    private final QrImageService qrImageService;
     private final BoardingService boardingService;
     private final UserRepository userRepository;
     private final QrRepository qrRepository;
     private final ShuttleRepository shuttleRepository;
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
     /**
      * QR 코드 생성 및 저장
+     * 이미지는 조회 시 토큰으로 다시 그리므로 토큰만 저장한다.
      */
     public void generateQRCode(long user_id, String user_email) throws Exception {
         // 사용자 정보 검증
         User user = validateUserExists(user_id);
 
-        // QR 코드에 포함될 데이터
-        String encryptedUserData = createEncryptedQRData(user_id, user_email);
-        log.info("encryptedUserData : {}", encryptedUserData);
+        // QR 코드에 포함될 데이터 (압축 토큰)
+        String qrToken = qrTokenCodec.encode(user.getId());
+        log.info("qrToken : {}", qrToken);
 
-        // QR 이미지 생성
-        byte[] qrImageBytes = generateQRImageBytes(encryptedUserData);
-
-        // S3 QR 이미지 업로드
-        String s3Url = s3Service.uploadQRToS3(qrImageBytes);
-
-        // DB에 S3 url 저장
-        saveQRToDatabase(user, s3Url);
+        // DB에 QR 토큰 저장
+        saveQRToDatabase(user, qrToken);
+        qrImageService.evict(user.getId());
     }
 
     private User validateUserExists(Long userId) {
@@ -74,71 +72,21 @@ public class QRService {
     }
 
     /**
-     * QR 데이터 생성 및 암호화
+     * 기존 AES QR 데이터 생성 (압축 토큰 도입 전 발급된 QR, 오프라인 번들 다이제스트용)
      */
-    private String createEncryptedQRData(Long userId, String userEmail) throws Exception {
+    public String createEncryptedQRData(Long userId, String userEmail) throws Exception {
         QrReqDTO qrData = new QrReqDTO(userId, userEmail);
         String qrJsonData = objectMapper.writeValueAsString(qrData);
         return aesUtil.encrypt(qrJsonData);
     }
 
-    /**
-     * QR 이미지 바이트 배열 생성
-     */
-    private byte[] generateQRImageBytes(String encryptedData) throws WriterException, IOException {
-        Map<EncodeHintType, Object> hints = createQRHints();
-
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(encryptedData, BarcodeFormat.QR_CODE,
-                QR_WIDTH, QR_HEIGHT, hints);
-
-        return createQRImageFromBitMatrix(bitMatrix);
-    }
-
-    /**
-     * QR 생성 힌트 설정
-     */
-    private Map<EncodeHintType, Object> createQRHints() {
-        Map<EncodeHintType, Object> hints = new HashMap<>();
-        hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
-        hints.put(EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name());
-        hints.put(EncodeHintType.MARGIN, 1);
-        return hints;
-    }
-
-    /**
-     * BitMatrix -> 이미지 바이트 배열
-     */
-    private byte[] createQRImageFromBitMatrix(BitMatrix bitMatrix) throws IOException {
-        BufferedImage image = new BufferedImage(QR_WIDTH, QR_HEIGHT, BufferedImage.TYPE_INT_RGB);
-        Graphics2D graphics = image.createGraphics();
-
-        graphics.setColor(Color.WHITE);
-        graphics.fillRect(0, 0, QR_WIDTH, QR_HEIGHT);
-
-        graphics.setColor(Color.BLACK);
-        for (int x = 0; x < QR_WIDTH; x++) {
-            for (int y = 0; y < QR_HEIGHT; y++) {
-                if (bitMatrix.get(x, y)) {
-                    graphics.fillRect(x, y, 1, 1);
-                }
-            }
-        }
-        graphics.dispose();
-
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            ImageIO.write(image, QR_IMAGE_FORMAT, outputStream);
-            return outputStream.toByteArray();
-        }
-    }
-
     /**
      * QR 정보 DB 저장
      */
-    private void saveQRToDatabase(User user, String s3Url) {
+    private void saveQRToDatabase(User user, String qrToken) {
         Qr qr = Qr.builder()
                 .user(user)
-                .qrCode(s3Url)
+                .qrCode(qrToken)
                 .build();
 
         qrRepository.save(qr);
@@ -148,12 +96,8 @@ public class QRService {
      * user_id로 QR 코드 조회(base64)
      */
     public String getQRCodeByUserId(Long userId) {
-        // DB에서 QR 정보 조회
-        Qr qr = qrRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("해당 사용자의 QR 코드를 찾을 수 없습니다."));
-
-        // S3에서 이미지 다운로드
-        byte[] imageBytes = s3Service.downloadFileFromS3(qr.getQrCode());
+        // QR 이미지 조회 (캐시 -> 토큰으로 생성 -> 기존 행은 S3)
+        byte[] imageBytes = qrImageService.getQRImage(userId).getPng();
 
         // Base64로 인코딩
         String base64Image = Base64.getEncoder().encodeToString(imageBytes);
@@ -174,16 +118,26 @@ public class QRService {
 
             // 셔틀 정보 조회
             Shuttle shuttle = validateShuttleExists(shuttle_id);
-            
-            // 중복 탑승자 조회
-            boardingService.checkDuplicateBoarding(user.getId(), shuttle_id);
+
+            // 탑승 승인 (현재 회차 좌석 수 기준, 중복 확인 + 정원 확인 + 인원 증가를 Redis에서 원자적으로 처리)
+            // 승인 / 기록 / 취소가 같은 회차 · 운행일을 보도록 탑승 시각은 한 번만 구한다
+            LocalDateTime boardingTime = LocalDateTime.now();
+            BoardingAdmissionDTO admission = boardingService.admitBoarding(user.getId(), shuttle_id, boardingTime);
+            checkAdmission(admission);
 
             // QR의 사용자가 유효하다면 -> 사용자의 정보 return & 유효한 사용자의 경우 탑승 내역 저장
-            Boarding boardingRecord = boardingService.saveBoardingRecord(qrRequest.getUser_id(), shuttle_id);
-            boardingService.incrementBoardingCount(shuttle_id);
+            Boarding boardingRecord;
+            try {
+                boardingRecord = boardingService.recordBoarding(user.getId(), shuttle, boardingTime, admission.getDeparture_minute());
+            } catch (RuntimeException e) {
+                boardingService.revokeAdmission(user.getId(), shuttle_id, boardingTime);
+                throw e;
+            }
+            boardingService.publishOccupancy(shuttle_id, admission);
 
             return createValidUserResponse(user, shuttle, boardingRecord);
-            } catch (InvalidQRCodeException | UserNotFoundException | IllegalArgumentException e) {
+            } catch (InvalidQRCodeException | UserNotFoundException | IllegalArgumentException
+                     | DuplicateBoardingException | ShuttleFullException e) {
                 log.info(e.getMessage());
                 throw e;
             } catch (Exception e) {
@@ -192,11 +146,187 @@ public class QRService {
             }
     }
 
+    /**
+     * QR 코드 일괄 검증 및 탑승 내역 처리 (스캐너 재연결 시 밀린 스캔 업로드)
+     * 사용자 조회 1회, 셔틀 조회 1회, Redis 승인 1회로 처리하고 스캔별 결과를 순서대로 반환한다.
+     */
+    public List<QrScanResDTO> userValidateBatch(List<QrScanReqDTO> scans) {
+        QrScanResDTO[] results = new QrScanResDTO[scans.size()];
+
+        // 재전송된 스캔은 이전 처리 결과 반환
+        Map<String, String> previousResults = boardingService.findScanResults(scans.stream()
+                .map(QrScanReqDTO::getIdempotency_key)
+                .distinct()
+                .toList());
+
+        // 같은 요청 안에서 반복된 스캔은 첫 번째 스캔 결과를 공유
+        Map<String, Integer> firstIndexByKey = new HashMap<>();
+        Map<Integer, QrReqDTO> parsedScans = new LinkedHashMap<>();
+
+        for (int i = 0; i < scans.size(); i++) {
+            QrScanReqDTO scan = scans.get(i);
+            String previous = previousResults.get(scan.getIdempotency_key());
+
+            if (previous != null) {
+                results[i] = readScanResult(previous);
+            } else if (firstIndexByKey.putIfAbsent(scan.getIdempotency_key(), i) == null) {
+                try {
+                    parsedScans.put(i, decryptAndParseQRCode(scan.getQrCode()));
+                } catch (Exception e) {
+                    results[i] = rejectScan(scan, ScanStatus.INVALID_QR, "유효하지 않은 QR 코드입니다.");
+                }
+            }
+        }
+
+        // 사용자, 셔틀 일괄 조회
+        Map<Long, User> users = userRepository.findAllById(parsedScans.values().stream()
+                        .map(QrReqDTO::getUser_id)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Shuttle> shuttles = parsedScans.isEmpty() ? Map.of() : shuttleRepository
+                .findAllWithLocationByIdIn(parsedScans.keySet().stream()
+                        .map(i -> scans.get(i).getShuttle_id())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Shuttle::getId, Function.identity()));
+
+        // 유효한 스캔 일괄 승인
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> admissionIndexes = new ArrayList<>();
+        List<BoardingAdmissionReqDTO> admissionRequests = new ArrayList<>();
+        Map<Integer, LocalDateTime> boardingTimes = new HashMap<>();
+
+        parsedScans.forEach((i, qrRequest) -> {
+            QrScanReqDTO scan = scans.get(i);
+            User user = users.get(qrRequest.getUser_id());
+            LocalDateTime boardingTime = scan.getScanned_at() != null ? scan.getScanned_at() : now;
+
+            if (!isWithinScanWindow(boardingTime, now)) {
+                results[i] = rejectScan(scan, ScanStatus.INVALID_TIME, "스캔 시각이 허용 범위를 벗어났습니다.");
+            } else if (user == null || (qrRequest.getUser_email() != null
+                    && !user.getEmail().equals(qrRequest.getUser_email()))) {
+                results[i] = rejectScan(scan, ScanStatus.INVALID_USER, "유효하지 않은 사용자입니다.");
+            } else if (!shuttles.containsKey(scan.getShuttle_id())) {
+                results[i] = rejectScan(scan, ScanStatus.INVALID_SHUTTLE,
+                        "존재하지 않는 셔틀입니다. Shuttle ID: " + scan.getShuttle_id());
+            } else {
+                admissionIndexes.add(i);
+                boardingTimes.put(i, boardingTime);
+                admissionRequests.add(BoardingAdmissionReqDTO.builder()
+                        .user_id(user.getId())
+                        .shuttle_id(scan.getShuttle_id())
+                        .boarding_time(boardingTime)
+                        .build());
+            }
+        });
+
+        List<BoardingAdmissionDTO> admissions = admissionRequests.isEmpty()
+                ? List.of()
+                : boardingService.admitBoardings(admissionRequests);
+
+        // 승인된 스캔은 하나씩 기록하고, 기록하지 못한 스캔은 승인을 취소한 뒤 오류 결과로 반환
+        for (int n = 0; n < admissionIndexes.size(); n++) {
+            int i = admissionIndexes.get(n);
+            QrScanReqDTO scan = scans.get(i);
+            User user = users.get(parsedScans.get(i).getUser_id());
+            Shuttle shuttle = shuttles.get(scan.getShuttle_id());
+            BoardingAdmissionDTO admission = admissions.get(n);
+            AdmissionStatus status = admission.getStatus();
+            LocalDateTime boardingTime = boardingTimes.get(i);
+
+            if (status == AdmissionStatus.ADMITTED) {
+                try {
+                    boardingService.recordBoarding(user.getId(), shuttle, boardingTime, admission.getDeparture_minute());
+                } catch (RuntimeException e) {
+                    log.error("탑승 내역 기록 실패 - user_id : {}, shuttle_id : {}", user.getId(), shuttle.getId(), e);
+                    boardingService.revokeAdmission(user.getId(), shuttle.getId(), boardingTime);
+                    results[i] = rejectScan(scan, ScanStatus.ERROR, "일시적인 오류로 탑승 처리에 실패했습니다. 다시 시도해 주세요.");
+                    continue;
+                }
+                boardingService.publishOccupancy(shuttle.getId(), admission);
+            }
+
+            results[i] = QrScanResDTO.builder()
+                    .idempotency_key(scan.getIdempotency_key())
+                    .status(ScanStatus.from(status))
+                    .message(admissionMessage(status))
+                    .user_name(user.getName())
+                    .departure(shuttle.getDeparture().getLocationName())
+                    .destination(shuttle.getDestination().getLocationName())
+                    .boarding_time(status == AdmissionStatus.ADMITTED ? boardingTime : null)
+                    .build();
+        }
+
+        // 처리 결과 저장 (재전송 대비, 오류 결과는 재전송 시 다시 처리하도록 저장하지 않음)
+        Map<String, String> newResults = new HashMap<>();
+        firstIndexByKey.forEach((key, i) -> {
+            if (results[i].getStatus() != ScanStatus.ERROR) {
+                newResults.put(key, writeScanResult(results[i]));
+            }
+        });
+        try {
+            boardingService.saveScanResults(newResults);
+        } catch (RuntimeException e) {
+            log.error("스캔 처리 결과 저장 실패 - {}건", newResults.size(), e);
+        }
+
+        // 같은 요청 안에서 반복된 스캔
+        for (int i = 0; i < scans.size(); i++) {
+            if (results[i] == null) {
+                results[i] = results[firstIndexByKey.get(scans.get(i).getIdempotency_key())];
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    // 스캔 시각은 운행일 탑승자 보관 기간 이내 ~ 현재 + 시계 오차 허용치 까지만 인정
+    private static boolean isWithinScanWindow(LocalDateTime scannedAt, LocalDateTime now) {
+        return !scannedAt.isBefore(now.minus(BoardingService.RIDERS_TTL))
+                && !scannedAt.isAfter(now.plus(SCAN_CLOCK_SKEW));
+    }
+
+    private String admissionMessage(AdmissionStatus status) {
+        return switch (status) {
+            case ADMITTED -> null;
+            case DUPLICATE -> "오늘 이미 해당 셔틀에 탑승하셨습니다.";
+            case FULL -> "탑승 가능한 좌석이 없습니다.";
+        };
+    }
+
+    private QrScanResDTO rejectScan(QrScanReqDTO scan, ScanStatus status, String message) {
+        return QrScanResDTO.builder()
+                .idempotency_key(scan.getIdempotency_key())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private String writeScanResult(QrScanResDTO result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("스캔 결과 직렬화 실패", e);
+        }
+    }
+
+    private QrScanResDTO readScanResult(String json) {
+        try {
+            return objectMapper.readValue(json, QrScanResDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("스캔 결과 역직렬화 실패", e);
+        }
+    }
+
     /**
      * QR 코드 복호화 및 파싱
+     * 압축 토큰은 서명만 검증하고(이메일 없음), 기존 AES 토큰은 복호화 후 JSON 파싱
      */
     private QrReqDTO decryptAndParseQRCode(String qrCode) throws Exception {
         try {
+            if (qrTokenCodec.supports(qrCode)) {
+                return new QrReqDTO(qrTokenCodec.verify(qrCode), null);
+            }
+
             String decryptedString = aesUtil.decrypt(qrCode);
             return objectMapper.readValue(decryptedString, QrReqDTO.class);
         } catch (Exception e) {
@@ -209,10 +339,26 @@ public class QRService {
      * 사용자 검증
      */
     private User validateUser(Long userId, String userEmail) {
+        if (userEmail == null) {
+            return userRepository.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException("유효하지 않은 사용자입니다."));
+        }
+
         return userRepository.findByIdAndEmail(userId, userEmail)
                 .orElseThrow(() -> new UserNotFoundException("유효하지 않은 사용자입니다."));
     }
 
+    /**
+     * 탑승 승인 결과 확인
+     */
+    private void checkAdmission(BoardingAdmissionDTO admission) {
+        switch (admission.getStatus()) {
+            case DUPLICATE -> throw new DuplicateBoardingException("오늘 이미 해당 셔틀에 탑승하셨습니다.");
+            case FULL -> throw new ShuttleFullException("탑승 가능한 좌석이 없습니다.");
+            default -> { }
+        }
+    }
+
     /**
      * 셔틀 존재 여부 검증
      */
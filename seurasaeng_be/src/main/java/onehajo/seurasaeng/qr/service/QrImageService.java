@@ -0,0 +1,253 @@
+package onehajo.seurasaeng.qr.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.entity.Qr;
+import onehajo.seurasaeng.qr.dto.QrImageCacheStatsDTO;
+import onehajo.seurasaeng.qr.dto.QrImageDTO;
+import onehajo.seurasaeng.qr.repository.QrRepository;
+import onehajo.seurasaeng.qr.util.QrPngEncoder;
+import onehajo.seurasaeng.qr.util.QrTokenCodec;
+import onehajo.seurasaeng.storage.ObjectStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * QR 이미지 제공
+ * 압축 토큰 QR 은 저장된 토큰으로 매번 같은 이미지를 다시 그릴 수 있으므로 S3 없이 생성하고,
+ * 토큰 도입 전 행(S3 URL)만 오브젝트 저장소에서 내려받는다. 결과는 용량 제한 LRU 캐시에 보관한다.
+ * 재발급 시 캐시 제거는 Redis pub/sub 로 모든 인스턴스에 전파하고, 메시지를 놓친 경우에 대비해 항목마다 TTL 을 둔다.
+ */
+@Slf4j
+@Service
+public class QrImageService {
+    // 목표 이미지 크기 (모듈 단위 정수 배율로 맞추므로 실제 크기는 이 값 이하)
+    private static final int QR_SIZE = 200;
+    private static final Map<EncodeHintType, Object> QR_HINTS = Map.of(
+            EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+            EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name(),
+            EncodeHintType.MARGIN, 1);
+    // 캐시 제거 채널 (메시지 = 쉼표로 구분한 user_id 목록)
+    public static final String EVICT_CHANNEL = "qr:image:evict";
+
+    private final QrRepository qrRepository;
+    private final QrTokenCodec qrTokenCodec;
+    private final ObjectStorage objectStorage;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long maxBytes;
+    private final long ttlNanos;
+
+    // user_id -> QR 이미지 (접근 순서 LRU, 전체 PNG 바이트 수로 제한)
+    private final LinkedHashMap<Long, CachedImage> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong renders = new AtomicLong();
+    private final AtomicLong storageFetches = new AtomicLong();
+
+    public QrImageService(QrRepository qrRepository,
+                          QrTokenCodec qrTokenCodec,
+                          ObjectStorage objectStorage,
+                          RedisTemplate<String, String> redisTemplate,
+                          RedisMessageListenerContainer listenerContainer,
+                          @Value("${qr.image.cache.max-bytes:16777216}") long maxBytes,
+                          @Value("${qr.image.cache.ttl-ms:600000}") long ttlMs) {
+        this.qrRepository = qrRepository;
+        this.qrTokenCodec = qrTokenCodec;
+        this.objectStorage = objectStorage;
+        this.redisTemplate = redisTemplate;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onEvictMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /**
+     * 사용자 QR 이미지(PNG) 조회
+     */
+    public QrImageDTO getQRImage(Long user_id) {
+        synchronized (cache) {
+            CachedImage cached = cache.get(user_id);
+            if (cached != null && System.nanoTime() - cached.cachedAtNanos() < ttlNanos) {
+                hits.incrementAndGet();
+                return cached.image();
+            }
+        }
+        misses.incrementAndGet();
+
+        Qr qr = qrRepository.findByUserId(user_id)
+                .orElseThrow(() -> new RuntimeException("해당 사용자의 QR 코드를 찾을 수 없습니다."));
+
+        boolean token = qrTokenCodec.supports(qr.getQrCode());
+        byte[] png;
+        if (token) {
+            png = render(qr.getQrCode());
+        } else {
+            // 토큰 도입 전 발급된 QR (저장소 location)
+            storageFetches.incrementAndGet();
+            png = objectStorage.get(qr.getQrCode());
+        }
+
+        QrImageDTO image = QrImageDTO.builder()
+                .version(versionOf(qr.getQrCode()))
+                .qr_code(qr.getQrCode())
+                .png(png)
+                .token(token)
+                .build();
+
+        put(user_id, image);
+        return image;
+    }
+
+    /**
+     * 캐시 제거 (QR 재발급 시, 모든 인스턴스에 전파)
+     */
+    public void evict(Long user_id) {
+        evictAll(List.of(user_id));
+    }
+
+    /**
+     * 캐시 일괄 제거 (메시지 1건으로 모든 인스턴스에 전파)
+     */
+    public void evictAll(Collection<Long> user_ids) {
+        if (user_ids.isEmpty()) {
+            return;
+        }
+        user_ids.forEach(this::evictLocal);
+
+        try {
+            redisTemplate.convertAndSend(EVICT_CHANNEL, user_ids.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            // 다른 인스턴스는 TTL 만료 후 다시 조회
+            log.warn("QR 이미지 캐시 제거 전파 실패 - {}건", user_ids.size(), e);
+        }
+    }
+
+    private void onEvictMessage(String message) {
+        Arrays.stream(message.split(","))
+                .filter(id -> !id.isBlank())
+                .map(Long::valueOf)
+                .forEach(this::evictLocal);
+    }
+
+    private void evictLocal(Long user_id) {
+        synchronized (cache) {
+            CachedImage removed = cache.remove(user_id);
+            if (removed != null) {
+                cachedBytes -= removed.image().getPng().length;
+            }
+        }
+    }
+
+    /**
+     * QR 이미지 생성 (PNG)
+     */
+    public byte[] render(String content) {
+        BitMatrix bitMatrix = encode(content);
+        renders.incrementAndGet();
+
+        return QrPngEncoder.encodePng(bitMatrix, scaleOf(bitMatrix));
+    }
+
+    /**
+     * QR 이미지 생성 (SVG)
+     */
+    public String renderSvg(String content) {
+        BitMatrix bitMatrix = encode(content);
+        renders.incrementAndGet();
+
+        return QrPngEncoder.encodeSvg(bitMatrix, scaleOf(bitMatrix));
+    }
+
+    public QrImageCacheStatsDTO getStats() {
+        synchronized (cache) {
+            return QrImageCacheStatsDTO.builder()
+                    .hits(hits.get())
+                    .misses(misses.get())
+                    .evictions(evictions.get())
+                    .renders(renders.get())
+                    .storage_fetches(storageFetches.get())
+                    .entries(cache.size())
+                    .bytes(cachedBytes)
+                    .max_bytes(maxBytes)
+                    .build();
+        }
+    }
+
+    private void put(Long user_id, QrImageDTO image) {
+        int length = image.getPng().length;
+        if (length > maxBytes) {
+            return;
+        }
+
+        synchronized (cache) {
+            CachedImage previous = cache.put(user_id, new CachedImage(image, System.nanoTime()));
+            cachedBytes += length - (previous != null ? previous.image().getPng().length : 0);
+
+            Iterator<CachedImage> eldest = cache.values().iterator();
+            while (cachedBytes > maxBytes && eldest.hasNext()) {
+                cachedBytes -= eldest.next().image().getPng().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 모듈 1개 = 1픽셀 크기의 BitMatrix 생성
+     */
+    private BitMatrix encode(String content) {
+        try {
+            return new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, 0, 0, QR_HINTS);
+        } catch (WriterException e) {
+            throw new IllegalStateException("QR 이미지 생성 실패", e);
+        }
+    }
+
+    /**
+     * QR 내용 기반 버전 (SHA-256 앞 8바이트 hex)
+     */
+    private String versionOf(String qrCode) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(qrCode.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 사용 불가", e);
+        }
+    }
+
+    private int scaleOf(BitMatrix bitMatrix) {
+        return Math.max(1, QR_SIZE / bitMatrix.getWidth());
+    }
+
+    private record CachedImage(QrImageDTO image, long cachedAtNanos) {
+    }
+}
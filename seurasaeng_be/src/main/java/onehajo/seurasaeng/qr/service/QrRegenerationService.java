@@ -0,0 +1,313 @@
+package onehajo.seurasaeng.qr.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.entity.Qr;
+import onehajo.seurasaeng.qr.dto.QrRegenerationResDTO;
+import onehajo.seurasaeng.qr.dto.QrRegenerationStatus;
+import onehajo.seurasaeng.qr.repository.QrRepository;
+import onehajo.seurasaeng.qr.util.QrTokenCodec;
+import onehajo.seurasaeng.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QR 일괄 재발급 (키 교체, 기존 AES QR 전환)
+ * 사용자를 ID 키셋 페이지로 읽어 활성 키로 토큰을 다시 만들고, 페이지 단위로 Qr 행을 배치 UPDATE/INSERT 한다.
+ * 페이지마다 마지막 사용자 ID를 Redis 체크포인트로 남겨 재시작 시 이어서 처리한다.
+ * 여러 인스턴스가 동시에 실행하지 않도록 Redis 점유 키(SET NX PX)를 잡고 페이지마다 연장한다.
+ */
+@Slf4j
+@Service
+public class QrRegenerationService {
+    private static final String CHECKPOINT_KEY = "qr:regeneration:checkpoint";
+    private static final String CHECKPOINT_KEY_ID = "key_id";
+    private static final String CHECKPOINT_CURSOR = "cursor";
+    private static final String LEASE_KEY = "qr:regeneration:lease";
+
+    private final UserRepository userRepository;
+    private final QrRepository qrRepository;
+    private final QrTokenCodec qrTokenCodec;
+    private final QrImageService qrImageService;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisScript<Long> leaseRenewScript;
+    private final RedisScript<Long> leaseReleaseScript;
+    private final int pageSize;
+    private final Duration leaseTtl;
+
+    private volatile QrRegenerationStatus status = QrRegenerationStatus.IDLE;
+    private volatile Thread worker;
+    private volatile String leaseToken;
+    private volatile int keyId;
+    private volatile long total;
+    private volatile long processed;
+    private volatile long updated;
+    private volatile long cursor;
+    private volatile long startedAtNanos;
+    private volatile LocalDateTime startedAt;
+    private volatile String error;
+
+    public QrRegenerationService(UserRepository userRepository,
+                                 QrRepository qrRepository,
+                                 QrTokenCodec qrTokenCodec,
+                                 QrImageService qrImageService,
+                                 TransactionTemplate transactionTemplate,
+                                 RedisTemplate<String, String> redisTemplate,
+                                 RedisScript<Long> leaseRenewScript,
+                                 RedisScript<Long> leaseReleaseScript,
+                                 @Value("${qr.regeneration.page-size:500}") int pageSize,
+                                 @Value("${qr.regeneration.lease-ms:300000}") long leaseMs) {
+        this.userRepository = userRepository;
+        this.qrRepository = qrRepository;
+        this.qrTokenCodec = qrTokenCodec;
+        this.qrImageService = qrImageService;
+        this.transactionTemplate = transactionTemplate;
+        this.redisTemplate = redisTemplate;
+        this.leaseRenewScript = leaseRenewScript;
+        this.leaseReleaseScript = leaseReleaseScript;
+        this.pageSize = pageSize;
+        this.leaseTtl = Duration.ofMillis(leaseMs);
+    }
+
+    /**
+     * 비정상 종료로 남은 체크포인트가 있으면 이어서 실행 (다른 인스턴스가 점유 중이면 건너뜀)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(CHECKPOINT_KEY))) {
+                if (start(false)) {
+                    log.info("QR 일괄 재발급 체크포인트 발견 - 이어서 실행");
+                } else {
+                    log.info("QR 일괄 재발급 체크포인트 발견 - 다른 인스턴스에서 실행 중");
+                }
+            }
+        } catch (Exception e) {
+            log.error("QR 일괄 재발급 재개 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Thread current = worker;
+        if (current != null) {
+            status = QrRegenerationStatus.STOPPING;
+            current.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * 작업 시작 (이 인스턴스나 다른 인스턴스에서 이미 실행 중이면 false)
+     * @param restart true 면 체크포인트를 무시하고 처음부터 실행
+     */
+    public synchronized boolean start(boolean restart) {
+        if (worker != null) {
+            return false;
+        }
+
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LEASE_KEY, token, leaseTtl))) {
+            return false;
+        }
+        leaseToken = token;
+
+        try {
+            prepare(restart);
+        } catch (RuntimeException e) {
+            releaseLease();
+            throw e;
+        }
+
+        log.info("QR 일괄 재발급 시작 - 키 ID : {}, 시작 커서 : {}, 대상 : {}명", keyId, cursor, total);
+
+        worker = new Thread(this::run, "qr-regeneration");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    private void prepare(boolean restart) {
+        keyId = qrTokenCodec.activeKeyId();
+        cursor = restart ? 0 : loadCheckpoint(keyId);
+        total = userRepository.countByIdGreaterThan(cursor);
+        processed = 0;
+        updated = 0;
+        error = null;
+        startedAt = LocalDateTime.now();
+        startedAtNanos = System.nanoTime();
+        status = QrRegenerationStatus.RUNNING;
+        saveCheckpoint();
+    }
+
+    /**
+     * 작업 중지 요청 (현재 페이지 처리 후 중지, 체크포인트 유지)
+     */
+    public synchronized boolean stop() {
+        if (worker == null) {
+            return false;
+        }
+        status = QrRegenerationStatus.STOPPING;
+        return true;
+    }
+
+    /**
+     * 진행 상황 조회
+     */
+    public QrRegenerationResDTO getProgress() {
+        double elapsedSeconds = startedAt == null ? 0
+                : (System.nanoTime() - startedAtNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        double throughput = elapsedSeconds > 0 ? processed / elapsedSeconds : 0;
+        Long eta = status == QrRegenerationStatus.RUNNING && throughput > 0
+                ? (long) Math.ceil(Math.max(total - processed, 0) / throughput)
+                : null;
+
+        return QrRegenerationResDTO.builder()
+                .status(status)
+                .key_id(keyId)
+                .total(total)
+                .processed(processed)
+                .updated(updated)
+                .cursor(cursor)
+                .started_at(startedAt)
+                .throughput_per_sec(Math.round(throughput * 10) / 10.0)
+                .eta_seconds(eta)
+                .error(error)
+                .build();
+    }
+
+    private void run() {
+        try {
+            while (status == QrRegenerationStatus.RUNNING) {
+                if (!renewLease()) {
+                    throw new IllegalStateException("QR 일괄 재발급 점유가 만료되었습니다.");
+                }
+
+                List<Long> userIds = userRepository.findIdsByIdGreaterThan(cursor, PageRequest.of(0, pageSize));
+                if (userIds.isEmpty()) {
+                    redisTemplate.delete(CHECKPOINT_KEY);
+                    status = QrRegenerationStatus.COMPLETED;
+                    break;
+                }
+
+                List<Long> changed = regeneratePage(userIds);
+                qrImageService.evictAll(changed);
+
+                processed += userIds.size();
+                updated += changed.size();
+                cursor = userIds.getLast();
+                saveCheckpoint();
+            }
+
+            if (status == QrRegenerationStatus.STOPPING) {
+                status = QrRegenerationStatus.STOPPED;
+            }
+            log.info("QR 일괄 재발급 종료 - 상태 : {}, 처리 : {}명, 변경 : {}명", status, processed, updated);
+        } catch (Exception e) {
+            error = e.getMessage();
+            status = QrRegenerationStatus.FAILED;
+            log.error("QR 일괄 재발급 실패 - 커서 : {}", cursor, e);
+        } finally {
+            releaseLease();
+            synchronized (this) {
+                worker = null;
+            }
+        }
+    }
+
+    /**
+     * 한 페이지 재발급 (트랜잭션 1회, 변경된 행만 배치 저장)
+     * 토큰이 이미 활성 키로 발급된 사용자는 건너뛰므로 같은 페이지를 다시 처리해도 안전하다.
+     */
+    private List<Long> regeneratePage(List<Long> userIds) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, List<Qr>> qrsByUser = new HashMap<>();
+            for (Qr qr : qrRepository.findAllByUserIdIn(userIds)) {
+                qrsByUser.computeIfAbsent(qr.getUser().getId(), id -> new ArrayList<>()).add(qr);
+            }
+
+            List<Qr> dirty = new ArrayList<>();
+            List<Long> changed = new ArrayList<>();
+            for (Long user_id : userIds) {
+                String token = qrTokenCodec.encode(user_id, keyId);
+                List<Qr> qrs = qrsByUser.get(user_id);
+
+                if (qrs == null) {
+                    dirty.add(Qr.builder()
+                            .user(userRepository.getReferenceById(user_id))
+                            .qrCode(token)
+                            .build());
+                    changed.add(user_id);
+                    continue;
+                }
+
+                boolean userChanged = false;
+                for (Qr qr : qrs) {
+                    if (!token.equals(qr.getQrCode())) {
+                        qr.updateQrCode(token);
+                        dirty.add(qr);
+                        userChanged = true;
+                    }
+                }
+                if (userChanged) {
+                    changed.add(user_id);
+                }
+            }
+
+            qrRepository.saveAll(dirty);
+            qrRepository.flush();
+            return changed;
+        });
+    }
+
+    private long loadCheckpoint(int activeKeyId) {
+        Map<Object, Object> checkpoint = redisTemplate.opsForHash().entries(CHECKPOINT_KEY);
+        if (checkpoint.isEmpty()) {
+            return 0;
+        }
+
+        // 다른 키로 진행하던 체크포인트면 처음부터
+        if (!String.valueOf(activeKeyId).equals(checkpoint.get(CHECKPOINT_KEY_ID))) {
+            log.info("QR 일괄 재발급 체크포인트 키 불일치 - 처음부터 실행");
+            return 0;
+        }
+        return Long.parseLong((String) checkpoint.get(CHECKPOINT_CURSOR));
+    }
+
+    private boolean renewLease() {
+        Long renewed = redisTemplate.execute(leaseRenewScript, List.of(LEASE_KEY),
+                leaseToken, String.valueOf(leaseTtl.toMillis()));
+        return renewed != null && renewed == 1;
+    }
+
+    private void releaseLease() {
+        try {
+            redisTemplate.execute(leaseReleaseScript, List.of(LEASE_KEY), leaseToken);
+        } catch (Exception e) {
+            // 점유 키는 TTL 만료로 풀림
+            log.warn("QR 일괄 재발급 점유 해제 실패", e);
+        }
+    }
+
+    private void saveCheckpoint() {
+        redisTemplate.opsForHash().putAll(CHECKPOINT_KEY, Map.of(
+                CHECKPOINT_KEY_ID, String.valueOf(keyId),
+                CHECKPOINT_CURSOR, String.valueOf(cursor)));
+        redisTemplate.expire(CHECKPOINT_KEY, Duration.ofDays(7));
+    }
+}
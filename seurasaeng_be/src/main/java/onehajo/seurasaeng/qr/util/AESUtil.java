@@ -6,31 +6,48 @@ import org.springframework.stereotype.Component;
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.util.Base64;
 
+/**
+ * 기존 AES QR 토큰 암복호화 (압축 토큰 도입 전 발급된 QR 검증용)
+ */
 @Component
 public class AESUtil {
     @Value("${qr.encryption.key}")
     private String secretKey;
 
-    public String encrypt(String plainText) throws Exception {
-        Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-        SecretKeySpec keySpec = new SecretKeySpec(secretKey.getBytes(), "AES");
-        cipher.init(Cipher.ENCRYPT_MODE, keySpec);
+    // Cipher 는 스레드 안전하지 않으므로 스레드별로 초기화된 인스턴스를 재사용
+    private final ThreadLocal<Cipher> encryptCipher = ThreadLocal.withInitial(() -> createCipher(Cipher.ENCRYPT_MODE));
+    private final ThreadLocal<Cipher> decryptCipher = ThreadLocal.withInitial(() -> createCipher(Cipher.DECRYPT_MODE));
 
-        byte[] encrypted = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+    public String encrypt(String plainText) throws Exception {
+        byte[] encrypted = encryptCipher.get().doFinal(plainText.getBytes(StandardCharsets.UTF_8));
 
         return Base64.getUrlEncoder().encodeToString(encrypted);
     }
 
     public String decrypt(String encryptedText) throws Exception {
-        Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-        SecretKeySpec keySpec = new SecretKeySpec(secretKey.getBytes(), "AES");
-        cipher.init(Cipher.DECRYPT_MODE, keySpec);
-
         byte[] decoded = Base64.getUrlDecoder().decode(encryptedText);
-        byte[] decrypted = cipher.doFinal(decoded);
+        byte[] decrypted;
+        try {
+            decrypted = decryptCipher.get().doFinal(decoded);
+        } catch (GeneralSecurityException e) {
+            // 복호화 실패 시 Cipher 상태를 신뢰할 수 없으므로 다음 호출에서 새로 생성
+            decryptCipher.remove();
+            throw e;
+        }
 
         return new String(decrypted, StandardCharsets.UTF_8);
     }
+
+    private Cipher createCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
+            cipher.init(mode, new SecretKeySpec(secretKey.getBytes(), "AES"));
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES 초기화 실패", e);
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package onehajo.seurasaeng.qr.util;
+
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 탑승 이벤트 스트림 레코드 형식
+ * boarding:events 에 승인된 탑승 하나당 레코드 하나 (u = user_id, s = shuttle_id, t = boarding_time, d = 회차 출발 시각(분))
+ * d 는 이전 형식 레코드에 없을 수 있다.
+ * 별도 스트림에서 다시 넣은 레코드는 g = 처리할 그룹 (해당 그룹만 처리하고 나머지 그룹은 건너뜀)
+ */
+public final class BoardingStreamCodec {
+    public static final String STREAM_KEY = "boarding:events";
+    // 재시도 한도를 넘긴 레코드 보관용
+    public static final String DEAD_LETTER_KEY = "boarding:events:dead";
+    // 그룹별 처리 실패 횟수 (record id -> 횟수, 일시적인 장애로 인한 실패는 세지 않음)
+    public static final String FAILURES_KEY_PREFIX = "boarding:events:failures:";
+
+    // 별도 스트림 레코드에 덧붙이는 필드
+    public static final String DEAD_LETTER_GROUP = "group";
+    public static final String DEAD_LETTER_ID = "id";
+    public static final String DEAD_LETTER_REASON = "reason";
+
+    public static final String TARGET_GROUP = "g";
+
+    private static final String USER_ID = "u";
+    private static final String SHUTTLE_ID = "s";
+    private static final String BOARDING_TIME = "t";
+    private static final String DEPARTURE_MINUTE = "d";
+
+    private BoardingStreamCodec() {
+    }
+
+    public static Map<String, String> encode(BoardingEventDTO event) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(USER_ID, String.valueOf(event.getUser_id()));
+        fields.put(SHUTTLE_ID, String.valueOf(event.getShuttle_id()));
+        fields.put(BOARDING_TIME, event.getBoarding_time().toString());
+        if (event.getDeparture_minute() != null) {
+            fields.put(DEPARTURE_MINUTE, String.valueOf(event.getDeparture_minute()));
+        }
+        return fields;
+    }
+
+    /**
+     * 레코드 -> 탑승 이벤트 (형식이 맞지 않으면 IllegalArgumentException)
+     */
+    public static BoardingEventDTO decode(Map<?, ?> fields) {
+        Object userId = fields.get(USER_ID);
+        Object shuttleId = fields.get(SHUTTLE_ID);
+        Object boardingTime = fields.get(BOARDING_TIME);
+        Object departureMinute = fields.get(DEPARTURE_MINUTE);
+        if (userId == null || shuttleId == null || boardingTime == null) {
+            throw new IllegalArgumentException("탑승 이벤트 형식이 올바르지 않습니다: " + fields);
+        }
+
+        try {
+            return BoardingEventDTO.builder()
+                    .user_id(Long.parseLong(userId.toString()))
+                    .shuttle_id(Long.parseLong(shuttleId.toString()))
+                    .boarding_time(LocalDateTime.parse(boardingTime.toString()))
+                    .departure_minute(departureMinute == null ? null : Integer.valueOf(departureMinute.toString()))
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("탑승 이벤트 형식이 올바르지 않습니다: " + fields, e);
+        }
+    }
+}
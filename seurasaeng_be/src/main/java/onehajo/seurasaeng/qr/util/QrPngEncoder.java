@@ -0,0 +1,163 @@
+package onehajo.seurasaeng.qr.util;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * BitMatrix -> 1비트 흑백 PNG / SVG 인코더
+ * AWT 이미지나 ImageIO 를 거치지 않고 BitMatrix 행을 바로 PNG 스캔라인으로 압축한다.
+ */
+public final class QrPngEncoder {
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int BUFFER_SIZE = 8192;
+
+    // Deflater 와 작업 버퍼는 스레드별로 재사용
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private QrPngEncoder() {
+    }
+
+    /**
+     * PNG 인코딩 (모듈 1개 = scale x scale 픽셀, 어두운 모듈이 검정)
+     */
+    public static byte[] encodePng(BitMatrix matrix, int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("scale 은 1 이상이어야 합니다 : " + scale);
+        }
+
+        int width = matrix.getWidth() * scale;
+        int height = matrix.getHeight() * scale;
+        int rowBytes = (width + 7) / 8;
+
+        Workspace workspace = WORKSPACE.get();
+        byte[] scanline = workspace.scanline(rowBytes + 1);
+        Deflater deflater = workspace.deflater;
+        deflater.reset();
+
+        ByteArrayOutputStream idat = workspace.idat;
+        idat.reset();
+
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            // 필터 없음(0) + 1비트 픽셀 (1 = 흰색)
+            scanline[0] = 0;
+            Arrays.fill(scanline, 1, rowBytes + 1, (byte) 0);
+            for (int x = 0; x < width; x++) {
+                if (!matrix.get(x / scale, y)) {
+                    scanline[1 + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                }
+            }
+            // 세로 배율만큼 같은 스캔라인 반복
+            for (int repeat = 0; repeat < scale; repeat++) {
+                deflate(deflater, scanline, rowBytes + 1, workspace.buffer, idat);
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            int length = deflater.deflate(workspace.buffer);
+            idat.write(workspace.buffer, 0, length);
+        }
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream(idat.size() + 64);
+        png.writeBytes(PNG_SIGNATURE);
+
+        byte[] header = new byte[13];
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8] = 1;  // bit depth
+        header[9] = 0;  // grayscale
+        header[10] = 0; // deflate
+        header[11] = 0; // adaptive filtering
+        header[12] = 0; // no interlace
+        writeChunk(png, "IHDR", header, header.length, workspace.crc);
+        writeChunk(png, "IDAT", idat.toByteArray(), idat.size(), workspace.crc);
+        writeChunk(png, "IEND", new byte[0], 0, workspace.crc);
+
+        return png.toByteArray();
+    }
+
+    /**
+     * SVG 인코딩 (가로로 이어진 어두운 모듈을 하나의 사각형 경로로 합침)
+     */
+    public static String encodeSvg(BitMatrix matrix, int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("scale 은 1 이상이어야 합니다 : " + scale);
+        }
+
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        StringBuilder path = new StringBuilder(width * height / 2);
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                path.append('M').append(start).append(',').append(y)
+                        .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+
+        return "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width * scale + "\" height=\"" + height * scale
+                + "\" viewBox=\"0 0 " + width + " " + height + "\" shape-rendering=\"crispEdges\">"
+                + "<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>"
+                + "<path fill=\"#000\" d=\"" + path + "\"/></svg>";
+    }
+
+    private static void deflate(Deflater deflater, byte[] input, int length, byte[] buffer, ByteArrayOutputStream out) {
+        deflater.setInput(input, 0, length);
+        while (!deflater.needsInput()) {
+            int written = deflater.deflate(buffer);
+            out.write(buffer, 0, written);
+        }
+    }
+
+    private static void writeChunk(ByteArrayOutputStream out, String type, byte[] data, int length, CRC32 crc) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        byte[] lengthBytes = new byte[4];
+        writeInt(lengthBytes, 0, length);
+
+        crc.reset();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        byte[] crcBytes = new byte[4];
+        writeInt(crcBytes, 0, (int) crc.getValue());
+
+        out.writeBytes(lengthBytes);
+        out.writeBytes(typeBytes);
+        out.write(data, 0, length);
+        out.writeBytes(crcBytes);
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    private static final class Workspace {
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private final CRC32 crc = new CRC32();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final ByteArrayOutputStream idat = new ByteArrayOutputStream(BUFFER_SIZE);
+        private byte[] scanline = new byte[0];
+
+        private byte[] scanline(int length) {
+            if (scanline.length < length) {
+                scanline = new byte[length];
+            }
+            return scanline;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package onehajo.seurasaeng.qr.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 압축 QR 토큰 (HMAC 서명)
+ * [버전 1B][사용자 ID varint][키 ID 1B][HMAC-SHA256 앞 10B] 를 Base64url(패딩 없음)로 인코딩한다.
+ * 키 ID로 서명 키를 교체할 수 있고, 이전 키로 서명된 토큰도 키가 남아 있는 동안은 검증된다.
+ */
+@Component
+public class QrTokenCodec {
+    public static final byte TOKEN_VERSION = 1;
+    private static final int MAC_BYTES = 10;
+    private static final int MAX_VARINT_BYTES = 10;
+    private static final int MAX_TOKEN_BYTES = 1 + MAX_VARINT_BYTES + 1 + MAC_BYTES;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Map<Integer, SecretKeySpec> keys;
+    private final int activeKeyId;
+
+    // Mac 은 스레드 안전하지 않으므로 스레드별로 키 ID -> 초기화된 Mac 을 재사용
+    private final ThreadLocal<Map<Integer, Mac>> macs = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * @param keys        "키ID:비밀키" 를 쉼표로 구분한 목록 (예: 1:secret-a,2:secret-b)
+     * @param activeKeyId 새 토큰 서명에 사용할 키 ID
+     */
+    public QrTokenCodec(@Value("${qr.token.keys}") String keys,
+                        @Value("${qr.token.active-key-id}") int activeKeyId) {
+        Map<Integer, SecretKeySpec> parsed = new HashMap<>();
+        for (String entry : keys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("QR 토큰 키 형식이 올바르지 않습니다. (키ID:비밀키)");
+            }
+            int keyId = Integer.parseInt(entry.substring(0, separator).trim());
+            if (keyId < 0 || keyId > 0xFF) {
+                throw new IllegalArgumentException("QR 토큰 키 ID는 0~255 사이여야 합니다 : " + keyId);
+            }
+            parsed.put(keyId, new SecretKeySpec(
+                    entry.substring(separator + 1).trim().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+        }
+        if (!parsed.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("활성 QR 토큰 키가 없습니다 : " + activeKeyId);
+        }
+
+        this.keys = Collections.unmodifiableMap(parsed);
+        this.activeKeyId = activeKeyId;
+    }
+
+    /**
+     * 활성 키로 토큰 생성
+     */
+    public String encode(long user_id) {
+        return encode(user_id, activeKeyId);
+    }
+
+    public String encode(long user_id, int keyId) {
+        byte[] buffer = new byte[MAX_TOKEN_BYTES];
+        int length = 0;
+
+        buffer[length++] = TOKEN_VERSION;
+        long value = user_id;
+        while ((value & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+        buffer[length++] = (byte) keyId;
+
+        Mac mac = mac(keyId);
+        mac.update(buffer, 0, length);
+        System.arraycopy(mac.doFinal(), 0, buffer, length, MAC_BYTES);
+        length += MAC_BYTES;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(buffer, length));
+    }
+
+    /**
+     * 압축 토큰 형식 여부 (기존 AES 토큰과 구분)
+     */
+    public boolean supports(String token) {
+        // Base64url 4글자 = 3바이트, 최대 길이 토큰도 32글자 이하
+        if (token == null || token.length() < 4 || token.length() > (MAX_TOKEN_BYTES * 4 + 2) / 3) {
+            return false;
+        }
+        try {
+            return Base64.getUrlDecoder().decode(token.substring(0, 4))[0] == TOKEN_VERSION;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 토큰 검증 후 사용자 ID 반환
+     * @throws IllegalArgumentException 형식 오류, 알 수 없는 키, 서명 불일치
+     */
+    public long verify(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("QR 토큰 형식이 올바르지 않습니다.");
+        }
+        if (bytes.length < 1 + 1 + 1 + MAC_BYTES || bytes[0] != TOKEN_VERSION) {
+            throw new IllegalArgumentException("QR 토큰 형식이 올바르지 않습니다.");
+        }
+
+        long user_id = 0;
+        int position = 1;
+        for (int shift = 0; ; shift += 7) {
+            if (shift >= 64 || position >= bytes.length) {
+                throw new IllegalArgumentException("QR 토큰 형식이 올바르지 않습니다.");
+            }
+            byte b = bytes[position++];
+            user_id |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+
+        if (bytes.length != position + 1 + MAC_BYTES) {
+            throw new IllegalArgumentException("QR 토큰 형식이 올바르지 않습니다.");
+        }
+        int keyId = bytes[position++] & 0xFF;
+        if (!keys.containsKey(keyId)) {
+            throw new IllegalArgumentException("알 수 없는 QR 토큰 키입니다 : " + keyId);
+        }
+
+        Mac mac = mac(keyId);
+        mac.update(bytes, 0, position);
+        byte[] expected = Arrays.copyOf(mac.doFinal(), MAC_BYTES);
+        byte[] actual = Arrays.copyOfRange(bytes, position, bytes.length);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new IllegalArgumentException("QR 토큰 서명이 올바르지 않습니다.");
+        }
+
+        return user_id;
+    }
+
+    /**
+     * 새 토큰 서명에 사용하는 키 ID
+     */
+    public int activeKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * 검증 가능한 키 ID 목록
+     */
+    public Set<Integer> keyIds() {
+        return keys.keySet();
+    }
+
+    private Mac mac(int keyId) {
+        return macs.get().computeIfAbsent(keyId, id -> {
+            SecretKeySpec key = keys.get(id);
+            if (key == null) {
+                throw new IllegalArgumentException("알 수 없는 QR 토큰 키입니다 : " + id);
+            }
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC 초기화 실패", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package onehajo.seurasaeng.ridership.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.ridership.service.RidershipAggregationService;
+import onehajo.seurasaeng.ridership.service.UniqueRiderService;
+import onehajo.seurasaeng.util.JwtUtil;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ridership")
+public class RidershipController {
+    private final RidershipAggregationService ridershipAggregationService;
+    private final UniqueRiderService uniqueRiderService;
+    private final JwtUtil jwtUtil;
+
+    // 시간대별 탑승 집계 조회 - 관리자
+    @GetMapping("/hourly")
+    public ResponseEntity<?> getHourlyRidership(@RequestHeader("Authorization") String authHeader,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(required = false) Long shuttle_id,
+                                                @RequestParam(required = false) Boolean is_commute) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        return ResponseEntity.ok(ridershipAggregationService.getHourly(from, to, shuttle_id, is_commute));
+    }
+
+    // 일별 탑승 집계 조회 - 관리자
+    @GetMapping("/daily")
+    public ResponseEntity<?> getDailyRidership(@RequestHeader("Authorization") String authHeader,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                               @RequestParam(required = false) Long shuttle_id,
+                                               @RequestParam(required = false) Boolean is_commute) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        return ResponseEntity.ok(ridershipAggregationService.getDaily(from, to, shuttle_id, is_commute));
+    }
+
+    // 탑승 집계 재계산 - 관리자 (기간 내 집계를 원본 탑승 내역으로 다시 계산)
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuildRidership(@RequestHeader("Authorization") String authHeader,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        long boardings = ridershipAggregationService.rebuild(from, to);
+
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "boardings", boardings));
+    }
+
+    // 중복 제외 탑승자 수 추정 - 관리자 (기간 · 셔틀 합집합, shuttle_ids 생략 시 전체 셔틀)
+    @GetMapping("/unique-riders")
+    public ResponseEntity<?> getUniqueRiders(@RequestHeader("Authorization") String authHeader,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                             @RequestParam(required = false) List<Long> shuttle_ids) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        return ResponseEntity.ok(uniqueRiderService.estimate(from, to, shuttle_ids));
+    }
+
+    // 중복 제외 탑승자 재계산 - 관리자 (기간 내 원본 탑승 내역을 HyperLogLog 에 다시 반영)
+    @PostMapping("/unique-riders/rebuild")
+    public ResponseEntity<?> rebuildUniqueRiders(@RequestHeader("Authorization") String authHeader,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        long boardings = uniqueRiderService.rebuild(from, to);
+
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "boardings", boardings));
+    }
+}
@@ -0,0 +1,22 @@
+package onehajo.seurasaeng.ridership.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 일별 탑승 집계 (departure_time 이 null 이면 시간표 외 탑승)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class RidershipDailyResDTO {
+    private Long shuttle_id;
+    private Boolean is_commute;
+    private LocalTime departure_time;
+    private LocalDate service_date;
+    private Long boardings;
+}
@@ -0,0 +1,30 @@
+package onehajo.seurasaeng.ridership.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 기간 내 중복 제외 탑승자 수 추정치 (HyperLogLog, 오차 약 0.81%)
+ * unique_riders 는 선택한 셔틀 · 일자 전체의 합집합, shuttles 는 셔틀별 기간 합집합
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class UniqueRiderResDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private Long unique_riders;
+    private List<ShuttleUniqueRiders> shuttles;
+
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class ShuttleUniqueRiders {
+        private Long shuttle_id;
+        private Long unique_riders;
+    }
+}
@@ -0,0 +1,100 @@
+package onehajo.seurasaeng.ridership.repository;
+
+import lombok.RequiredArgsConstructor;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 집계에 반영한 탑승 (user_id · shuttle_id · 운행일 단위, 집계 단계 재전달 중복 방지)
+ */
+@Repository
+@RequiredArgsConstructor
+public class RidershipAppliedRepository {
+    // 배열 4개를 unnest 해 한 문장으로 기록하고, 처음 반영되는 탑승만 돌려받는다
+    private static final String INSERT_IGNORING_APPLIED =
+            "INSERT INTO seurasaeng_prod.ridership_applied " +
+            "(user_id, shuttle_id, service_date, boarding_time, departure_minute) " +
+            "SELECT e.user_id, e.shuttle_id, CAST(e.boarding_time AS DATE), e.boarding_time, e.departure_minute " +
+            "FROM unnest(?, ?, ?, ?) AS e(user_id, shuttle_id, boarding_time, departure_minute) " +
+            "ON CONFLICT (user_id, shuttle_id, service_date) DO NOTHING " +
+            "RETURNING user_id, shuttle_id, boarding_time, departure_minute";
+
+    private static final String INSERT_FROM_BOARDINGS =
+            "INSERT INTO seurasaeng_prod.ridership_applied " +
+            "(user_id, shuttle_id, service_date, boarding_time, departure_minute) " +
+            "SELECT b.user_id, b.shuttle_id, b.service_date, b.boarding_time, b.departure_minute " +
+            "FROM seurasaeng_prod.boarding b " +
+            "WHERE b.service_date = ? " +
+            "ON CONFLICT (user_id, shuttle_id, service_date) DO NOTHING";
+
+    private static final String SELECT_BY_SERVICE_DATE =
+            "SELECT user_id, shuttle_id, boarding_time, departure_minute " +
+            "FROM seurasaeng_prod.ridership_applied WHERE service_date = ?";
+
+    private static final String DELETE_BEFORE =
+            "DELETE FROM seurasaeng_prod.ridership_applied WHERE service_date < ?";
+
+    private static final RowMapper<BoardingEventDTO> EVENT_MAPPER = (rs, rowNum) -> BoardingEventDTO.builder()
+            .user_id(rs.getLong(1))
+            .shuttle_id(rs.getLong(2))
+            .boarding_time(rs.getTimestamp(3).toLocalDateTime())
+            .departure_minute(rs.getObject(4, Integer.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 반영 내역 기록 (이미 반영된 탑승은 건너뜀)
+     * @return 처음 반영되는 탑승
+     */
+    public List<BoardingEventDTO> insertIgnoringApplied(List<BoardingEventDTO> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        Long[] userIds = new Long[events.size()];
+        Long[] shuttleIds = new Long[events.size()];
+        Timestamp[] boardingTimes = new Timestamp[events.size()];
+        Integer[] departureMinutes = new Integer[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            BoardingEventDTO event = events.get(i);
+            userIds[i] = event.getUser_id();
+            shuttleIds[i] = event.getShuttle_id();
+            boardingTimes[i] = Timestamp.valueOf(event.getBoarding_time());
+            departureMinutes[i] = event.getDeparture_minute();
+        }
+
+        return jdbcTemplate.query((Connection connection) -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_IGNORING_APPLIED);
+            statement.setArray(1, connection.createArrayOf("bigint", userIds));
+            statement.setArray(2, connection.createArrayOf("bigint", shuttleIds));
+            statement.setArray(3, connection.createArrayOf("timestamp", boardingTimes));
+            statement.setArray(4, connection.createArrayOf("integer", departureMinutes));
+            return statement;
+        }, EVENT_MAPPER);
+    }
+
+    /**
+     * 저장된 탑승 내역을 반영 내역에 추가 (집계 재계산용)
+     */
+    public int insertFromBoardings(LocalDate service_date) {
+        return jdbcTemplate.update(INSERT_FROM_BOARDINGS, Date.valueOf(service_date));
+    }
+
+    public List<BoardingEventDTO> findByServiceDate(LocalDate service_date) {
+        return jdbcTemplate.query(SELECT_BY_SERVICE_DATE, EVENT_MAPPER, Date.valueOf(service_date));
+    }
+
+    public int deleteBefore(LocalDate service_date) {
+        return jdbcTemplate.update(DELETE_BEFORE, Date.valueOf(service_date));
+    }
+}
@@ -0,0 +1,47 @@
+package onehajo.seurasaeng.ridership.repository;
+
+import onehajo.seurasaeng.entity.RidershipDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RidershipDailyRepository extends JpaRepository<RidershipDaily, Long> {
+    // 집계 행 누적 (없으면 생성)
+    @Modifying
+    @Query(value = "INSERT INTO seurasaeng_prod.ridership_daily " +
+            "(shuttle_id, is_commute, departure_minute, service_date, boardings) " +
+            "VALUES (:shuttle_id, :is_commute, :departure_minute, :service_date, :boardings) " +
+            "ON CONFLICT (shuttle_id, departure_minute, service_date) " +
+            "DO UPDATE SET boardings = ridership_daily.boardings + EXCLUDED.boardings, " +
+            "is_commute = EXCLUDED.is_commute", nativeQuery = true)
+    int upsert(@Param("shuttle_id") Long shuttle_id,
+               @Param("is_commute") boolean is_commute,
+               @Param("departure_minute") int departure_minute,
+               @Param("service_date") LocalDate service_date,
+               @Param("boardings") long boardings);
+
+    @Modifying
+    @Query("DELETE FROM RidershipDaily r WHERE r.serviceDate = :service_date")
+    int deleteByServiceDate(@Param("service_date") LocalDate service_date);
+
+    @Query("SELECT r FROM RidershipDaily r " +
+            "WHERE r.serviceDate BETWEEN :from AND :to " +
+            "AND (:shuttle_id IS NULL OR r.shuttleId = :shuttle_id) " +
+            "AND (:is_commute IS NULL OR r.isCommute = :is_commute) " +
+            "ORDER BY r.serviceDate, r.shuttleId, r.departureMinute")
+    List<RidershipDaily> search(@Param("from") LocalDate from,
+                                @Param("to") LocalDate to,
+                                @Param("shuttle_id") Long shuttle_id,
+                                @Param("is_commute") Boolean is_commute);
+
+    // 집계 누적과 재계산이 서로 겹치지 않도록 트랜잭션 단위 잠금 (누적은 공유, 재계산은 배타)
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(:lock_key)", nativeQuery = true)
+    Integer lockShared(@Param("lock_key") long lock_key);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:lock_key)", nativeQuery = true)
+    Integer lockExclusive(@Param("lock_key") long lock_key);
+}
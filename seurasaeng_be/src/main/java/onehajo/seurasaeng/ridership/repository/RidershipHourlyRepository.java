@@ -0,0 +1,40 @@
+package onehajo.seurasaeng.ridership.repository;
+
+import onehajo.seurasaeng.entity.RidershipHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RidershipHourlyRepository extends JpaRepository<RidershipHourly, Long> {
+    // 집계 행 누적 (없으면 생성)
+    @Modifying
+    @Query(value = "INSERT INTO seurasaeng_prod.ridership_hourly " +
+            "(shuttle_id, is_commute, departure_minute, hour_start, boardings) " +
+            "VALUES (:shuttle_id, :is_commute, :departure_minute, :hour_start, :boardings) " +
+            "ON CONFLICT (shuttle_id, departure_minute, hour_start) " +
+            "DO UPDATE SET boardings = ridership_hourly.boardings + EXCLUDED.boardings, " +
+            "is_commute = EXCLUDED.is_commute", nativeQuery = true)
+    int upsert(@Param("shuttle_id") Long shuttle_id,
+               @Param("is_commute") boolean is_commute,
+               @Param("departure_minute") int departure_minute,
+               @Param("hour_start") LocalDateTime hour_start,
+               @Param("boardings") long boardings);
+
+    @Modifying
+    @Query("DELETE FROM RidershipHourly r WHERE r.hourStart >= :from AND r.hourStart < :to")
+    int deleteByHourStartRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT r FROM RidershipHourly r " +
+            "WHERE r.hourStart >= :from AND r.hourStart < :to " +
+            "AND (:shuttle_id IS NULL OR r.shuttleId = :shuttle_id) " +
+            "AND (:is_commute IS NULL OR r.isCommute = :is_commute) " +
+            "ORDER BY r.hourStart, r.shuttleId, r.departureMinute")
+    List<RidershipHourly> search(@Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 @Param("shuttle_id") Long shuttle_id,
+                                 @Param("is_commute") Boolean is_commute);
+}
@@ -0,0 +1,260 @@
+package onehajo.seurasaeng.ridership.service;
+
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.entity.RidershipDaily;
+import onehajo.seurasaeng.entity.RidershipHourly;
+import onehajo.seurasaeng.entity.Shuttle;
+import onehajo.seurasaeng.entity.Timetable;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import onehajo.seurasaeng.qr.service.BoardingStreamHandler;
+import onehajo.seurasaeng.ridership.dto.RidershipDailyResDTO;
+import onehajo.seurasaeng.ridership.dto.RidershipHourlyResDTO;
+import onehajo.seurasaeng.ridership.repository.RidershipAppliedRepository;
+import onehajo.seurasaeng.ridership.repository.RidershipDailyRepository;
+import onehajo.seurasaeng.ridership.repository.RidershipHourlyRepository;
+import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
+import onehajo.seurasaeng.shuttle.repository.TimetableRepository;
+import onehajo.seurasaeng.shuttle.util.TimetableRuns;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 탑승 집계 (시간대별 / 일별, 셔틀 · 방향 · 회차 단위)
+ * 탑승 이벤트 스트림의 한 단계로 집계 행을 누적하고, 필요하면 운행일 단위로 재계산한다.
+ * 반영한 탑승을 같은 트랜잭션에서 ridership_applied 에 기록해 두므로 같은 이벤트가 다시 전달되어도 한 번만 집계된다.
+ */
+@Slf4j
+@Service
+public class RidershipAggregationService implements BoardingStreamHandler {
+    // 집계 누적 / 재계산 잠금 키
+    private static final long AGGREGATION_LOCK_KEY = 0x52494445L;
+
+    private static final int MAX_HOURLY_RANGE_DAYS = 31;
+    private static final int MAX_DAILY_RANGE_DAYS = 366;
+
+    private static final int[] NO_DEPARTURES = new int[0];
+
+    private final RidershipHourlyRepository ridershipHourlyRepository;
+    private final RidershipDailyRepository ridershipDailyRepository;
+    private final RidershipAppliedRepository ridershipAppliedRepository;
+    private final ShuttleRepository shuttleRepository;
+    private final TimetableRepository timetableRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int appliedRetentionDays;
+    private final int archiveRetentionMonths;
+
+    public RidershipAggregationService(RidershipHourlyRepository ridershipHourlyRepository,
+                                       RidershipDailyRepository ridershipDailyRepository,
+                                       RidershipAppliedRepository ridershipAppliedRepository,
+                                       ShuttleRepository shuttleRepository,
+                                       TimetableRepository timetableRepository,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${ridership.applied.retention-days:30}") int appliedRetentionDays,
+                                       @Value("${boarding.archive.retention-months:12}") int archiveRetentionMonths) {
+        this.ridershipHourlyRepository = ridershipHourlyRepository;
+        this.ridershipDailyRepository = ridershipDailyRepository;
+        this.ridershipAppliedRepository = ridershipAppliedRepository;
+        this.shuttleRepository = shuttleRepository;
+        this.timetableRepository = timetableRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.appliedRetentionDays = appliedRetentionDays;
+        this.archiveRetentionMonths = archiveRetentionMonths;
+    }
+
+    private record HourlyKey(Long shuttle_id, int departure_minute, LocalDateTime hour_start) {
+    }
+
+    private record DailyKey(Long shuttle_id, int departure_minute, LocalDate service_date) {
+    }
+
+    @Override
+    public String group() {
+        return "ridership";
+    }
+
+    @Override
+    public void handle(List<BoardingEventDTO> events) {
+        transactionTemplate.executeWithoutResult(status -> accumulate(events));
+    }
+
+    /**
+     * 탑승 이벤트 집계 누적 (이미 반영된 탑승은 제외)
+     * 트랜잭션 안에서 호출한다.
+     */
+    public void accumulate(List<BoardingEventDTO> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        ridershipDailyRepository.lockShared(AGGREGATION_LOCK_KEY);
+
+        List<BoardingEventDTO> applied = ridershipAppliedRepository.insertIgnoringApplied(events);
+        if (applied.size() < events.size()) {
+            log.info("이미 집계된 탑승 {}건 제외", events.size() - applied.size());
+        }
+        if (!applied.isEmpty()) {
+            upsert(applied);
+        }
+    }
+
+    /**
+     * 오래된 반영 내역 정리 (보관 기간이 지난 운행일의 이벤트는 다시 전달되지 않는다고 본다)
+     */
+    @Scheduled(cron = "${ridership.applied.purge-cron:0 30 3 * * *}")
+    public void purgeApplied() {
+        int deleted = ridershipAppliedRepository.deleteBefore(LocalDate.now().minusDays(appliedRetentionDays));
+        log.info("탑승 집계 반영 내역 정리 - {}건", deleted);
+    }
+
+    /**
+     * 운행일 단위 집계 재계산 (해당 일의 집계를 지우고 저장된 탑승 내역 + 반영 내역으로 다시 계산)
+     * 보관 기간이 지나 보관 파일로 옮겨진 달은 탑승 내역이 없어 집계만 지워지므로 재계산하지 않는다.
+     * @return 재계산에 사용한 탑승 건수
+     */
+    public long rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to, MAX_DAILY_RANGE_DAYS);
+        LocalDate archivedBefore = YearMonth.now().minusMonths(archiveRetentionMonths).atDay(1);
+        if (from.isBefore(archivedBefore)) {
+            throw new IllegalArgumentException(archivedBefore + " 이전 운행일은 탑승 내역이 보관 파일로 옮겨져 재계산할 수 없습니다.");
+        }
+
+        long total = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            LocalDate serviceDate = date;
+            Integer rebuilt = transactionTemplate.execute(status -> rebuildDay(serviceDate));
+            total += rebuilt == null ? 0 : rebuilt;
+        }
+
+        log.info("탑승 집계 재계산 완료 - {} ~ {}, 탑승 {}건", from, to, total);
+        return total;
+    }
+
+    private int rebuildDay(LocalDate serviceDate) {
+        ridershipDailyRepository.lockExclusive(AGGREGATION_LOCK_KEY);
+
+        LocalDateTime start = serviceDate.atStartOfDay();
+        LocalDateTime end = serviceDate.plusDays(1).atStartOfDay();
+        ridershipHourlyRepository.deleteByHourStartRange(start, end);
+        ridershipDailyRepository.deleteByServiceDate(serviceDate);
+
+        // 아직 저장되지 않은 탑승도 이미 집계에 반영되었으면 포함하고, 저장된 탑승은 반영 내역에 추가해 이후 재전달을 막는다
+        ridershipAppliedRepository.insertFromBoardings(serviceDate);
+        List<BoardingEventDTO> events = ridershipAppliedRepository.findByServiceDate(serviceDate);
+        if (!events.isEmpty()) {
+            upsert(events);
+        }
+        return events.size();
+    }
+
+    private void upsert(List<BoardingEventDTO> events) {
+        Set<Long> shuttleIds = events.stream()
+                .map(BoardingEventDTO::getShuttle_id)
+                .collect(Collectors.toSet());
+
+        Map<Long, Boolean> commuteByShuttle = new HashMap<>();
+        for (Shuttle shuttle : shuttleRepository.findAllById(shuttleIds)) {
+            commuteByShuttle.put(shuttle.getId(), Boolean.TRUE.equals(shuttle.getIsCommute()));
+        }
+        // 회차는 승인 시점에 정한 출발 시각으로 집계하고, 회차가 기록되지 않은 이전 탑승만 현재 시간표로 계산한다
+        Set<Long> unresolvedShuttleIds = events.stream()
+                .filter(event -> event.getDeparture_minute() == null)
+                .map(BoardingEventDTO::getShuttle_id)
+                .collect(Collectors.toSet());
+        Map<Long, int[]> departuresByShuttle = unresolvedShuttleIds.isEmpty()
+                ? Map.of()
+                : loadDepartures(unresolvedShuttleIds);
+
+        Map<HourlyKey, Long> hourly = new HashMap<>();
+        Map<DailyKey, Long> daily = new HashMap<>();
+        for (BoardingEventDTO event : events) {
+            Long shuttleId = event.getShuttle_id();
+            LocalDateTime boardingTime = event.getBoarding_time();
+            int departureMinute = event.getDeparture_minute() != null
+                    ? event.getDeparture_minute()
+                    : TimetableRuns.resolveDepartureMinute(
+                            departuresByShuttle.getOrDefault(shuttleId, NO_DEPARTURES), boardingTime.toLocalTime());
+
+            hourly.merge(new HourlyKey(shuttleId, departureMinute, boardingTime.truncatedTo(ChronoUnit.HOURS)), 1L, Long::sum);
+            daily.merge(new DailyKey(shuttleId, departureMinute, boardingTime.toLocalDate()), 1L, Long::sum);
+        }
+
+        hourly.forEach((key, count) -> ridershipHourlyRepository.upsert(key.shuttle_id(),
+                commuteByShuttle.getOrDefault(key.shuttle_id(), false), key.departure_minute(), key.hour_start(), count));
+        daily.forEach((key, count) -> ridershipDailyRepository.upsert(key.shuttle_id(),
+                commuteByShuttle.getOrDefault(key.shuttle_id(), false), key.departure_minute(), key.service_date(), count));
+    }
+
+    private Map<Long, int[]> loadDepartures(Set<Long> shuttleIds) {
+        return timetableRepository.findAllByShuttleIdIn(shuttleIds).stream()
+                .collect(Collectors.groupingBy(timetable -> timetable.getShuttle().getId(),
+                        Collectors.collectingAndThen(Collectors.toList(), timetables -> timetables.stream()
+                                .map(Timetable::getDepartureTime)
+                                .mapToInt(TimetableRuns::toMinute)
+                                .sorted()
+                                .toArray())));
+    }
+
+    /**
+     * 시간대별 집계 조회
+     */
+    public List<RidershipHourlyResDTO> getHourly(LocalDate from, LocalDate to, Long shuttle_id, Boolean is_commute) {
+        validateRange(from, to, MAX_HOURLY_RANGE_DAYS);
+
+        return ridershipHourlyRepository.search(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), shuttle_id, is_commute)
+                .stream()
+                .map(this::toHourlyDTO)
+                .toList();
+    }
+
+    /**
+     * 일별 집계 조회
+     */
+    public List<RidershipDailyResDTO> getDaily(LocalDate from, LocalDate to, Long shuttle_id, Boolean is_commute) {
+        validateRange(from, to, MAX_DAILY_RANGE_DAYS);
+
+        return ridershipDailyRepository.search(from, to, shuttle_id, is_commute)
+                .stream()
+                .map(this::toDailyDTO)
+                .toList();
+    }
+
+    private RidershipHourlyResDTO toHourlyDTO(RidershipHourly row) {
+        return RidershipHourlyResDTO.builder()
+                .shuttle_id(row.getShuttleId())
+                .is_commute(row.getIsCommute())
+                .departure_time(TimetableRuns.toTime(row.getDepartureMinute()))
+                .hour_start(row.getHourStart())
+                .boardings(row.getBoardings())
+                .build();
+    }
+
+    private RidershipDailyResDTO toDailyDTO(RidershipDaily row) {
+        return RidershipDailyResDTO.builder()
+                .shuttle_id(row.getShuttleId())
+                .is_commute(row.getIsCommute())
+                .departure_time(TimetableRuns.toTime(row.getDepartureMinute()))
+                .service_date(row.getServiceDate())
+                .boardings(row.getBoardings())
+                .build();
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to, int maxDays) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + maxDays + "일입니다.");
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package onehajo.seurasaeng.ridership.service;
+
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import onehajo.seurasaeng.qr.repository.BoardingRepository;
+import onehajo.seurasaeng.qr.service.BoardingStreamHandler;
+import onehajo.seurasaeng.ridership.dto.UniqueRiderResDTO;
+import onehajo.seurasaeng.shuttle.service.TimetableRunResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 중복 제외 탑승자 수 (셔틀 · 운행일별 HyperLogLog)
+ * 탑승 이벤트 스트림의 한 단계로 셔틀 · 운행일마다 HyperLogLog 에 사용자를 넣어 두고,
+ * 여러 날 / 여러 셔틀의 합집합은 PFCOUNT 로 키를 합쳐 원본 탑승 내역 없이 추정한다.
+ * PFADD 는 같은 사용자를 여러 번 넣어도 결과가 같으므로 재전달 / 재계산에 안전하다.
+ */
+@Slf4j
+@Service
+public class UniqueRiderService implements BoardingStreamHandler {
+    private static final String KEY_PREFIX = "ridership:riders:hll:";
+
+    private static final int MAX_RANGE_DAYS = 366;
+    // PFCOUNT 한 번에 합칠 키 수 (셔틀 수 × 일수), 키마다 레지스터 병합 비용이 들어 상한을 둔다
+    private static final int MAX_KEYS = 2000;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final BoardingRepository boardingRepository;
+    private final TimetableRunResolver timetableRunResolver;
+    private final Duration ttl;
+
+    public UniqueRiderService(RedisTemplate<String, String> redisTemplate,
+                              BoardingRepository boardingRepository,
+                              TimetableRunResolver timetableRunResolver,
+                              @Value("${ridership.unique-riders.ttl-days:400}") long ttlDays) {
+        this.redisTemplate = redisTemplate;
+        this.boardingRepository = boardingRepository;
+        this.timetableRunResolver = timetableRunResolver;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    @Override
+    public String group() {
+        return "unique-riders";
+    }
+
+    @Override
+    public void handle(List<BoardingEventDTO> events) {
+        record(events);
+    }
+
+    /**
+     * 탑승 이벤트를 셔틀 · 운행일별 HyperLogLog 에 반영 (파이프라인 한 번)
+     */
+    public void record(List<BoardingEventDTO> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<String>> usersByKey = new LinkedHashMap<>();
+        for (BoardingEventDTO event : events) {
+            usersByKey.computeIfAbsent(keyOf(event.getShuttle_id(), event.getBoarding_time().toLocalDate()),
+                    key -> new ArrayList<>()).add(String.valueOf(event.getUser_id()));
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                usersByKey.forEach((key, users) -> {
+                    operations.opsForHyperLogLog().add(key, users.toArray());
+                    operations.expire(key, ttl);
+                });
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 원본 탑승 내역으로 기간 내 HyperLogLog 다시 채우기 (도입 이전 탑승 반영용)
+     * @return 반영한 탑승 건수
+     */
+    public long rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        long total = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<BoardingEventDTO> events = boardingRepository.findEventsBetween(
+                    date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+            record(events);
+            total += events.size();
+        }
+
+        log.info("중복 제외 탑승자 재계산 완료 - {} ~ {}, 탑승 {}건", from, to, total);
+        return total;
+    }
+
+    /**
+     * 기간 · 셔틀 합집합의 중복 제외 탑승자 수 추정 (shuttle_ids 가 비어 있으면 시간표가 있는 셔틀 전체)
+     */
+    public UniqueRiderResDTO estimate(LocalDate from, LocalDate to, Collection<Long> shuttle_ids) {
+        validateRange(from, to);
+
+        List<Long> targets = shuttle_ids == null || shuttle_ids.isEmpty()
+                ? timetableRunResolver.getShuttleIds().stream().sorted().toList()
+                : shuttle_ids.stream().distinct().toList();
+
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (targets.size() * days > MAX_KEYS) {
+            throw new IllegalArgumentException("조회 범위가 너무 큽니다. (셔틀 수 × 일수 최대 " + MAX_KEYS + ")");
+        }
+
+        List<String> allKeys = new ArrayList<>();
+        List<UniqueRiderResDTO.ShuttleUniqueRiders> shuttles = new ArrayList<>();
+        for (Long shuttle_id : targets) {
+            List<String> keys = new ArrayList<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                keys.add(keyOf(shuttle_id, date));
+            }
+            allKeys.addAll(keys);
+            shuttles.add(UniqueRiderResDTO.ShuttleUniqueRiders.builder()
+                    .shuttle_id(shuttle_id)
+                    .unique_riders(count(keys))
+                    .build());
+        }
+
+        return UniqueRiderResDTO.builder()
+                .from(from)
+                .to(to)
+                .unique_riders(count(allKeys))
+                .shuttles(shuttles)
+                .build();
+    }
+
+    // 여러 키의 PFCOUNT 는 임시 합집합으로 계산하므로 저장된 HyperLogLog 를 바꾸지 않는다
+    private long count(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        Long size = redisTemplate.opsForHyperLogLog().size(keys.toArray(new String[0]));
+        return size == null ? 0L : size;
+    }
+
+    public static String keyOf(Long shuttle_id, LocalDate service_date) {
+        return KEY_PREFIX + shuttle_id + ":" + service_date;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.");
+        }
+    }
+}
@@ -1,37 +1,28 @@
 package onehajo.seurasaeng.shuttle.controller;
 
 import lombok.RequiredArgsConstructor;
-import onehajo.seurasaeng.shuttle.dto.ShuttleResponseDto;
-import onehajo.seurasaeng.shuttle.dto.ShuttleWithLocationResponseDto;
-import onehajo.seurasaeng.shuttle.service.ShuttleService;
+import onehajo.seurasaeng.shuttle.service.ReferenceResponseCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/shuttles")
 public class ShuttleController {
-    private final ShuttleService shuttleService;
+    private final ReferenceResponseCache referenceResponseCache;
 
+    // 셔틀 목록 (직렬화해 둔 응답, 없으면 204)
     @GetMapping
-    public ResponseEntity<List<ShuttleResponseDto>> getShuttles() {
-        List<ShuttleResponseDto> shuttleList = shuttleService.getShuttleList();
-        if (shuttleList.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.ok(shuttleList);
+    public ResponseEntity<byte[]> getShuttles(WebRequest webRequest) {
+        return referenceResponseCache.getShuttles().toResponse(webRequest);
     }
 
+    // 셔틀 목록 + 출발지 / 도착지 좌표 (직렬화해 둔 응답, 없으면 204)
     @GetMapping("/locations")
-    public ResponseEntity<List<ShuttleWithLocationResponseDto>> getShuttlesWithLocation() {
-        List<ShuttleWithLocationResponseDto> shuttleList = shuttleService.getShuttleWithLocation();
-        if (shuttleList.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.ok(shuttleList);
+    public ResponseEntity<byte[]> getShuttlesWithLocation(WebRequest webRequest) {
+        return referenceResponseCache.getShuttleLocations().toResponse(webRequest);
     }
 }
@@ -2,11 +2,25 @@ package onehajo.seurasaeng.shuttle.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import onehajo.seurasaeng.shuttle.dto.TimetableResponseDto;
+import onehajo.seurasaeng.shuttle.dto.NextDepartureResponseDto;
 import onehajo.seurasaeng.shuttle.dto.UpdateTimetableRequestDto;
+import onehajo.seurasaeng.shuttle.service.ReferenceResponseCache;
+import onehajo.seurasaeng.shuttle.service.TimetableCsvService;
 import onehajo.seurasaeng.shuttle.service.TimetableService;
+import onehajo.seurasaeng.util.JwtUtil;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -14,16 +28,25 @@ import org.springframework.web.bind.annotation.*;
 public class TimetableController {
 
     private final TimetableService timetableService;
+    private final ReferenceResponseCache referenceResponseCache;
+    private final TimetableCsvService timetableCsvService;
+    private final JwtUtil jwtUtil;
 
+    // 시간표 조회 (직렬화해 둔 스냅샷 응답, 스냅샷 버전을 ETag 로 써서 바뀌지 않았으면 304 응답)
     @GetMapping("/timetables")
-    public ResponseEntity<TimetableResponseDto> getTimetable() {
-        TimetableResponseDto response = timetableService.getTimetable();
+    public ResponseEntity<byte[]> getTimetable(WebRequest webRequest) {
+        return referenceResponseCache.getTimetables().toResponse(webRequest);
+    }
 
-        if ((response.getCommute() == null || response.getCommute().isEmpty()) &&
-                (response.getOffwork() == null || response.getOffwork().isEmpty())) {
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.ok(response);
+    // 다음 출발 회차 조회 (shuttle_ids / is_commute 생략 시 전체, at 생략 시 현재 시각)
+    @GetMapping("/timetables/next")
+    public ResponseEntity<List<NextDepartureResponseDto>> getNextDepartures(
+            @RequestParam(required = false) List<Long> shuttle_ids,
+            @RequestParam(required = false) Boolean is_commute,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(defaultValue = "3") int limit) {
+        return ResponseEntity.ok(timetableService.getNextDepartures(shuttle_ids, is_commute,
+                at != null ? at : LocalDateTime.now(), limit));
     }
 
     @PutMapping("/timetable")
@@ -31,4 +54,36 @@ public class TimetableController {
         timetableService.updateTimetable(request);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    // 전체 셔틀 시간표 CSV 가져오기 - 관리자 (dry_run=true 면 반영하지 않고 변경 내역만 응답)
+    @PostMapping(value = "/timetable/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> importTimetables(@RequestHeader("Authorization") String authHeader,
+                                              @RequestParam(defaultValue = "false") boolean dry_run,
+                                              InputStream body) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        return ResponseEntity.ok(timetableCsvService.importCsv(body, dry_run));
+    }
+
+    // 전체 셔틀 시간표 CSV 내보내기 - 관리자
+    @GetMapping("/timetable/export")
+    public ResponseEntity<?> exportTimetables(@RequestHeader("Authorization") String authHeader) {
+        String token = authHeader.replace("Bearer ", "");
+        String role = jwtUtil.getRoleFromToken(token);
+
+        if (!role.equals("admin")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "관리자가 아닙니다"));
+        }
+
+        StreamingResponseBody body = timetableCsvService::exportCsv;
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"timetables.csv\"")
+                .body(body);
+    }
+}
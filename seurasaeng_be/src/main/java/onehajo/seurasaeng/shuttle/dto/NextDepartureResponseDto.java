@@ -0,0 +1,28 @@
+package onehajo.seurasaeng.shuttle.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 셔틀별 다음 출발 회차 (즐겨찾기 / 홈 화면용, 남은 회차가 없으면 departures 가 비어 있음)
+ */
+@Getter
+@Builder
+public class NextDepartureResponseDto {
+    private Long shuttleId;          // 노선 ID
+    private String shuttleName;      // 셔틀명
+    private Boolean commute;         // 출근 여부
+    private String spotName;         // 거점 (출발지 or 도착지)
+    private String boardingPoint;    // 탑승 장소 (출발/도착 장소)
+    private List<DepartureDto> departures; // 다음 출발 회차 (가까운 순)
+
+    @Getter
+    @Builder
+    public static class DepartureDto {
+        private String turn;          // "1회", "2회"
+        private String departureTime; // "07:20"
+        private Integer minutesUntil; // 출발까지 남은 시간 (분)
+    }
+}
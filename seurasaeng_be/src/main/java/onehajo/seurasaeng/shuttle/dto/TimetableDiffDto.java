@@ -0,0 +1,17 @@
+package onehajo.seurasaeng.shuttle.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 셔틀별 시간표 일괄 수정 내역 (회차 수)
+ */
+@Getter
+@Builder
+public class TimetableDiffDto {
+    private Long shuttleId;   // 노선 ID
+    private int unchanged;    // 그대로인 회차
+    private int updated;      // 출발 시각 / 좌석 / 장소가 바뀐 회차
+    private int inserted;     // 추가된 회차
+    private int deleted;      // 삭제된 회차
+}
@@ -0,0 +1,17 @@
+package onehajo.seurasaeng.shuttle.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 시간표 일괄 가져오기 결과 (dryRun 이면 반영하지 않은 예상 내역)
+ */
+@Getter
+@Builder
+public class TimetableImportResultDto {
+    private boolean dryRun;
+    private int rows;                       // 파일의 회차 행 수
+    private List<TimetableDiffDto> shuttles; // 셔틀별 변경 내역
+}
@@ -0,0 +1,22 @@
+package onehajo.seurasaeng.shuttle.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 셔틀 운행 회차 (운행일 + 출발 시각)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class TimetableRunDto {
+    private Long shuttleId;
+    private LocalDate serviceDate;
+    private LocalTime departureTime;
+    // 좌석 수 (0 이면 제한 없음)
+    private int totalSeats;
+}
@@ -0,0 +1,25 @@
+package onehajo.seurasaeng.shuttle.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 시간표 스냅샷 (한 번 만들면 바뀌지 않음)
+ * version 은 시간표 내용에서 계산하므로 서버가 여러 대여도 내용이 같으면 같은 값이다. (ETag 용)
+ * departureMinutes 는 셔틀별 출발 시각(자정 기준 분) 오름차순 배열로, 다음 출발 / 탑승 회차 조회용이다. (읽기 전용)
+ * totalSeats 는 같은 인덱스 회차의 좌석 수(없으면 0 = 제한 없음)로, 탑승 회차 조회(TimetableRunResolver)용이다. (읽기 전용)
+ */
+@Getter
+@AllArgsConstructor
+public class TimetableSnapshotDto {
+    private final String version;
+    private final TimetableResponseDto timetable;
+    private final Map<Long, int[]> departureMinutes;
+    private final Map<Long, int[]> totalSeats;
+
+    public boolean isEmpty() {
+        return timetable.getCommute().isEmpty() && timetable.getOffwork().isEmpty();
+    }
+}
@@ -1,8 +1,9 @@
 package onehajo.seurasaeng.shuttle.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,7 +18,9 @@ public class UpdateTimetableRequestDto {
     @NotNull
     private Long shuttleId;
 
-    @NotEmpty
+    // 요청에 없는 기존 회차는 삭제
+    @NotNull
+    @Valid
     private List<TimetableDto> timetables;
 
     @Getter
@@ -29,5 +32,15 @@ public class UpdateTimetableRequestDto {
 
         @NotBlank
         private String departureTime; // (HH:mm)
+
+        // 회차별 변경 값 (생략 시 기존 회차 값, 새 회차면 첫 회차 값)
+        @PositiveOrZero
+        private Integer totalSeats;
+        private String boardingLocation;
+        private String dropoffLocation;
+
+        public TimetableDto(String turn, String departureTime) {
+            this(turn, departureTime, null, null, null);
+        }
     }
 }
@@ -0,0 +1,14 @@
+package onehajo.seurasaeng.shuttle.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 시간표 변경 이벤트 (변경 트랜잭션 커밋 후 처리)
+ * shuttle_id 가 null 이면 여러 셔틀을 한 번에 바꾼 경우 (일괄 가져오기)
+ */
+@Getter
+@AllArgsConstructor
+public class TimetableChangedEvent {
+    private Long shuttle_id;
+}
@@ -0,0 +1,15 @@
+package onehajo.seurasaeng.shuttle.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class TimetableImportException extends RuntimeException {
+    private final List<String> errors;
+
+    public TimetableImportException(List<String> errors) {
+        super("시간표 파일에 오류가 있습니다. (" + errors.size() + "건)");
+        this.errors = List.copyOf(errors);
+    }
+}
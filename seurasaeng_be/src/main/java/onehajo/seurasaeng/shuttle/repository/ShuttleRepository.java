@@ -2,11 +2,21 @@ package onehajo.seurasaeng.shuttle.repository;
 
 import onehajo.seurasaeng.entity.Shuttle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ShuttleRepository extends JpaRepository<Shuttle, Long> {
     List<Shuttle> findByIsCommute(Boolean isCommute);
+
+    // 출발지/도착지까지 한 번에 조회
+    @Query("SELECT s FROM Shuttle s JOIN FETCH s.departure JOIN FETCH s.destination WHERE s.id IN :ids")
+    List<Shuttle> findAllWithLocationByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s FROM Shuttle s JOIN FETCH s.departure JOIN FETCH s.destination ORDER BY s.id")
+    List<Shuttle> findAllWithLocation();
 }
@@ -3,10 +3,18 @@ package onehajo.seurasaeng.shuttle.repository;
 import onehajo.seurasaeng.entity.Shuttle;
 import onehajo.seurasaeng.entity.Timetable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TimetableRepository extends JpaRepository<Timetable, Long> {
     List<Timetable> findByShuttleOrderByDepartureTimeAsc(Shuttle shuttle);
     void deleteByShuttle(Shuttle shuttle);
+    List<Timetable> findAllByShuttleIdIn(Collection<Long> shuttleIds);
+
+    // 시간표 스냅샷용 전체 조회 (셔틀 / 출발지 / 도착지를 함께 조회)
+    @Query("SELECT t FROM Timetable t JOIN FETCH t.shuttle s LEFT JOIN FETCH s.departure LEFT JOIN FETCH s.destination " +
+            "ORDER BY s.id, t.departureTime")
+    List<Timetable> findAllWithShuttle();
 }
@@ -0,0 +1,99 @@
+package onehajo.seurasaeng.shuttle.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.shuttle.dto.ShuttleResponseDto;
+import onehajo.seurasaeng.shuttle.dto.ShuttleWithLocationResponseDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableSnapshotDto;
+import onehajo.seurasaeng.shuttle.event.TimetableChangedEvent;
+import onehajo.seurasaeng.util.EncodedJsonResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 셔틀 / 시간표 조회 응답 캐시 (직렬화된 JSON 바이트)
+ * 시간표는 스냅샷 버전이 바뀔 때만 다시 직렬화한다.
+ * 셔틀 목록은 앱에서 바꾸는 경로가 없어 주기적으로 다시 만들고, 내용이 같으면 기존 응답을 유지한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceResponseCache {
+    private final ShuttleService shuttleService;
+    private final TimetableService timetableService;
+    private final ObjectMapper objectMapper;
+
+    private volatile EncodedJsonResponse timetables;
+    private volatile EncodedJsonResponse shuttles;
+    private volatile EncodedJsonResponse shuttleLocations;
+
+    /**
+     * 시간표 응답 (스냅샷 버전으로 구분)
+     */
+    public EncodedJsonResponse getTimetables() {
+        TimetableSnapshotDto snapshot = timetableService.getSnapshot();
+        EncodedJsonResponse current = timetables;
+        if (current != null && current.getVersion().equals(snapshot.getVersion())) {
+            return current;
+        }
+
+        EncodedJsonResponse encoded = EncodedJsonResponse.encode(objectMapper,
+                snapshot.getTimetable(), snapshot.getVersion(), snapshot.isEmpty());
+        timetables = encoded;
+        return encoded;
+    }
+
+    /**
+     * 셔틀 목록 응답
+     */
+    public EncodedJsonResponse getShuttles() {
+        if (shuttles == null) {
+            refreshShuttles();
+        }
+        return shuttles;
+    }
+
+    /**
+     * 셔틀 목록 (출발지 / 도착지 좌표 포함) 응답
+     */
+    public EncodedJsonResponse getShuttleLocations() {
+        if (shuttleLocations == null) {
+            refreshShuttles();
+        }
+        return shuttleLocations;
+    }
+
+    // 시간표 변경 시에도 셔틀 목록을 함께 다시 확인
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTimetableChanged(TimetableChangedEvent event) {
+        refreshShuttles();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shuttle.response-cache.refresh-ms:60000}",
+            initialDelayString = "${shuttle.response-cache.refresh-ms:60000}")
+    public synchronized void refreshShuttles() {
+        List<ShuttleResponseDto> shuttleList = shuttleService.getShuttleList();
+        List<ShuttleWithLocationResponseDto> locationList = shuttleService.getShuttleWithLocation();
+
+        shuttles = keepIfSame(shuttles,
+                EncodedJsonResponse.encode(objectMapper, shuttleList, null, shuttleList.isEmpty()));
+        shuttleLocations = keepIfSame(shuttleLocations,
+                EncodedJsonResponse.encode(objectMapper, locationList, null, locationList.isEmpty()));
+    }
+
+    private static EncodedJsonResponse keepIfSame(EncodedJsonResponse current, EncodedJsonResponse encoded) {
+        if (current != null && current.getVersion().equals(encoded.getVersion())) {
+            return current;
+        }
+        log.debug("셔틀 응답 캐시 갱신 - 버전 {}", encoded.getVersion());
+        return encoded;
+    }
+}
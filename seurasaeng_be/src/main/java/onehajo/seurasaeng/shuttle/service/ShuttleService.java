@@ -15,7 +15,7 @@ public class ShuttleService {
     private final ShuttleRepository shuttleRepository;
 
     public List<ShuttleResponseDto> getShuttleList() {
-        List<Shuttle> shuttles = shuttleRepository.findAll();
+        List<Shuttle> shuttles = shuttleRepository.findAllWithLocation();
 
         return shuttles.stream()
                 .map(shuttle -> ShuttleResponseDto.builder()
@@ -29,7 +29,7 @@ public class ShuttleService {
     }
 
     public List<ShuttleWithLocationResponseDto> getShuttleWithLocation() {
-        List<Shuttle> shuttles = shuttleRepository.findAll();
+        List<Shuttle> shuttles = shuttleRepository.findAllWithLocation();
 
         return shuttles.stream()
                 .map(shuttle -> ShuttleWithLocationResponseDto.builder()
@@ -0,0 +1,263 @@
+package onehajo.seurasaeng.shuttle.service;
+
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.shuttle.dto.TimetableDiffDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableImportResultDto;
+import onehajo.seurasaeng.shuttle.dto.UpdateTimetableRequestDto;
+import onehajo.seurasaeng.shuttle.exception.TimetableImportException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 전체 셔틀 시간표 CSV 가져오기 / 내보내기
+ * 형식 : shuttle_id,departure_time,total_seats,boarding_location,dropoff_location (첫 줄 헤더)
+ * 가져오기는 파일에 있는 셔틀의 시간표를 파일 내용으로 맞추고(없는 회차는 삭제), 파일에 없는 셔틀은 그대로 둔다.
+ * 좌석 수 / 장소를 비워 두면 기존 회차 값(새 회차면 첫 회차 값)을 쓴다.
+ */
+@Slf4j
+@Service
+public class TimetableCsvService {
+    public static final String HEADER = "shuttle_id,departure_time,total_seats,boarding_location,dropoff_location";
+
+    private static final int MAX_ROWS = 50_000;
+    private static final int MAX_ERRORS = 50;
+    // timetable.boarding_location / dropoff_location 컬럼 길이
+    private static final int MAX_LOCATION_LENGTH = 100;
+    // 따옴표 안 줄바꿈으로 이어 읽는 한 행의 최대 길이 (닫히지 않은 따옴표가 파일 끝까지 삼키지 않도록)
+    private static final int MAX_RECORD_LENGTH = 1_000;
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final TimetableService timetableService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TimetableCsvService(TimetableService timetableService,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager) {
+        this.timetableService = timetableService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * CSV 가져오기 (한 행씩 읽어 검증한 뒤 한 트랜잭션으로 반영, 오류가 하나라도 있으면 반영하지 않음)
+     * 따옴표로 감싼 항목 안의 줄바꿈은 다음 줄까지 이어서 한 행으로 읽는다 (내보내기 결과를 그대로 다시 가져올 수 있도록)
+     */
+    public TimetableImportResultDto importCsv(InputStream in, boolean dryRun) {
+        Map<Long, Map<LocalTime, UpdateTimetableRequestDto.TimetableDto>> requested = new TreeMap<>();
+        List<String> errors = new ArrayList<>();
+        int rows = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || !stripBom(header).trim().equalsIgnoreCase(HEADER)) {
+                throw new TimetableImportException(List.of("첫 줄은 헤더여야 합니다 : " + HEADER));
+            }
+
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null && errors.size() < MAX_ERRORS) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int startLine = lineNumber;
+                StringBuilder record = new StringBuilder(line);
+                List<String> fields;
+                while ((fields = splitCsv(record.toString())) == null && record.length() <= MAX_RECORD_LENGTH
+                        && (line = reader.readLine()) != null) {
+                    lineNumber++;
+                    record.append('\n').append(line);
+                }
+                if (fields == null) {
+                    // 이후 줄은 어디서 행이 시작되는지 알 수 없으므로 더 읽지 않는다
+                    errors.add(startLine + "행 : 따옴표가 닫히지 않았습니다.");
+                    break;
+                }
+                if (++rows > MAX_ROWS) {
+                    errors.add("회차는 최대 " + MAX_ROWS + "행까지 가져올 수 있습니다.");
+                    break;
+                }
+                String error = parseRow(fields, requested);
+                if (error != null) {
+                    errors.add(startLine + "행 : " + error);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new TimetableImportException(errors);
+        }
+        if (requested.isEmpty()) {
+            throw new TimetableImportException(List.of("가져올 회차가 없습니다."));
+        }
+
+        List<TimetableDiffDto> diffs = timetableService.importTimetables(requested, dryRun);
+        log.info("시간표 가져오기{} - 셔틀 {}개, 회차 {}행", dryRun ? " (미리보기)" : "", diffs.size(), rows);
+
+        return TimetableImportResultDto.builder()
+                .dryRun(dryRun)
+                .rows(rows)
+                .shuttles(diffs)
+                .build();
+    }
+
+    // 한 행 검증 후 셔틀별 요청 회차에 추가 (오류면 메시지 반환)
+    private static String parseRow(List<String> fields, Map<Long, Map<LocalTime, UpdateTimetableRequestDto.TimetableDto>> requested) {
+        if (fields.size() != 5) {
+            return "항목 수가 올바르지 않습니다. (" + fields.size() + "개)";
+        }
+
+        Long shuttleId;
+        LocalTime departureTime;
+        Integer totalSeats = null;
+        try {
+            shuttleId = Long.valueOf(fields.get(0).trim());
+        } catch (NumberFormatException e) {
+            return "셔틀 ID 가 올바르지 않습니다 : " + fields.get(0);
+        }
+        try {
+            departureTime = LocalTime.parse(fields.get(1).trim());
+        } catch (DateTimeParseException e) {
+            return "출발 시각이 올바르지 않습니다 (HH:mm) : " + fields.get(1);
+        }
+        if (!fields.get(2).isBlank()) {
+            try {
+                totalSeats = Integer.valueOf(fields.get(2).trim());
+            } catch (NumberFormatException e) {
+                totalSeats = -1;
+            }
+            if (totalSeats < 0) {
+                return "좌석 수가 올바르지 않습니다 : " + fields.get(2);
+            }
+        }
+        String boardingLocation = fields.get(3).trim();
+        String dropoffLocation = fields.get(4).trim();
+        if (boardingLocation.length() > MAX_LOCATION_LENGTH || dropoffLocation.length() > MAX_LOCATION_LENGTH) {
+            return "장소는 " + MAX_LOCATION_LENGTH + "자 이하여야 합니다.";
+        }
+
+        String time = formatTime(departureTime);
+        UpdateTimetableRequestDto.TimetableDto dto = new UpdateTimetableRequestDto.TimetableDto(null, time,
+                totalSeats, boardingLocation, dropoffLocation);
+        if (requested.computeIfAbsent(shuttleId, id -> new TreeMap<>()).putIfAbsent(departureTime, dto) != null) {
+            return "셔틀 " + shuttleId + " 의 출발 시각이 중복되었습니다 : " + time;
+        }
+        return null;
+    }
+
+    /**
+     * CSV 내보내기 (DB 커서로 읽으면서 바로 기록)
+     * @return 내보낸 회차 수
+     */
+    public long exportCsv(OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long[] rows = {0};
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                writer.write(HEADER);
+                writer.write('\n');
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "SELECT shuttle_id, departure_time, total_seats, boarding_location, dropoff_location "
+                                    + "FROM seurasaeng_prod.timetable ORDER BY shuttle_id, departure_time");
+                    statement.setFetchSize(EXPORT_FETCH_SIZE);
+                    return statement;
+                }, rs -> {
+                    try {
+                        int totalSeats = rs.getInt(3);
+                        String seats = rs.wasNull() ? "" : String.valueOf(totalSeats);
+                        writer.write(rs.getLong(1) + ","
+                                + formatTime(rs.getTime(2).toLocalTime()) + ","
+                                + seats + ","
+                                + escapeCsv(rs.getString(4)) + ","
+                                + escapeCsv(rs.getString(5)) + "\n");
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return rows[0];
+    }
+
+    private static String formatTime(LocalTime time) {
+        return String.format("%02d:%02d", time.getHour(), time.getMinute());
+    }
+
+    // 따옴표로 감싼 항목("" 는 따옴표 한 개) 지원, 따옴표가 닫히지 않으면 null
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+}
@@ -0,0 +1,51 @@
+package onehajo.seurasaeng.shuttle.service;
+
+import lombok.RequiredArgsConstructor;
+import onehajo.seurasaeng.shuttle.dto.TimetableRunDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableSnapshotDto;
+import onehajo.seurasaeng.shuttle.util.TimetableRuns;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 셔틀 운행 회차 조회
+ * 시간표 스냅샷(TimetableService)의 셔틀별 출발 시각 / 좌석 수 배열로 탑승 스캔 시 DB 조회 없이 회차와 좌석 수를 찾는다.
+ * 따로 시간표를 불러오지 않으므로 시간표 변경은 스냅샷이 갱신될 때 함께 반영된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimetableRunResolver {
+    private final TimetableService timetableService;
+
+    /**
+     * 탑승 시각의 운행 회차 조회 (시간표 외 탑승이면 null)
+     */
+    public TimetableRunDto resolve(Long shuttleId, LocalDateTime at) {
+        TimetableSnapshotDto snapshot = timetableService.getSnapshot();
+        int[] departureMinutes = snapshot.getDepartureMinutes().get(shuttleId);
+        if (departureMinutes == null) {
+            return null;
+        }
+
+        int index = TimetableRuns.resolveRunIndex(departureMinutes, at.toLocalTime());
+        if (index == TimetableRuns.NO_RUN) {
+            return null;
+        }
+
+        return TimetableRunDto.builder()
+                .shuttleId(shuttleId)
+                .serviceDate(at.toLocalDate())
+                .departureTime(TimetableRuns.toTime(departureMinutes[index]))
+                .totalSeats(snapshot.getTotalSeats().get(shuttleId)[index])
+                .build();
+    }
+
+    /**
+     * 시간표가 있는 셔틀 ID 목록
+     */
+    public Set<Long> getShuttleIds() {
+        return timetableService.getSnapshot().getDepartureMinutes().keySet();
+    }
+}
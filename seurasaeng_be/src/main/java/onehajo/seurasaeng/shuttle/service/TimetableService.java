@@ -6,51 +6,187 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import onehajo.seurasaeng.entity.Shuttle;
 import onehajo.seurasaeng.entity.Timetable;
+import onehajo.seurasaeng.shuttle.dto.NextDepartureResponseDto;
 import onehajo.seurasaeng.shuttle.dto.ShuttleWithTimetableDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableDiffDto;
 import onehajo.seurasaeng.shuttle.dto.TimetableDto;
 import onehajo.seurasaeng.shuttle.dto.TimetableResponseDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableSnapshotDto;
 import onehajo.seurasaeng.shuttle.dto.UpdateTimetableRequestDto;
-import onehajo.seurasaeng.shuttle.exception.InvalidTimetableSizeException;
+import onehajo.seurasaeng.shuttle.event.TimetableChangedEvent;
 import onehajo.seurasaeng.shuttle.exception.ShuttleNotFoundException;
+import onehajo.seurasaeng.shuttle.exception.TimetableImportException;
 import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
 import onehajo.seurasaeng.shuttle.repository.TimetableRepository;
-import org.hibernate.sql.Update;
+import onehajo.seurasaeng.shuttle.util.TimetableRuns;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
+/**
+ * 셔틀 시간표 조회 / 수정
+ * 시간표는 관리자가 수정할 때만 바뀌므로, 조회 응답을 한 번 만들어 스냅샷으로 들고 있다가
+ * 수정이 커밋되면 새 스냅샷으로 통째로 바꾼다. (조회는 참조 하나만 읽음)
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TimetableService {
+    // 다음 출발 조회 시 셔틀별 최대 회차 수
+    private static final int MAX_NEXT_DEPARTURES = 10;
 
     private final ShuttleRepository shuttleRepository;
     private final TimetableRepository timetableRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    private volatile TimetableSnapshotDto snapshot;
+
+    /**
+     * 시간표 조회 (메모리의 스냅샷을 그대로 반환)
+     */
     public TimetableResponseDto getTimetable() {
-        List<ShuttleWithTimetableDto> commuteShuttles = buildTimetableList(true); // 출근 셔틀 목록
-        List<ShuttleWithTimetableDto> offworkShuttles = buildTimetableList(false); // 퇴근 셔틀 목록
+        return getSnapshot().getTimetable();
+    }
+
+    /**
+     * 현재 시간표 스냅샷 (아직 없으면 만들어 둠)
+     */
+    public TimetableSnapshotDto getSnapshot() {
+        TimetableSnapshotDto current = snapshot;
+        return current != null ? current : refreshSnapshot();
+    }
+
+    // 시간표 변경 커밋 후 다시 만들고, 다른 서버의 변경은 주기적으로 반영
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTimetableChanged(TimetableChangedEvent event) {
+        refreshSnapshot();
+    }
 
-        return TimetableResponseDto.builder()
-                .commute(commuteShuttles)
-                .offwork(offworkShuttles)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${timetable.snapshot.refresh-ms:60000}",
+            initialDelayString = "${timetable.snapshot.refresh-ms:60000}")
+    public synchronized TimetableSnapshotDto refreshSnapshot() {
+        Map<Shuttle, List<Timetable>> byShuttle = new LinkedHashMap<>();
+        for (Timetable timetable : timetableRepository.findAllWithShuttle()) {
+            byShuttle.computeIfAbsent(timetable.getShuttle(), shuttle -> new ArrayList<>()).add(timetable);
+        }
+
+        TimetableResponseDto timetable = TimetableResponseDto.builder()
+                .commute(buildTimetableList(byShuttle, true)) // 출근 셔틀 목록
+                .offwork(buildTimetableList(byShuttle, false)) // 퇴근 셔틀 목록
                 .build();
+        String version = versionOf(timetable);
+
+        // 셔틀별 출발 시각 / 회차 좌석 수 배열 (출발 시각 오름차순, 같은 인덱스가 같은 회차)
+        Map<Long, int[]> departureMinutes = new HashMap<>();
+        Map<Long, int[]> totalSeats = new HashMap<>();
+        byShuttle.forEach((shuttle, timetables) -> {
+            departureMinutes.put(shuttle.getId(), timetables.stream()
+                    .mapToInt(entry -> TimetableRuns.toMinute(entry.getDepartureTime()))
+                    .toArray());
+            totalSeats.put(shuttle.getId(), timetables.stream()
+                    .mapToInt(entry -> entry.getTotalSeats() == null ? 0 : entry.getTotalSeats())
+                    .toArray());
+        });
+
+        // 내용이 같으면 기존 스냅샷 유지 (회차별 좌석 수는 응답 / 버전에 없으므로 따로 비교)
+        TimetableSnapshotDto current = snapshot;
+        if (current != null && current.getVersion().equals(version)
+                && sameRuns(current.getDepartureMinutes(), departureMinutes)
+                && sameRuns(current.getTotalSeats(), totalSeats)) {
+            return current;
+        }
+
+        TimetableSnapshotDto rebuilt = new TimetableSnapshotDto(version, timetable,
+                Map.copyOf(departureMinutes), Map.copyOf(totalSeats));
+        snapshot = rebuilt;
+        log.info("시간표 스냅샷 갱신 - 버전 {}", version);
+        return rebuilt;
     }
 
-    private List<ShuttleWithTimetableDto> buildTimetableList(boolean isCommute) {
-        // 출근 또는 퇴근 셔틀 조회
-        List<Shuttle> shuttles = shuttleRepository.findByIsCommute(isCommute);
-        List<ShuttleWithTimetableDto> shuttleWithTimetableDtoList = new ArrayList<>();
+    /**
+     * 셔틀별 다음 출발 회차 조회 (스냅샷의 출발 시각 배열을 이진 탐색)
+     * @param shuttleIds 비어 있으면 전체 셔틀
+     * @param isCommute null 이면 출근 / 퇴근 모두
+     */
+    public List<NextDepartureResponseDto> getNextDepartures(Collection<Long> shuttleIds, Boolean isCommute,
+                                                           LocalDateTime at, int limit) {
+        if (limit < 1 || limit > MAX_NEXT_DEPARTURES) {
+            throw new IllegalArgumentException("조회할 회차 수는 1 ~ " + MAX_NEXT_DEPARTURES + " 사이여야 합니다.");
+        }
 
-        for (Shuttle shuttle : shuttles) {
-            List<Timetable> timetables = timetableRepository.findByShuttleOrderByDepartureTimeAsc(shuttle);
+        TimetableSnapshotDto current = getSnapshot();
+        int nowMinute = TimetableRuns.toMinute(at.toLocalTime());
+        List<NextDepartureResponseDto> result = new ArrayList<>();
 
-            // 시간표가 없으면 건너뜀
-            if (timetables == null || timetables.isEmpty()) {
+        for (boolean commute : new boolean[]{true, false}) {
+            if (isCommute != null && isCommute != commute) {
                 continue;
             }
+            List<ShuttleWithTimetableDto> shuttles = commute
+                    ? current.getTimetable().getCommute()
+                    : current.getTimetable().getOffwork();
+
+            for (ShuttleWithTimetableDto shuttle : shuttles) {
+                if (shuttleIds != null && !shuttleIds.isEmpty() && !shuttleIds.contains(shuttle.getShuttleId())) {
+                    continue;
+                }
+
+                int[] departureMinutes = current.getDepartureMinutes().get(shuttle.getShuttleId());
+                int first = TimetableRuns.firstDepartureAtOrAfter(departureMinutes, nowMinute);
+                List<NextDepartureResponseDto.DepartureDto> departures = new ArrayList<>();
+                for (int i = first; i < departureMinutes.length && i < first + limit; i++) {
+                    departures.add(NextDepartureResponseDto.DepartureDto.builder()
+                            .turn(shuttle.getTimetables().get(i).getTurn())
+                            .departureTime(shuttle.getTimetables().get(i).getDepartureTime())
+                            .minutesUntil(departureMinutes[i] - nowMinute)
+                            .build());
+                }
+
+                result.add(NextDepartureResponseDto.builder()
+                        .shuttleId(shuttle.getShuttleId())
+                        .shuttleName(shuttle.getShuttleName())
+                        .commute(commute)
+                        .spotName(shuttle.getSpotName())
+                        .boardingPoint(shuttle.getBoardingPoint())
+                        .departures(departures)
+                        .build());
+            }
+        }
+
+        return result;
+    }
+
+    private List<ShuttleWithTimetableDto> buildTimetableList(Map<Shuttle, List<Timetable>> byShuttle, boolean isCommute) {
+        List<ShuttleWithTimetableDto> shuttleWithTimetableDtoList = new ArrayList<>();
+
+        byShuttle.forEach((shuttle, timetables) -> {
+            // 출근 또는 퇴근 셔틀만
+            if (!Boolean.valueOf(isCommute).equals(shuttle.getIsCommute())) {
+                return;
+            }
 
             Timetable firstTimetable = timetables.getFirst(); // 첫 번째 시간표
 
@@ -91,49 +227,257 @@ public class TimetableService {
                     .duration(formatDuration(firstTimetable.getArrivalMinutes()))
                     .totalSeats(formatTotalSeats(firstTimetable.getTotalSeats()))
                     .boardingPoint(boardingPoint)
-                    .timetables(timetableDtos)
+                    .timetables(List.copyOf(timetableDtos))
                     .build();
 
             shuttleWithTimetableDtoList.add(shuttleWithTimetableDto);
+        });
+
+        return List.copyOf(shuttleWithTimetableDtoList);
+    }
+
+    private static boolean sameRuns(Map<Long, int[]> current, Map<Long, int[]> rebuilt) {
+        if (!current.keySet().equals(rebuilt.keySet())) {
+            return false;
+        }
+        return rebuilt.entrySet().stream()
+                .allMatch(entry -> Arrays.equals(current.get(entry.getKey()), entry.getValue()));
+    }
+
+    // 응답에 나가는 값으로 버전 계산 (서버마다 같은 내용이면 같은 버전)
+    private static String versionOf(TimetableResponseDto timetable) {
+        StringBuilder canonical = new StringBuilder();
+        appendCanonical(canonical, "commute", timetable.getCommute());
+        appendCanonical(canonical, "offwork", timetable.getOffwork());
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
+    }
 
-        return shuttleWithTimetableDtoList;
+    private static void appendCanonical(StringBuilder canonical, String section, List<ShuttleWithTimetableDto> shuttles) {
+        canonical.append(section).append('\n');
+        for (ShuttleWithTimetableDto shuttle : shuttles) {
+            canonical.append(shuttle.getShuttleId()).append('\t')
+                    .append(shuttle.getShuttleName()).append('\t')
+                    .append(shuttle.getSpotName()).append('\t')
+                    .append(shuttle.getDuration()).append('\t')
+                    .append(shuttle.getTotalSeats()).append('\t')
+                    .append(shuttle.getBoardingPoint());
+            for (TimetableDto timetable : shuttle.getTimetables()) {
+                canonical.append('\t').append(timetable.getDepartureTime());
+            }
+            canonical.append('\n');
+        }
     }
 
+    /**
+     * 시간표 수정 (기존 회차와 비교해 바뀐 회차만 수정 / 추가 / 삭제)
+     */
     @Transactional
     public void updateTimetable(UpdateTimetableRequestDto request) {
         Shuttle shuttle = shuttleRepository.findById(request.getShuttleId())
                 .orElseThrow(() -> new ShuttleNotFoundException(request.getShuttleId()));
 
         // 기존 시간표 조회 (departureTime 오름차순 정렬)
-        List<Timetable> timetables = timetableRepository.findByShuttleOrderByDepartureTimeAsc(shuttle);
+        List<Timetable> existing = timetableRepository.findByShuttleOrderByDepartureTimeAsc(shuttle);
+
+        // 요청 받은 시간표 (출발 시각 오름차순)
+        Map<LocalTime, UpdateTimetableRequestDto.TimetableDto> requested = new TreeMap<>();
+        for (UpdateTimetableRequestDto.TimetableDto dto : request.getTimetables()) {
+            if (requested.put(LocalTime.parse(dto.getDepartureTime()), dto) != null) {
+                throw new IllegalArgumentException("출발 시각이 중복되었습니다 : " + dto.getDepartureTime());
+            }
+        }
+
+        MergePlan plan = plan(shuttle, existing, requested);
+        if (plan.isEmpty()) {
+            return;
+        }
+        List<Timetable> changed = apply(List.of(plan));
+        log.info("시간표 수정 - 셔틀 {}, 변경 / 추가 {}건, 삭제 {}건", shuttle.getId(), changed.size(), plan.removed().size());
+
+        eventPublisher.publishEvent(new TimetableChangedEvent(shuttle.getId()));
+    }
 
-        int totalSeats = timetables.getFirst().getTotalSeats();
-        int arrivalMinutes = timetables.getFirst().getArrivalMinutes();
-        String boardingLocation = timetables.getFirst().getBoardingLocation();
-        String dropoffLocation = timetables.getFirst().getDropoffLocation();
+    /**
+     * 여러 셔틀 시간표 일괄 수정 (한 트랜잭션, 셔틀별로 기존 회차와 비교해 바뀐 회차만 반영)
+     * 파일에 있는 셔틀만 바꾸고, dryRun 이면 변경 내역만 계산한다.
+     * @param requestedByShuttle 셔틀별 요청 회차 (출발 시각 오름차순)
+     */
+    @Transactional
+    public List<TimetableDiffDto> importTimetables(Map<Long, Map<LocalTime, UpdateTimetableRequestDto.TimetableDto>> requestedByShuttle,
+                                                   boolean dryRun) {
+        Map<Long, Shuttle> shuttles = new HashMap<>();
+        for (Shuttle shuttle : shuttleRepository.findAllWithLocationByIdIn(requestedByShuttle.keySet())) {
+            shuttles.put(shuttle.getId(), shuttle);
+        }
+        List<String> errors = requestedByShuttle.keySet().stream()
+                .filter(shuttleId -> !shuttles.containsKey(shuttleId))
+                .map(shuttleId -> "셔틀 또는 출발지 / 도착지 정보가 없습니다 : " + shuttleId)
+                .toList();
+        if (!errors.isEmpty()) {
+            throw new TimetableImportException(errors);
+        }
 
-        timetableRepository.deleteAll(timetables);
-        timetableRepository.flush();
+        // 기존 회차 한 번에 조회
+        Map<Long, List<Timetable>> existingByShuttle = new HashMap<>();
+        for (Timetable timetable : timetableRepository.findAllByShuttleIdIn(requestedByShuttle.keySet())) {
+            existingByShuttle.computeIfAbsent(timetable.getShuttle().getId(), id -> new ArrayList<>()).add(timetable);
+        }
 
-        // 요청 받은 시간표 리스트
-        List<UpdateTimetableRequestDto.TimetableDto> list = request.getTimetables();
+        List<MergePlan> plans = new ArrayList<>();
+        List<TimetableDiffDto> diffs = new ArrayList<>();
+        requestedByShuttle.forEach((shuttleId, requested) -> {
+            List<Timetable> existing = existingByShuttle.getOrDefault(shuttleId, List.of()).stream()
+                    .sorted(Comparator.comparing(Timetable::getDepartureTime))
+                    .toList();
+            MergePlan plan = plan(shuttles.get(shuttleId), existing, new TreeMap<>(requested));
+            plans.add(plan);
+            diffs.add(TimetableDiffDto.builder()
+                    .shuttleId(shuttleId)
+                    .unchanged(plan.unchanged())
+                    .updated(plan.updates().size())
+                    .inserted(plan.inserts().size())
+                    .deleted(plan.removed().size())
+                    .build());
+        });
 
-        List<Timetable> timetableEntities = new ArrayList<>();
+        boolean changed = plans.stream().anyMatch(plan -> !plan.isEmpty());
+        if (!dryRun && changed) {
+            apply(plans);
+            log.info("시간표 일괄 수정 - 셔틀 {}개", plans.stream().filter(plan -> !plan.isEmpty()).count());
+            eventPublisher.publishEvent(new TimetableChangedEvent(null));
+        }
+        return diffs;
+    }
 
-        for(UpdateTimetableRequestDto.TimetableDto dto : list) {
-            Timetable timetable = Timetable.builder()
-                    .shuttle(shuttle)
-                    .departureTime(LocalTime.parse(dto.getDepartureTime()))
-                    .arrivalMinutes(arrivalMinutes) // dto에 있다면
-                    .totalSeats(totalSeats) // dto에 있다면
-                    .boardingLocation(boardingLocation) // dto에 있다면
-                    .dropoffLocation(dropoffLocation) // dto에 있다면
-                    .build();
-            timetableEntities.add(timetable);
+    // 회차 변경 내역 (기존 회차의 새 값)
+    private record RowUpdate(Timetable timetable, LocalTime departureTime, Integer totalSeats,
+                             String boardingLocation, String dropoffLocation) {
+    }
+
+    private record MergePlan(List<RowUpdate> updates, List<Timetable> inserts, List<Timetable> removed, int unchanged) {
+        boolean isEmpty() {
+            return updates.isEmpty() && inserts.isEmpty() && removed.isEmpty();
         }
+    }
+
+    /**
+     * 변경 내역 계산 (엔티티는 바꾸지 않음)
+     * 출발 시각이 같은 회차끼리 먼저 맞추고, 남은 회차는 시간 순서대로 짝지어 출발 시각만 바꾼다.
+     * 짝이 없는 기존 회차는 삭제하고, 남은 요청 회차는 새로 추가한다.
+     * @param existing 기존 회차 (출발 시각 오름차순)
+     * @param requested 요청 회차 (출발 시각 오름차순, 계산 중 비워짐)
+     */
+    private MergePlan plan(Shuttle shuttle, List<Timetable> existing,
+                           Map<LocalTime, UpdateTimetableRequestDto.TimetableDto> requested) {
+        List<RowUpdate> updates = new ArrayList<>();
+        List<Timetable> inserts = new ArrayList<>();
+        List<Timetable> removed = new ArrayList<>();
+        int unchanged = 0;
+
+        // 1. 출발 시각이 같은 회차
+        List<Timetable> unmatched = new ArrayList<>();
+        for (Timetable timetable : existing) {
+            UpdateTimetableRequestDto.TimetableDto dto = requested.remove(timetable.getDepartureTime());
+            if (dto == null) {
+                unmatched.add(timetable);
+                continue;
+            }
+            RowUpdate update = toRowUpdate(timetable, timetable.getDepartureTime(), dto);
+            if (isUnchanged(update)) {
+                unchanged++;
+            } else {
+                updates.add(update);
+            }
+        }
+
+        // 2. 남은 회차는 시간 순서대로 출발 시각 변경, 3. 그래도 남으면 추가
+        Iterator<Timetable> reusable = unmatched.iterator();
+        Timetable template = existing.isEmpty() ? null : existing.getFirst();
+        for (Map.Entry<LocalTime, UpdateTimetableRequestDto.TimetableDto> entry : requested.entrySet()) {
+            if (reusable.hasNext()) {
+                updates.add(toRowUpdate(reusable.next(), entry.getKey(), entry.getValue()));
+            } else {
+                inserts.add(newTimetable(shuttle, entry.getKey(), entry.getValue(), template));
+            }
+        }
+
+        // 4. 짝이 없는 기존 회차 삭제
+        reusable.forEachRemaining(removed::add);
+
+        return new MergePlan(updates, inserts, removed, unchanged);
+    }
+
+    // 변경 내역 반영 (삭제는 한 번에, 수정은 변경 감지로 일괄 처리)
+    private List<Timetable> apply(List<MergePlan> plans) {
+        List<Timetable> removed = new ArrayList<>();
+        List<Timetable> changed = new ArrayList<>();
+        for (MergePlan plan : plans) {
+            removed.addAll(plan.removed());
+            for (RowUpdate update : plan.updates()) {
+                Timetable timetable = update.timetable();
+                timetable.updateDepartureTime(update.departureTime());
+                timetable.updateSeatsAndLocations(update.totalSeats(), update.boardingLocation(), update.dropoffLocation());
+                changed.add(timetable);
+            }
+            changed.addAll(plan.inserts());
+        }
+
+        if (!removed.isEmpty()) {
+            timetableRepository.deleteAllInBatch(removed);
+        }
+        if (!changed.isEmpty()) {
+            timetableRepository.saveAll(changed);
+        }
+        return changed;
+    }
+
+    // 요청에 값이 있는 항목만 변경
+    private RowUpdate toRowUpdate(Timetable timetable, LocalTime departureTime, UpdateTimetableRequestDto.TimetableDto dto) {
+        return new RowUpdate(timetable, departureTime,
+                dto.getTotalSeats() != null ? dto.getTotalSeats() : timetable.getTotalSeats(),
+                hasText(dto.getBoardingLocation()) ? dto.getBoardingLocation() : timetable.getBoardingLocation(),
+                hasText(dto.getDropoffLocation()) ? dto.getDropoffLocation() : timetable.getDropoffLocation());
+    }
+
+    private static boolean isUnchanged(RowUpdate update) {
+        Timetable timetable = update.timetable();
+        return Objects.equals(update.departureTime(), timetable.getDepartureTime())
+                && Objects.equals(update.totalSeats(), timetable.getTotalSeats())
+                && Objects.equals(update.boardingLocation(), timetable.getBoardingLocation())
+                && Objects.equals(update.dropoffLocation(), timetable.getDropoffLocation());
+    }
+
+    // 새 회차 (요청 값이 없으면 첫 회차 값 사용)
+    private Timetable newTimetable(Shuttle shuttle, LocalTime departureTime,
+                                   UpdateTimetableRequestDto.TimetableDto dto, Timetable template) {
+        String boardingLocation = hasText(dto.getBoardingLocation()) ? dto.getBoardingLocation()
+                : template == null ? null : template.getBoardingLocation();
+        String dropoffLocation = hasText(dto.getDropoffLocation()) ? dto.getDropoffLocation()
+                : template == null ? null : template.getDropoffLocation();
+        if (boardingLocation == null || dropoffLocation == null) {
+            throw new IllegalArgumentException("새 회차의 탑승 / 하차 장소를 입력해 주세요 : " + dto.getDepartureTime());
+        }
+
+        return Timetable.builder()
+                .shuttle(shuttle)
+                .departureTime(departureTime)
+                .arrivalMinutes(template == null ? null : template.getArrivalMinutes())
+                .totalSeats(dto.getTotalSeats() != null ? dto.getTotalSeats()
+                        : template == null ? null : template.getTotalSeats())
+                .boardingLocation(boardingLocation)
+                .dropoffLocation(dropoffLocation)
+                .build();
+    }
 
-        timetableRepository.saveAll(timetableEntities);
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
     }
 
     private String formatDuration(Integer minutes) {
@@ -0,0 +1,60 @@
+package onehajo.seurasaeng.shuttle.util;
+
+import java.time.LocalTime;
+
+/**
+ * 시간표 운행 회차 계산
+ * 탑승 시각이 속한 회차는 출발 후 유예 시간이 지나지 않은 가장 이른 출발 시각으로 본다.
+ */
+public final class TimetableRuns {
+    // 출발 후에도 같은 회차로 보는 유예 시간 (늦은 탑승)
+    public static final int GRACE_MINUTES = 10;
+
+    // 시간표에 없는 탑승 (막차 이후 등)
+    public static final int NO_RUN = -1;
+
+    private TimetableRuns() {
+    }
+
+    /**
+     * 회차 출발 시각(자정 기준 분) 조회
+     * @param sortedDepartureMinutes 오름차순 정렬된 출발 시각(분)
+     */
+    public static int resolveDepartureMinute(int[] sortedDepartureMinutes, LocalTime at) {
+        int index = resolveRunIndex(sortedDepartureMinutes, at);
+        return index == NO_RUN ? NO_RUN : sortedDepartureMinutes[index];
+    }
+
+    /**
+     * 회차 인덱스 조회 (같은 출발 시각이 여러 개면 첫 번째, 회차가 없으면 -1)
+     */
+    public static int resolveRunIndex(int[] sortedDepartureMinutes, LocalTime at) {
+        int index = firstDepartureAtOrAfter(sortedDepartureMinutes, toMinute(at) - GRACE_MINUTES);
+        return index < sortedDepartureMinutes.length ? index : NO_RUN;
+    }
+
+    /**
+     * minute 이후(포함) 첫 출발 시각의 인덱스 (없으면 배열 길이)
+     */
+    public static int firstDepartureAtOrAfter(int[] sortedDepartureMinutes, int minute) {
+        int low = 0;
+        int high = sortedDepartureMinutes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedDepartureMinutes[mid] < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    public static LocalTime toTime(int minute) {
+        return minute == NO_RUN ? null : LocalTime.of(minute / 60, minute % 60);
+    }
+}
@@ -0,0 +1,18 @@
+package onehajo.seurasaeng.socket.dto;
+
+import lombok.*;
+
+/**
+ * 셔틀 탑승 인원 변경 시 클라이언트로 전송할 메시지 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OccupancyMessagePayloadDTO {
+    private Long routeId;
+    private Long count;
+    // 정원 (0 이면 제한 없음)
+    private int capacity;
+    private String timestamp;
+}
@@ -0,0 +1,68 @@
+package onehajo.seurasaeng.socket.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.qr.event.OccupancyChangedEvent;
+import onehajo.seurasaeng.socket.dto.OccupancyMessagePayloadDTO;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 셔틀 탑승 인원 실시간 전송
+ * 탑승 인원 변경은 셔틀별 마지막 값만 모아 두었다가 주기마다 한 번씩 보내,
+ * 탑승이 몰려도 셔틀당 전송 횟수는 주기당 한 번을 넘지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OccupancyBroadcaster {
+    private static final ZoneId KST_ZONE = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // 전송 대기 중인 셔틀별 최신 탑승 인원
+    private final Map<Long, OccupancyChangedEvent> pending = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onOccupancyChanged(OccupancyChangedEvent event) {
+        pending.put(event.getShuttle_id(), event);
+    }
+
+    @Scheduled(fixedDelayString = "${socket.occupancy.coalesce-ms:1000}")
+    public void flush() {
+        for (Long shuttleId : pending.keySet()) {
+            OccupancyChangedEvent event = pending.remove(shuttleId);
+            if (event == null) {
+                continue;
+            }
+
+            OccupancyMessagePayloadDTO payload = OccupancyMessagePayloadDTO.builder()
+                    .routeId(shuttleId)
+                    .count(event.getCount())
+                    .capacity(event.getCapacity())
+                    .timestamp(LocalDateTime.now(KST_ZONE).format(FORMATTER))
+                    .build();
+
+            try {
+                messagingTemplate.convertAndSend(topic(shuttleId), payload);
+            } catch (Exception e) {
+                // 그 사이 새 값이 들어오지 않았으면 다음 주기에 다시 전송
+                pending.putIfAbsent(shuttleId, event);
+                log.error("탑승 인원 메시지 전송 실패: shuttleId={}, {}", shuttleId, e.getMessage(), e);
+            }
+        }
+    }
+
+    public static String topic(Long shuttleId) {
+        return "/topic/route/" + shuttleId + "/occupancy";
+    }
+}
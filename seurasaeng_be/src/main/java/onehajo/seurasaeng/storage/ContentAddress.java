@@ -0,0 +1,37 @@
+package onehajo.seurasaeng.storage;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 내용 주소 키 (SHA-256 hex 를 앞 두 단계 디렉터리로 나눔, 예: ab/cd/abcd...png)
+ * 같은 내용은 항상 같은 키가 되므로 중복 저장이 없고 저장된 객체는 바뀌지 않는다.
+ */
+final class ContentAddress {
+
+    private ContentAddress() {
+    }
+
+    static String keyOf(byte[] content, String contentType) {
+        try {
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+            return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extensionOf(contentType);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 사용 불가", e);
+        }
+    }
+
+    private static String extensionOf(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        return switch (contentType) {
+            case "image/png" -> ".png";
+            case "image/svg+xml" -> ".svg";
+            case "text/csv" -> ".csv";
+            case "application/gzip" -> ".gz";
+            default -> "";
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package onehajo.seurasaeng.storage;
+
+import onehajo.seurasaeng.storage.exception.StorageException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 저장소 (테스트, 네트워크 없는 부하 테스트용 / 재시작 시 사라짐)
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "memory")
+public class InMemoryObjectStorage implements ObjectStorage {
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public String put(byte[] content, String contentType) {
+        String key = ContentAddress.keyOf(content, contentType);
+        objects.putIfAbsent(key, content.clone());
+        return key;
+    }
+
+    @Override
+    public byte[] get(String location) {
+        byte[] content = objects.get(location);
+        if (content == null) {
+            throw new StorageException("저장된 파일이 없습니다 : " + location);
+        }
+        return content.clone();
+    }
+
+    @Override
+    public boolean delete(String location) {
+        return objects.remove(location) != null;
+    }
+
+    public int size() {
+        return objects.size();
+    }
+}
@@ -0,0 +1,134 @@
+package onehajo.seurasaeng.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.storage.exception.StorageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로컬 파일시스템 저장소 (location = 내용 주소 키)
+ * 객체가 바뀌지 않으므로 작은 객체는 메모리 매핑해 두고 재사용한다. (최근에 조회한 mmapMaxEntries 개까지)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+    private final Path root;
+    private final long mmapThresholdBytes;
+    private final int mmapMaxEntries;
+
+    // 키 -> 읽기 전용 매핑 (조회 순 LRU, 넘치면 가장 오래 조회하지 않은 매핑을 버리고 GC 때 해제됨)
+    private final Map<String, MappedByteBuffer> mapped;
+
+    public LocalObjectStorage(@Value("${storage.local.root:./data/storage}") String root,
+                              @Value("${storage.local.mmap-threshold-bytes:65536}") long mmapThresholdBytes,
+                              @Value("${storage.local.mmap-max-entries:1024}") int mmapMaxEntries) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.mmapThresholdBytes = mmapThresholdBytes;
+        this.mmapMaxEntries = mmapMaxEntries;
+        this.mapped = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MappedByteBuffer> eldest) {
+                return size() > LocalObjectStorage.this.mmapMaxEntries;
+            }
+        });
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public String put(byte[] content, String contentType) {
+        String key = ContentAddress.keyOf(content, contentType);
+        Path path = resolve(key);
+        if (Files.exists(path)) {
+            return key;
+        }
+
+        try {
+            Files.createDirectories(path.getParent());
+            // 임시 파일에 쓴 뒤 이동해 읽는 쪽에서 쓰다 만 파일을 보지 않도록 함
+            Path temp = Files.createTempFile(path.getParent(), ".upload-", ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // 같은 내용을 동시에 저장한 경우
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return key;
+        } catch (IOException e) {
+            log.error("로컬 파일 저장 실패: {}", key, e);
+            throw new StorageException("파일을 저장할 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public byte[] get(String location) {
+        MappedByteBuffer buffer = mapped.get(location);
+        if (buffer != null) {
+            return copyOf(buffer);
+        }
+
+        Path path = resolve(location);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= mmapThresholdBytes && mmapMaxEntries > 0) {
+                MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                mapped.putIfAbsent(location, map);
+                return copyOf(map);
+            }
+            return Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            throw new StorageException("저장된 파일이 없습니다 : " + location, e);
+        } catch (IOException e) {
+            log.error("로컬 파일 조회 실패: {}", location, e);
+            throw new StorageException("파일을 읽을 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public boolean delete(String location) {
+        mapped.remove(location);
+        try {
+            return Files.deleteIfExists(resolve(location));
+        } catch (IOException e) {
+            log.error("로컬 파일 삭제 실패: {}", location, e);
+            return false;
+        }
+    }
+
+    // 매핑 보관 여부 (테스트용)
+    boolean isMapped(String location) {
+        return mapped.containsKey(location);
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new StorageException("잘못된 저장소 키 : " + key);
+        }
+        return path;
+    }
+
+    private byte[] copyOf(MappedByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate();
+        byte[] content = new byte[view.remaining()];
+        view.get(content);
+        return content;
+    }
+}
@@ -0,0 +1,22 @@
+package onehajo.seurasaeng.storage;
+
+/**
+ * 오브젝트 저장소 SPI
+ * storage.type 으로 구현체를 고른다. (s3 : 기본값, local : 로컬 파일시스템, memory : 테스트/부하 테스트용)
+ * location 은 put 이 반환한 값이며 구현체마다 형식이 다르다. (S3 는 객체 URL, 그 외는 내용 주소 키)
+ */
+public interface ObjectStorage {
+
+    /**
+     * 저장 후 location 반환
+     */
+    String put(byte[] content, String contentType);
+
+    /**
+     * 조회
+     * @throws onehajo.seurasaeng.storage.exception.StorageException 없거나 읽을 수 없는 경우
+     */
+    byte[] get(String location);
+
+    boolean delete(String location);
+}
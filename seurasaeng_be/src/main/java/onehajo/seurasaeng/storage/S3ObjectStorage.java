@@ -0,0 +1,97 @@
+package onehajo.seurasaeng.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import lombok.extern.slf4j.Slf4j;
+import onehajo.seurasaeng.storage.exception.StorageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.UUID;
+
+/**
+ * S3 저장소 (location = 객체 URL)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3ObjectStorage implements ObjectStorage {
+    private final AmazonS3 amazonS3;
+
+    @Value("${spring.cloud.aws.s3.bucket}")
+    private String bucketName;
+
+    public S3ObjectStorage(AmazonS3 amazonS3) {
+        this.amazonS3 = amazonS3;
+    }
+
+    @Override
+    public String put(byte[] content, String contentType) {
+        try {
+            String fileName = UUID.randomUUID() + extensionOf(contentType);
+
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(content.length);
+            metadata.setContentType(contentType);
+
+            amazonS3.putObject(new PutObjectRequest(bucketName, fileName, new ByteArrayInputStream(content), metadata));
+
+            String url = amazonS3.getUrl(bucketName, fileName).toString();
+            log.info(url);
+            return url;
+        } catch (Exception e) {
+            log.error("S3 파일 업로드 실패", e);
+            throw new StorageException("파일을 업로드할 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public byte[] get(String location) {
+        try {
+            // S3 URL 키 추출
+            String key = extractKeyFromUrl(location);
+
+            // S3 파일 다운로드
+            S3Object s3Object = amazonS3.getObject(bucketName, key);
+            try (S3ObjectInputStream inputStream = s3Object.getObjectContent()) {
+                // InputStream -> byte[]
+                return inputStream.readAllBytes();
+            }
+        } catch (Exception e) {
+            log.error("S3 파일 다운로드 실패: {}", location, e);
+            throw new StorageException("QR 코드 이미지를 가져올 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public boolean delete(String location) {
+        try {
+            amazonS3.deleteObject(bucketName, extractKeyFromUrl(location));
+            return true;
+        } catch (Exception e) {
+            log.error("S3 파일 삭제 실패: {}", location, e);
+            return false;
+        }
+    }
+
+    private String extractKeyFromUrl(String s3Url) {
+        // S3 URL에서 키 부분만 추출
+        try {
+            URI uri = new URI(s3Url);
+            return uri.getPath().substring(1);
+        } catch (URISyntaxException e) {
+            throw new StorageException("잘못된 S3 URL 형식: " + s3Url, e);
+        }
+    }
+
+    private String extensionOf(String contentType) {
+        return "image/png".equals(contentType) ? ".png" : "";
+    }
+}
@@ -1,8 +1,13 @@
 package onehajo.seurasaeng.user.repository;
 
 import onehajo.seurasaeng.entity.User;
+import onehajo.seurasaeng.qr.dto.QrReqDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -18,4 +23,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByIdAndEmail(Long id, String email);
 
     boolean existsByEmail(String email);
+
+    // QR 발급 정보 조회 (오프라인 검증 번들용, since 이후 가입자만)
+    @Query("SELECT new onehajo.seurasaeng.qr.dto.QrReqDTO(u.id, u.email) FROM User u WHERE u.id > :since ORDER BY u.id")
+    List<QrReqDTO> findQrSubjectsByIdGreaterThan(@Param("since") Long since);
+
+    // 사용자 ID 키셋 페이지 조회 (QR 일괄 재발급용)
+    @Query("SELECT u.id FROM User u WHERE u.id > :cursor ORDER BY u.id")
+    List<Long> findIdsByIdGreaterThan(@Param("cursor") Long cursor, Pageable pageable);
+
+    long countByIdGreaterThan(Long id);
 }
@@ -0,0 +1,131 @@
+package onehajo.seurasaeng.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 미리 직렬화해 둔 JSON 응답 (UTF-8 원본 + gzip)
+ * 모든 사용자에게 같은 본문을 주는 조회 API 에서 요청마다 직렬화 / 압축하지 않고 바이트를 그대로 내려준다.
+ * 인코딩별로 ETag 를 따로 두고, 바뀌지 않았으면 304 로 응답한다.
+ */
+public final class EncodedJsonResponse {
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache();
+
+    private final String version;
+    private final boolean empty;
+    private final byte[] identity;
+    private final byte[] gzip;
+
+    private EncodedJsonResponse(String version, boolean empty, byte[] identity, byte[] gzip) {
+        this.version = version;
+        this.empty = empty;
+        this.identity = identity;
+        this.gzip = gzip;
+    }
+
+    /**
+     * 본문 직렬화 (version 이 null 이면 직렬화 결과로 계산)
+     * @param empty true 면 204 No Content 로 응답
+     */
+    public static EncodedJsonResponse encode(ObjectMapper objectMapper, Object body, String version, boolean empty) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+        return new EncodedJsonResponse(version != null ? version : hash(identity), empty, identity, gzip(identity));
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * 요청의 Accept-Encoding / If-None-Match 에 맞춰 응답
+     */
+    public ResponseEntity<byte[]> toResponse(WebRequest webRequest) {
+        if (empty) {
+            return ResponseEntity.noContent().build();
+        }
+
+        boolean gzipped = acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String eTag = "\"" + version + (gzipped ? "-gzip" : "") + "\"";
+
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CACHE_CONTROL)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        byte[] body = gzipped ? gzip : identity;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // q=0 으로 명시적으로 거부한 경우는 제외
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String coding = parts[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.matches("[qQ]=0(\\.0*)?")) {
+                    rejected = true;
+                }
+            }
+            return !rejected;
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] identity) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, identity.length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(identity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] identity) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
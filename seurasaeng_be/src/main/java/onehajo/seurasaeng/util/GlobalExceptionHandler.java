@@ -6,9 +6,11 @@ import onehajo.seurasaeng.inquiry.exception.ManagerNotFoundException;
 import onehajo.seurasaeng.inquiry.exception.UnauthorizedAccessException;
 import onehajo.seurasaeng.qr.exception.DuplicateBoardingException;
 import onehajo.seurasaeng.qr.exception.InvalidQRCodeException;
+import onehajo.seurasaeng.qr.exception.ShuttleFullException;
 import onehajo.seurasaeng.qr.exception.UserNotFoundException;
 import onehajo.seurasaeng.shuttle.exception.InvalidTimetableSizeException;
 import onehajo.seurasaeng.shuttle.exception.ShuttleNotFoundException;
+import onehajo.seurasaeng.shuttle.exception.TimetableImportException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.ErrorResponse;
@@ -57,6 +59,12 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(TimetableImportException.class)
+    public ResponseEntity<Map<String, Object>> handleTimetableImport(TimetableImportException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage(), "details", e.getErrors()));
+    }
+
     @ExceptionHandler(ShuttleNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleShuttleNotFound(Exception e) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -92,4 +100,10 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(Map.of("error", e.getMessage()));
     }
+
+    @ExceptionHandler(ShuttleFullException.class)
+    public ResponseEntity<Map<String, String>> handleShuttleFullException(ShuttleFullException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", e.getMessage()));
+    }
 }
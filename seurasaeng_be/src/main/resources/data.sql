@@ -106,4 +106,31 @@ INSERT INTO seurasaeng_prod.timetable (timetable_id, shuttle_id, departure_time,
 (44, 10, '17:10', 'G동 옆 도로', '3번출구 앞', 30, 45),
 (45, 10, '18:10', 'G동 옆 도로', '3번출구 앞', 30, 45),
 (46, 10, '19:20', 'G동 옆 도로', '3번출구 앞', 30, 45)
-ON CONFLICT (timetable_id) DO NOTHING;
\ No newline at end of file
+ON CONFLICT (timetable_id) DO NOTHING;
+
+-- 탑승 내역 시퀀스 (IDENTITY -> SEQUENCE 전환, 기존 boarding_id 이후부터 할당)
+CREATE SEQUENCE IF NOT EXISTS seurasaeng_prod.boarding_seq INCREMENT BY 50;
+
+SELECT setval('seurasaeng_prod.boarding_seq',
+    GREATEST((SELECT COALESCE(MAX(boarding_id), 0) + 50 FROM seurasaeng_prod.boarding),
+             (SELECT last_value FROM seurasaeng_prod.boarding_seq)));
+
+-- 시간표 시퀀스 (IDENTITY -> SEQUENCE 전환, 기존 timetable_id 이후부터 할당)
+CREATE SEQUENCE IF NOT EXISTS seurasaeng_prod.timetable_seq INCREMENT BY 50;
+
+SELECT setval('seurasaeng_prod.timetable_seq',
+    GREATEST((SELECT COALESCE(MAX(timetable_id), 0) + 50 FROM seurasaeng_prod.timetable),
+             (SELECT last_value FROM seurasaeng_prod.timetable_seq)));
+
+-- 집계에 반영한 탑승 (탑승 집계 단계가 재전달된 이벤트를 다시 더하지 않도록 기록)
+CREATE TABLE IF NOT EXISTS seurasaeng_prod.ridership_applied (
+    user_id          BIGINT    NOT NULL,
+    shuttle_id       BIGINT    NOT NULL,
+    service_date     DATE      NOT NULL,
+    boarding_time    TIMESTAMP NOT NULL,
+    -- 승인한 회차 출발 시각 (자정 기준 분, 시간표에 없는 탑승은 -1, 기존 행은 null)
+    departure_minute INTEGER,
+    PRIMARY KEY (user_id, shuttle_id, service_date)
+);
+
+ALTER TABLE seurasaeng_prod.ridership_applied ADD COLUMN IF NOT EXISTS departure_minute INTEGER;
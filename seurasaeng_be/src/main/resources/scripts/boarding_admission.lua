@@ -0,0 +1,43 @@
+-- 탑승 승인 (중복 확인 + 정원 확인 + 인원 증가를 하나의 원자적 단계로 처리)
+-- 여러 건을 한 번에 처리할 수 있으며, 항목은 전달된 순서대로 처리된다.
+-- KEYS    : 항목마다 2개
+--           [2i-1] 운행일 탑승자 Set  (boarding:riders:shuttle:{shuttle_id}:{yyyy-MM-dd})
+--           [2i]   회차 탑승 인원 카운터 (boarding:count:shuttle:{shuttle_id}:{yyyy-MM-dd}:{HH:mm | none})
+-- ARGV[1] : 탑승자 Set / 카운터 TTL (초)
+-- ARGV    : 항목마다 3개
+--           [3i-1] user_id
+--           [3i]   정원 (0 이하이면 제한 없음)
+--           [3i+1] 인원 카운터 반영 여부 (1 = 반영, 0 = 지난 운행일 등 미반영)
+-- return  : 항목마다 {status, count}  status 0 = 승인, 1 = 중복, 2 = 만석
+
+local ttl = tonumber(ARGV[1])
+local result = {}
+
+for i = 1, #KEYS / 2 do
+    local riders = KEYS[2 * i - 1]
+    local counter = KEYS[2 * i]
+    local user = ARGV[3 * i - 1]
+    local capacity = tonumber(ARGV[3 * i])
+    local counted = ARGV[3 * i + 1] == '1'
+
+    local count = tonumber(redis.call('GET', counter) or '0')
+    local status = 0
+
+    if redis.call('SISMEMBER', riders, user) == 1 then
+        status = 1
+    elseif counted and capacity > 0 and count >= capacity then
+        status = 2
+    else
+        redis.call('SADD', riders, user)
+        redis.call('EXPIRE', riders, ttl)
+        if counted then
+            count = redis.call('INCR', counter)
+            redis.call('EXPIRE', counter, ttl)
+        end
+    end
+
+    result[#result + 1] = status
+    result[#result + 1] = count
+end
+
+return result
@@ -0,0 +1,15 @@
+-- 탑승 승인 취소 (DB 저장 실패 시 승인 결과 되돌리기)
+-- KEYS[1] : 운행일 탑승자 Set
+-- KEYS[2] : 회차 탑승 인원 카운터
+-- ARGV[1] : user_id
+-- ARGV[2] : 인원 카운터 반영 여부 (1 = 반영된 승인, 0 = 미반영)
+-- return  : 취소 여부 (1 = 취소, 0 = 승인 내역 없음)
+
+if redis.call('SREM', KEYS[1], ARGV[1]) == 1 then
+    if ARGV[2] == '1' and tonumber(redis.call('GET', KEYS[2]) or '0') > 0 then
+        redis.call('DECR', KEYS[2])
+    end
+    return 1
+end
+
+return 0
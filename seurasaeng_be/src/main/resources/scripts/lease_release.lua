@@ -0,0 +1,10 @@
+-- 작업 점유 해제 (점유자가 자신일 때만)
+-- KEYS[1] : 점유 키
+-- ARGV[1] : 점유 토큰
+-- return  : 해제 여부 (1 = 해제, 0 = 점유자 아님)
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+
+return 0
@@ -0,0 +1,11 @@
+-- 작업 점유 연장 (점유자가 자신일 때만)
+-- KEYS[1] : 점유 키
+-- ARGV[1] : 점유 토큰
+-- ARGV[2] : 점유 시간 (ms)
+-- return  : 연장 여부 (1 = 연장, 0 = 점유 상실)
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+end
+
+return 0
@@ -0,0 +1,212 @@
+package onehajo.seurasaeng.archive;
+
+import onehajo.seurasaeng.archive.dto.BoardingArchiveRecordDTO;
+import onehajo.seurasaeng.archive.service.BoardingArchiveService;
+import onehajo.seurasaeng.archive.service.BoardingPartitionService;
+import onehajo.seurasaeng.archive.util.BoardingArchiveFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("탑승 내역 보관 단위 테스트")
+public class BoardingArchiveUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BoardingArchiveService boardingArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        boardingArchiveService = new BoardingArchiveService(tempDir.toString());
+    }
+
+    @Test
+    @DisplayName("보관 파일은 운행일 블록 색인으로 기간 내 탑승 내역만 읽음")
+    void writeAndReadByIndex() throws Exception {
+        Path path = tempDir.resolve("boarding.csv.gz");
+        try (BoardingArchiveFile.Writer writer = new BoardingArchiveFile.Writer(path)) {
+            writer.append(record(1L, 10L, 1L, LocalDateTime.of(2024, 3, 1, 7, 20)));
+            writer.append(record(2L, 11L, 2L, LocalDateTime.of(2024, 3, 1, 7, 40)));
+            writer.append(record(3L, 10L, 1L, LocalDateTime.of(2024, 3, 2, 7, 20)));
+            writer.append(record(4L, 10L, 2L, LocalDateTime.of(2024, 3, 5, 18, 0)));
+        }
+
+        assertThat(BoardingArchiveFile.readIndex(path))
+                .extracting(BoardingArchiveFile.Block::date, BoardingArchiveFile.Block::rows)
+                .containsExactly(
+                        tuple(LocalDate.of(2024, 3, 1), 2),
+                        tuple(LocalDate.of(2024, 3, 2), 1),
+                        tuple(LocalDate.of(2024, 3, 5), 1));
+
+        List<BoardingArchiveRecordDTO> records = BoardingArchiveFile.read(path,
+                LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0),
+                record -> record.getUser_id() == 10L);
+
+        assertThat(records).extracting(BoardingArchiveRecordDTO::getBoarding_id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("탑승 시각 역순 기록 불가")
+    void rejectOutOfOrder() throws Exception {
+        try (BoardingArchiveFile.Writer writer = new BoardingArchiveFile.Writer(tempDir.resolve("boarding.csv.gz"))) {
+            writer.append(record(1L, 10L, 1L, LocalDateTime.of(2024, 3, 2, 7, 20)));
+
+            assertThatThrownBy(() -> writer.append(record(2L, 10L, 1L, LocalDateTime.of(2024, 3, 1, 7, 20))))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 달에 걸친 보관 내역 조회 (보관 파일이 없는 달은 건너뜀)")
+    void findAcrossMonths() throws Exception {
+        try (BoardingArchiveFile.Writer writer = new BoardingArchiveFile.Writer(
+                boardingArchiveService.pathOf(YearMonth.of(2024, 3)))) {
+            writer.append(record(1L, 10L, 1L, LocalDateTime.of(2024, 3, 31, 8, 0)));
+        }
+        try (BoardingArchiveFile.Writer writer = new BoardingArchiveFile.Writer(
+                boardingArchiveService.pathOf(YearMonth.of(2024, 4)))) {
+            writer.append(record(2L, 10L, 3L, LocalDateTime.of(2024, 4, 1, 8, 0)));
+            writer.append(record(3L, 10L, 1L, LocalDateTime.of(2024, 4, 2, 8, 0)));
+        }
+
+        List<BoardingArchiveRecordDTO> records = boardingArchiveService.find(
+                LocalDate.of(2024, 3, 20), LocalDate.of(2024, 4, 1), 10L, 1L);
+
+        assertThat(records).extracting(BoardingArchiveRecordDTO::getBoarding_id).containsExactly(1L);
+        assertThat(boardingArchiveService.find(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 2), null, null)).isEmpty();
+        assertThatThrownBy(() -> boardingArchiveService.find(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1), null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("조회 기간은 최대 31일입니다.");
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 파티션만 파일로 내보낸 뒤 분리 / 삭제 (분리 전 늦게 들어온 행은 다시 내보냄)")
+    void archiveExpiredPartitions() throws Exception {
+        YearMonth expired = YearMonth.now().minusMonths(13);
+        YearMonth recent = YearMonth.now().minusMonths(1);
+        String expiredName = partitionName(expired);
+        String recentName = partitionName(recent);
+
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .willReturn(List.of(expiredName, recentName, "boarding_default"));
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).willReturn(1);
+        given(jdbcTemplate.queryForObject(startsWith("SELECT to_regclass"), eq(Boolean.class))).willReturn(true);
+        given(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class))).willReturn(true);
+        // 스냅샷 내보내기 0건 -> 분리 전에 1건이 들어와 분리 후 다시 내보냄
+        given(jdbcTemplate.queryForObject(startsWith("SELECT count(*)"), eq(Long.class))).willReturn(0L, 1L, 1L);
+        ResultSet lateRow = mock(ResultSet.class);
+        given(lateRow.getLong(anyInt())).willReturn(1L);
+        given(lateRow.getTimestamp(4)).willReturn(Timestamp.valueOf(expired.atDay(1).atTime(8, 0)));
+        willDoNothing().willAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(lateRow);
+            return null;
+        }).given(jdbcTemplate).query(contains(expiredName), any(RowCallbackHandler.class));
+
+        BoardingPartitionService boardingPartitionService =
+                new BoardingPartitionService(jdbcTemplate, transactionManager, boardingArchiveService, 2, 12);
+
+        assertThat(boardingPartitionService.archiveExpired()).containsExactly(expired);
+        assertThat(boardingArchiveService.find(expired.atDay(1), expired.atDay(1), 1L, null)).hasSize(1);
+        then(jdbcTemplate).should().execute("SET LOCAL lock_timeout = '5s'");
+        then(jdbcTemplate).should().execute("ALTER TABLE seurasaeng_prod.boarding DETACH PARTITION seurasaeng_prod." + expiredName);
+        then(jdbcTemplate).should(times(2)).query(contains(expiredName), any(RowCallbackHandler.class));
+        then(jdbcTemplate).should().execute("DROP TABLE seurasaeng_prod." + expiredName);
+        then(jdbcTemplate).should(never()).execute(contains(recentName));
+        then(jdbcTemplate).should(never()).execute(contains("LOCK TABLE"));
+    }
+
+    @Test
+    @DisplayName("기본 파티션에 해당 월 행이 있어 파티션 생성에 실패하면 기본 파티션을 떼어 내고 옮겨서 생성")
+    void createPartitionMovesRowsFromDefault() {
+        YearMonth current = YearMonth.now();
+        String partition = "seurasaeng_prod." + partitionName(current);
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).willReturn(1);
+        willThrow(new DataIntegrityViolationException("updated partition constraint for default partition would be violated"))
+                .willDoNothing()
+                .given(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS " + partition));
+        given(jdbcTemplate.update(startsWith("WITH moved AS"), any(Object[].class))).willReturn(3);
+
+        new BoardingPartitionService(jdbcTemplate, transactionManager, boardingArchiveService, 0, 12).createPartitions();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE seurasaeng_prod.boarding DETACH PARTITION seurasaeng_prod.boarding_default");
+        inOrder.verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS " + partition));
+        inOrder.verify(jdbcTemplate).update(contains("INSERT INTO " + partition), any(Object[].class));
+        inOrder.verify(jdbcTemplate).execute(
+                "ALTER TABLE seurasaeng_prod.boarding ATTACH PARTITION seurasaeng_prod.boarding_default DEFAULT");
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 기본 파티션 행은 지우면서 해당 월 보관 파일에 합침 (이미 보관된 탑승은 중복 없이)")
+    @SuppressWarnings("unchecked")
+    void archiveExpiredRowsFromDefault() throws Exception {
+        YearMonth expired = YearMonth.now().minusMonths(14);
+        LocalDateTime archivedTime = expired.atDay(3).atTime(8, 0);
+        LocalDateTime lateTime = expired.atDay(4).atTime(8, 0);
+        try (BoardingArchiveFile.Writer writer = new BoardingArchiveFile.Writer(boardingArchiveService.pathOf(expired))) {
+            writer.append(record(1L, 1L, 1L, archivedTime));
+        }
+
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).willReturn(List.of());
+        given(jdbcTemplate.queryForList(contains("boarding_default"), eq(Date.class), any(Object[].class)))
+                .willReturn(List.of(Date.valueOf(expired.atDay(1))));
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).willReturn(1);
+        // 이미 보관된 탑승의 재전달(다른 boarding_id) 1건 + 새 탑승 1건
+        given(jdbcTemplate.query(startsWith("DELETE FROM seurasaeng_prod.boarding_default"), any(RowMapper.class),
+                any(Object[].class)))
+                .willReturn(List.of(record(900L, 1L, 1L, archivedTime), record(901L, 2L, 1L, lateTime)));
+
+        BoardingPartitionService boardingPartitionService =
+                new BoardingPartitionService(jdbcTemplate, transactionManager, boardingArchiveService, 2, 12);
+
+        assertThat(boardingPartitionService.archiveExpired()).containsExactly(expired);
+        assertThat(boardingArchiveService.find(expired.atDay(1), expired.atDay(28), null, null))
+                .extracting(BoardingArchiveRecordDTO::getBoarding_id)
+                .containsExactly(1L, 901L);
+    }
+
+    private String partitionName(YearMonth month) {
+        return "boarding_p" + String.format("%d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private BoardingArchiveRecordDTO record(Long boardingId, Long userId, Long shuttleId, LocalDateTime boardingTime) {
+        return BoardingArchiveRecordDTO.builder()
+                .boarding_id(boardingId)
+                .user_id(userId)
+                .shuttle_id(shuttleId)
+                .boarding_time(boardingTime)
+                .build();
+    }
+}
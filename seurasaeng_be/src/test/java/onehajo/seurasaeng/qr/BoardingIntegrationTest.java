@@ -2,7 +2,7 @@ package onehajo.seurasaeng.qr;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import onehajo.seurasaeng.entity.*;
-import onehajo.seurasaeng.qr.exception.DuplicateBoardingException;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
 import onehajo.seurasaeng.qr.repository.BoardingRepository;
 import onehajo.seurasaeng.qr.service.BoardingService;
 import onehajo.seurasaeng.shuttle.repository.LocationRepository;
@@ -19,8 +19,10 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -84,7 +86,7 @@ public class BoardingIntegrationTest {
     @Test
     @DisplayName("탑승 내역 조회 API 테스트")
     void getBoardingRecordsSuccess() throws Exception {
-        boardingService.saveBoardingRecord(testUser.getId(), testShuttle.getId());
+        insertBoarding(testShuttle.getId());
 
         mockMvc.perform(get("/api/shuttle/rides")
                         .header("Authorization", "Bearer " + testToken))
@@ -97,47 +99,35 @@ public class BoardingIntegrationTest {
     @Test
     @DisplayName("탑승 인원 조회 API 테스트")
     void getBoardingCountSuccess() throws Exception {
-        boardingService.incrementBoardingCount(testShuttle.getId());
+        boardingService.admitBoarding(testUser.getId(), testShuttle.getId(), LocalDateTime.now());
 
         mockMvc.perform(get("/api/shuttle/count/{shuttleId}", testShuttle.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.count").value(1));
     }
 
-    @Test
-    @DisplayName("탑승 인원 초기화 API 테스트")
-    void resetBoardingCountSuccess() throws Exception {
-        boardingService.incrementBoardingCount(testShuttle.getId());
-
-        mockMvc.perform(delete("/api/shuttle/count/{shuttleId}", testShuttle.getId()))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.message").value("탑승인원이 삭제되었습니다."));
-
-        Long count = boardingService.getCurrentBoardingCount(testShuttle.getId());
-        assertThat(count).isEqualTo(0L);
-    }
-
     @Test
     @DisplayName("중복 탑승 방지 테스트")
     void preventDuplicateBoarding() {
-        boardingService.saveBoardingRecord(testUser.getId(), testShuttle.getId());
-
+        BoardingEventDTO event = BoardingEventDTO.builder()
+                .user_id(testUser.getId())
+                .shuttle_id(testShuttle.getId())
+                .boarding_time(LocalDateTime.now())
+                .build();
+
+        assertThat(boardingRepository.insertIgnoringDuplicates(List.of(event))).hasSize(1);
+        assertThat(boardingRepository.insertIgnoringDuplicates(List.of(event))).isEmpty();
         assertThat(boardingRepository.findAll()).hasSize(1);
-
-        assertThrows(
-                DuplicateBoardingException.class,
-                () -> boardingService.checkDuplicateBoarding(testUser.getId(), testShuttle.getId())
-        );
     }
 
     @Test
-    @DisplayName("탑승 기록 저장 및 Redis 인원 증가 테스트")
+    @DisplayName("탑승 기록 저장 및 탑승 승인 인원 증가 테스트")
     void saveBoardingRecordAndIncrementCount() {
-        Boarding boarding = boardingService.saveBoardingRecord(testUser.getId(), testShuttle.getId());
-        boardingService.incrementBoardingCount(testShuttle.getId());
+        boardingService.admitBoarding(testUser.getId(), testShuttle.getId(), LocalDateTime.now());
+        List<BoardingEventDTO> saved = insertBoarding(testShuttle.getId());
 
-        assertThat(boarding).isNotNull();
-        assertThat(boarding.getUser_id()).isEqualTo(testUser.getId());
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0).getUser_id()).isEqualTo(testUser.getId());
 
         Long count = boardingService.getCurrentBoardingCount(testShuttle.getId());
         assertThat(count).isEqualTo(1L);
@@ -150,8 +140,8 @@ public class BoardingIntegrationTest {
         Shuttle yangjaeShuttle = shuttleRepository.findById(2L)
                 .orElseThrow(() -> new RuntimeException("양재역 셔틀을 찾을 수 없습니다."));
 
-        boardingService.saveBoardingRecord(testUser.getId(), yangjaeShuttle.getId());
-        boardingService.incrementBoardingCount(yangjaeShuttle.getId());
+        boardingService.admitBoarding(testUser.getId(), yangjaeShuttle.getId(), LocalDateTime.now());
+        insertBoarding(yangjaeShuttle.getId());
 
         Long count = boardingService.getCurrentBoardingCount(yangjaeShuttle.getId());
         assertThat(count).isEqualTo(1L);
@@ -164,12 +154,21 @@ public class BoardingIntegrationTest {
         Shuttle homeShuttle = shuttleRepository.findById(6L)
                 .orElseThrow(() -> new RuntimeException("퇴근 셔틀을 찾을 수 없습니다."));
 
-        boardingService.saveBoardingRecord(testUser.getId(), homeShuttle.getId());
-        boardingService.incrementBoardingCount(homeShuttle.getId());
+        boardingService.admitBoarding(testUser.getId(), homeShuttle.getId(), LocalDateTime.now());
+        insertBoarding(homeShuttle.getId());
 
         Long count = boardingService.getCurrentBoardingCount(homeShuttle.getId());
         assertThat(count).isEqualTo(1L);
 
         assertThat(homeShuttle.getIsCommute()).isFalse();
     }
-}
\ No newline at end of file
+
+    // 스트림 소비 단계와 같은 경로로 탑승 내역 저장
+    private List<BoardingEventDTO> insertBoarding(Long shuttleId) {
+        return boardingRepository.insertIgnoringDuplicates(List.of(BoardingEventDTO.builder()
+                .user_id(testUser.getId())
+                .shuttle_id(shuttleId)
+                .boarding_time(LocalDateTime.now())
+                .build()));
+    }
+}
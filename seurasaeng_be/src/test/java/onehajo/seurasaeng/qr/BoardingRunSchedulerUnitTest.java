@@ -0,0 +1,65 @@
+package onehajo.seurasaeng.qr;
+
+import onehajo.seurasaeng.qr.event.OccupancyChangedEvent;
+import onehajo.seurasaeng.qr.service.BoardingRunScheduler;
+import onehajo.seurasaeng.qr.service.BoardingService;
+import onehajo.seurasaeng.shuttle.dto.TimetableRunDto;
+import onehajo.seurasaeng.shuttle.service.TimetableRunResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("운행 회차 전환 단위 테스트")
+public class BoardingRunSchedulerUnitTest {
+
+    @Mock
+    private TimetableRunResolver timetableRunResolver;
+
+    @Mock
+    private BoardingService boardingService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BoardingRunScheduler boardingRunScheduler;
+
+    @Test
+    @DisplayName("회차가 바뀌면 새 회차 탑승 인원 알림")
+    void publishOnRollover() {
+        LocalDate today = LocalDate.now();
+        given(timetableRunResolver.getShuttleIds()).willReturn(Set.of(1L));
+        given(timetableRunResolver.resolve(eq(1L), any(LocalDateTime.class))).willReturn(
+                new TimetableRunDto(1L, today, LocalTime.of(7, 30), 45),
+                new TimetableRunDto(1L, today, LocalTime.of(7, 30), 45),
+                new TimetableRunDto(1L, today, LocalTime.of(8, 0), 25));
+        given(boardingService.getCurrentBoardingCount(1L)).willReturn(0L);
+
+        boardingRunScheduler.rollover();
+        boardingRunScheduler.rollover();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        boardingRunScheduler.rollover();
+
+        ArgumentCaptor<OccupancyChangedEvent> captor = ArgumentCaptor.forClass(OccupancyChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertThat(captor.getValue().getShuttle_id()).isEqualTo(1L);
+        assertThat(captor.getValue().getCount()).isZero();
+        assertThat(captor.getValue().getCapacity()).isEqualTo(25);
+    }
+}
@@ -0,0 +1,385 @@
+package onehajo.seurasaeng.qr;
+
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import onehajo.seurasaeng.qr.repository.BoardingRepository;
+import onehajo.seurasaeng.qr.service.BoardingPersistenceHandler;
+import onehajo.seurasaeng.qr.service.BoardingStreamConsumer;
+import onehajo.seurasaeng.qr.service.BoardingStreamHandler;
+import onehajo.seurasaeng.qr.util.BoardingStreamCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("탑승 이벤트 스트림 단위 테스트")
+public class BoardingStreamUnitTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private BoardingRepository boardingRepository;
+
+    private RecordingHandler handler;
+    private BoardingStreamConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        given(redisTemplate.<Object, Object>opsForStream()).willReturn(streamOperations);
+        given(redisTemplate.<Object, Object>opsForHash()).willReturn(hashOperations);
+        handler = new RecordingHandler();
+        consumer = new BoardingStreamConsumer(redisTemplate, List.of(handler), "test-consumer", 10, 10, 60000, 3, 100);
+    }
+
+    @Test
+    @DisplayName("탑승 이벤트 레코드 변환")
+    void codecRoundTrip() {
+        BoardingEventDTO event = event(1L, 2L, LocalDateTime.of(2025, 6, 2, 7, 31, 5));
+
+        BoardingEventDTO decoded = BoardingStreamCodec.decode(BoardingStreamCodec.encode(event));
+
+        assertThat(decoded.getUser_id()).isEqualTo(1L);
+        assertThat(decoded.getShuttle_id()).isEqualTo(2L);
+        assertThat(decoded.getBoarding_time()).isEqualTo(event.getBoarding_time());
+        // 회차가 없는 이전 형식 레코드
+        assertThat(decoded.getDeparture_minute()).isNull();
+        assertThat(BoardingStreamCodec.decode(BoardingStreamCodec.encode(BoardingEventDTO.builder()
+                .user_id(1L)
+                .shuttle_id(2L)
+                .boarding_time(event.getBoarding_time())
+                .departure_minute(7 * 60 + 30)
+                .build())).getDeparture_minute()).isEqualTo(7 * 60 + 30);
+        assertThatThrownBy(() -> BoardingStreamCodec.decode(Map.of("u", "1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("처리에 성공한 묶음만 확인(ACK)")
+    @SuppressWarnings("unchecked")
+    void acknowledgeOnSuccess() {
+        givenRead(record("1-0", event(1L, 1L, LocalDateTime.now())), record("2-0", event(2L, 1L, LocalDateTime.now())));
+
+        consumer.poll(handler);
+
+        assertThat(handler.handled).hasSize(2);
+        then(streamOperations).should().acknowledge(BoardingStreamCodec.STREAM_KEY, "test",
+                RecordId.of("1-0"), RecordId.of("2-0"));
+    }
+
+    @Test
+    @DisplayName("처리에 실패하면 확인하지 않고 재전달 대기 (실패 횟수 기록)")
+    void keepPendingOnFailure() {
+        handler.failure = new IllegalStateException("잘못된 데이터");
+        givenRead(record("1-0", event(1L, 1L, LocalDateTime.now())));
+
+        consumer.poll(handler);
+
+        then(streamOperations).should(never()).acknowledge(anyString(), anyString(), any(RecordId[].class));
+        then(hashOperations).should().increment(BoardingStreamCodec.FAILURES_KEY_PREFIX + "test", "1-0", 1);
+    }
+
+    @Test
+    @DisplayName("일시적인 장애로 인한 실패는 실패 횟수에 넣지 않음")
+    void transientFailureIsNotCounted() {
+        handler.failure = new DataAccessResourceFailureException("DB 연결 실패");
+        givenRead(record("1-0", event(1L, 1L, LocalDateTime.now())));
+
+        consumer.poll(handler);
+
+        then(streamOperations).should(never()).acknowledge(anyString(), anyString(), any(RecordId[].class));
+        then(hashOperations).should(never()).increment(anyString(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 레코드는 별도 스트림으로 이동")
+    @SuppressWarnings("unchecked")
+    void deadLetterMalformedRecord() {
+        MapRecord<String, Object, Object> malformed = StreamRecords.newRecord()
+                .in(BoardingStreamCodec.STREAM_KEY)
+                .withId(RecordId.of("1-0"))
+                .ofMap(Map.<Object, Object>of("u", "x"));
+        givenRead(malformed, record("2-0", event(2L, 1L, LocalDateTime.now())));
+
+        consumer.poll(handler);
+
+        assertThat(handler.handled).extracting(BoardingEventDTO::getUser_id).containsExactly(2L);
+        then(streamOperations).should().add(eq(BoardingStreamCodec.DEAD_LETTER_KEY), anyMap());
+        then(streamOperations).should().trim(BoardingStreamCodec.DEAD_LETTER_KEY, 100, true);
+        then(streamOperations).should().acknowledge(BoardingStreamCodec.STREAM_KEY, "test", RecordId.of("1-0"));
+        then(streamOperations).should().acknowledge(BoardingStreamCodec.STREAM_KEY, "test", RecordId.of("2-0"));
+    }
+
+    @Test
+    @DisplayName("묶음이 실패하면 한 건씩 다시 처리해 실패한 레코드만 실패 횟수에 넣음")
+    void retryFailedBatchOneByOne() {
+        handler.poison = 2L;
+        givenRead(record("1-0", event(1L, 1L, LocalDateTime.now())),
+                record("2-0", event(2L, 1L, LocalDateTime.now())),
+                record("3-0", event(3L, 1L, LocalDateTime.now())));
+
+        consumer.poll(handler);
+
+        assertThat(handler.handled).extracting(BoardingEventDTO::getUser_id).containsExactly(1L, 3L);
+        then(streamOperations).should().acknowledge(BoardingStreamCodec.STREAM_KEY, "test",
+                RecordId.of("1-0"), RecordId.of("3-0"));
+        then(hashOperations).should().increment(BoardingStreamCodec.FAILURES_KEY_PREFIX + "test", "2-0", 1);
+        then(hashOperations).should(never()).increment(anyString(), eq("1-0"), anyLong());
+        then(hashOperations).should(never()).increment(anyString(), eq("3-0"), anyLong());
+    }
+
+    @Test
+    @DisplayName("오래 확인되지 않은 레코드 재처리 (실패 횟수 초과는 별도 스트림으로 이동)")
+    @SuppressWarnings("unchecked")
+    void reclaimIdlePending() {
+        Consumer crashed = Consumer.from("test", "crashed-consumer");
+        given(streamOperations.pending(eq(BoardingStreamCodec.STREAM_KEY), eq("test"), any(Range.class), anyLong()))
+                .willReturn(new PendingMessages("test", List.of(
+                        new PendingMessage(RecordId.of("1-0"), crashed, Duration.ofMinutes(5), 30),
+                        new PendingMessage(RecordId.of("2-0"), crashed, Duration.ofMinutes(5), 3),
+                        new PendingMessage(RecordId.of("3-0"), crashed, Duration.ofSeconds(1), 1))));
+        // 1-0 은 전달 횟수는 많지만 일시적인 장애로 인한 실패라 실패 횟수 없음
+        given(hashOperations.multiGet(BoardingStreamCodec.FAILURES_KEY_PREFIX + "test", List.of("1-0", "2-0")))
+                .willReturn(Arrays.asList(null, "3"));
+        given(streamOperations.claim(eq(BoardingStreamCodec.STREAM_KEY), eq("test"), eq("test-consumer"),
+                any(Duration.class), any(RecordId[].class)))
+                .willReturn(List.of(
+                        record("1-0", event(1L, 1L, LocalDateTime.now())),
+                        record("2-0", event(2L, 1L, LocalDateTime.now()))));
+
+        consumer.reclaim(handler);
+
+        then(streamOperations).should().claim(BoardingStreamCodec.STREAM_KEY, "test", "test-consumer",
+                Duration.ofMillis(60000), RecordId.of("1-0"), RecordId.of("2-0"));
+        assertThat(handler.handled).extracting(BoardingEventDTO::getUser_id).containsExactly(1L);
+        then(streamOperations).should().add(eq(BoardingStreamCodec.DEAD_LETTER_KEY), anyMap());
+        then(streamOperations).should().acknowledge(BoardingStreamCodec.STREAM_KEY, "test", RecordId.of("2-0"));
+        then(streamOperations).should().acknowledge(BoardingStreamCodec.STREAM_KEY, "test", RecordId.of("1-0"));
+        then(hashOperations).should().delete(BoardingStreamCodec.FAILURES_KEY_PREFIX + "test", "1-0");
+    }
+
+    @Test
+    @DisplayName("미확인 레코드가 묶음 크기보다 많으면 목록 끝까지 이어서 재처리")
+    @SuppressWarnings("unchecked")
+    void reclaimDrainsBacklog() {
+        Consumer stalled = Consumer.from("test", "test-consumer");
+        List<PendingMessage> first = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            first.add(new PendingMessage(RecordId.of(i + "-0"), stalled, Duration.ofMinutes(5), 1));
+        }
+        List<PendingMessage> second = new ArrayList<>();
+        for (int i = 11; i <= 13; i++) {
+            second.add(new PendingMessage(RecordId.of(i + "-0"), stalled, Duration.ofMinutes(5), 1));
+        }
+        given(streamOperations.pending(eq(BoardingStreamCodec.STREAM_KEY), eq("test"), any(Range.class), anyLong()))
+                .willReturn(new PendingMessages("test", first), new PendingMessages("test", second));
+        given(hashOperations.multiGet(anyString(), anyCollection()))
+                .willAnswer(invocation -> Arrays.asList(new Object[invocation.getArgument(1, List.class).size()]));
+        given(streamOperations.claim(eq(BoardingStreamCodec.STREAM_KEY), eq("test"), eq("test-consumer"),
+                any(Duration.class), any(RecordId[].class)))
+                .willAnswer(invocation -> {
+                    List<MapRecord<String, Object, Object>> claimed = new ArrayList<>();
+                    for (int i = 4; i < invocation.getArguments().length; i++) {
+                        RecordId id = invocation.getArgument(i);
+                        claimed.add(record(id.getValue(), event(id.getTimestamp(), 1L, LocalDateTime.now())));
+                    }
+                    return claimed;
+                });
+
+        assertThat(consumer.reclaim(handler)).isEqualTo(13);
+
+        assertThat(handler.handled).hasSize(13);
+        ArgumentCaptor<Range<String>> ranges = ArgumentCaptor.forClass(Range.class);
+        then(streamOperations).should(times(2)).pending(eq(BoardingStreamCodec.STREAM_KEY), eq("test"),
+                ranges.capture(), eq(10L));
+        assertThat(ranges.getAllValues().get(1).getLowerBound())
+                .isEqualTo(Range.Bound.exclusive("10-0"));
+    }
+
+    @Test
+    @DisplayName("별도 스트림 레코드를 실패한 그룹 대상으로 다시 넣음")
+    @SuppressWarnings("unchecked")
+    void replayDeadLetters() {
+        Map<Object, Object> fields = new HashMap<>(BoardingStreamCodec.encode(event(1L, 1L, LocalDateTime.now())));
+        fields.putAll(Map.of("group", "test", "id", "1-0", "reason", "잘못된 데이터"));
+        MapRecord<String, Object, Object> failedInTest = StreamRecords.newRecord()
+                .in(BoardingStreamCodec.DEAD_LETTER_KEY).withId(RecordId.of("5-0")).ofMap(fields);
+        Map<Object, Object> otherFields = new HashMap<>(fields);
+        otherFields.put("group", "other");
+        MapRecord<String, Object, Object> failedInOther = StreamRecords.newRecord()
+                .in(BoardingStreamCodec.DEAD_LETTER_KEY).withId(RecordId.of("6-0")).ofMap(otherFields);
+        given(streamOperations.range(eq(BoardingStreamCodec.DEAD_LETTER_KEY), any(Range.class), any(Limit.class)))
+                .willReturn(List.of(failedInTest, failedInOther));
+
+        long replayed = consumer.replayDeadLetters("test", 100);
+
+        assertThat(replayed).isEqualTo(1);
+        then(streamOperations).should().add(eq(BoardingStreamCodec.STREAM_KEY), argThat((Map<Object, Object> map) ->
+                "test".equals(map.get(BoardingStreamCodec.TARGET_GROUP))
+                        && !map.containsKey("reason") && "1".equals(map.get("u"))));
+        then(streamOperations).should().delete(BoardingStreamCodec.DEAD_LETTER_KEY, RecordId.of("5-0"));
+        then(streamOperations).should(never()).delete(BoardingStreamCodec.DEAD_LETTER_KEY, RecordId.of("6-0"));
+    }
+
+    @Test
+    @DisplayName("다른 그룹을 위해 다시 넣은 레코드는 처리하지 않고 확인")
+    void skipRecordTargetedAtOtherGroup() {
+        Map<Object, Object> fields = new HashMap<>(BoardingStreamCodec.encode(event(1L, 1L, LocalDateTime.now())));
+        fields.put(BoardingStreamCodec.TARGET_GROUP, "other");
+        givenRead(StreamRecords.newRecord().in(BoardingStreamCodec.STREAM_KEY).withId(RecordId.of("1-0")).ofMap(fields));
+
+        consumer.poll(handler);
+
+        assertThat(handler.handled).isEmpty();
+        then(streamOperations).should().acknowledge(BoardingStreamCodec.STREAM_KEY, "test", RecordId.of("1-0"));
+    }
+
+    @Test
+    @DisplayName("스트림 정리 - 모든 그룹의 미확인 · 미전달 레코드 중 가장 오래된 ID 앞까지만 삭제")
+    @SuppressWarnings("unchecked")
+    void trimBelowOldestPendingOrUndelivered() {
+        given(streamOperations.groups(BoardingStreamCodec.STREAM_KEY)).willReturn(StreamInfo.XInfoGroups.fromList(List.of(
+                List.of("name", "test", "consumers", 1L, "pending", 2L, "last-delivered-id", "9-0"),
+                List.of("name", "slow", "consumers", 1L, "pending", 0L, "last-delivered-id", "5-3"))));
+        given(streamOperations.pending(BoardingStreamCodec.STREAM_KEY, "test"))
+                .willReturn(new PendingMessagesSummary("test", 2, Range.closed("7-0", "8-0"), Map.of()));
+        BoardingStreamConsumer twoGroups = new BoardingStreamConsumer(redisTemplate,
+                List.of(handler, groupHandler("slow")), "test-consumer", 10, 10, 60000, 3, 100);
+
+        twoGroups.trim();
+
+        ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        then(redisTemplate).should().execute(callback.capture());
+        RedisConnection connection = mock(RedisConnection.class);
+        callback.getValue().doInRedis(connection);
+        ArgumentCaptor<byte[]> args = ArgumentCaptor.forClass(byte[].class);
+        then(connection).should().execute(eq("XTRIM"), args.capture(), args.capture(), args.capture(), args.capture());
+        assertThat(args.getAllValues()).extracting(String::new)
+                .containsExactly(BoardingStreamCodec.STREAM_KEY, "MINID", "~", "5-3");
+    }
+
+    @Test
+    @DisplayName("스트림 정리 - 아직 만들어지지 않은 그룹이 있으면 정리하지 않음")
+    @SuppressWarnings("unchecked")
+    void skipTrimWhenGroupMissing() {
+        given(streamOperations.groups(BoardingStreamCodec.STREAM_KEY)).willReturn(StreamInfo.XInfoGroups.fromList(List.of(
+                List.of("name", "other", "consumers", 1L, "pending", 0L, "last-delivered-id", "9-0"))));
+
+        consumer.trim();
+
+        then(redisTemplate).should(never()).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("저장 단계는 이미 저장된 탑승을 건너뛰고 저장")
+    void persistenceInsertsIgnoringDuplicates() {
+        LocalDateTime now = LocalDateTime.now();
+        // user 1 은 이미 저장되어 ON CONFLICT 로 건너뜀
+        given(boardingRepository.insertIgnoringDuplicates(anyList())).willReturn(List.of(event(2L, 1L, now)));
+
+        BoardingPersistenceHandler persistenceHandler = new BoardingPersistenceHandler(boardingRepository);
+        persistenceHandler.handle(List.of(event(1L, 1L, now), event(2L, 1L, now)));
+
+        assertThat(persistenceHandler.group()).isEqualTo("persistence");
+        then(boardingRepository).should().insertIgnoringDuplicates(argThat(events -> events.size() == 2));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void givenRead(MapRecord<String, Object, Object>... records) {
+        given(streamOperations.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+                .willReturn(List.of(records));
+    }
+
+    private MapRecord<String, Object, Object> record(String id, BoardingEventDTO event) {
+        return StreamRecords.newRecord()
+                .in(BoardingStreamCodec.STREAM_KEY)
+                .withId(RecordId.of(id))
+                .ofMap(Map.<Object, Object>copyOf(BoardingStreamCodec.encode(event)));
+    }
+
+    private BoardingEventDTO event(Long userId, Long shuttleId, LocalDateTime boardingTime) {
+        return BoardingEventDTO.builder()
+                .user_id(userId)
+                .shuttle_id(shuttleId)
+                .boarding_time(boardingTime)
+                .build();
+    }
+
+    private BoardingStreamHandler groupHandler(String group) {
+        return new BoardingStreamHandler() {
+            @Override
+            public String group() {
+                return group;
+            }
+
+            @Override
+            public void handle(List<BoardingEventDTO> events) {
+            }
+        };
+    }
+
+    private static class RecordingHandler implements BoardingStreamHandler {
+        private final List<BoardingEventDTO> handled = new ArrayList<>();
+        private RuntimeException failure;
+        private Long poison;
+
+        @Override
+        public String group() {
+            return "test";
+        }
+
+        @Override
+        public void handle(List<BoardingEventDTO> events) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (poison != null && events.stream().anyMatch(event -> poison.equals(event.getUser_id()))) {
+                throw new IllegalStateException("잘못된 데이터 : " + poison);
+            }
+            handled.addAll(events);
+        }
+    }
+}
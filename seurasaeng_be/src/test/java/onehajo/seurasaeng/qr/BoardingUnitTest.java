@@ -1,26 +1,38 @@
 package onehajo.seurasaeng.qr;
 
 import onehajo.seurasaeng.entity.*;
+import onehajo.seurasaeng.qr.dto.AdmissionStatus;
+import onehajo.seurasaeng.qr.dto.BoardingAdmissionDTO;
+import onehajo.seurasaeng.qr.dto.BoardingAdmissionReqDTO;
+import onehajo.seurasaeng.qr.dto.BoardingRecordPageDTO;
 import onehajo.seurasaeng.qr.dto.BoardingRecordResDTO;
-import onehajo.seurasaeng.qr.exception.DuplicateBoardingException;
+import onehajo.seurasaeng.qr.event.OccupancyChangedEvent;
 import onehajo.seurasaeng.qr.repository.BoardingRepository;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
 import onehajo.seurasaeng.qr.service.BoardingService;
-import onehajo.seurasaeng.shuttle.exception.ShuttleNotFoundException;
-import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
+import onehajo.seurasaeng.qr.util.BoardingStreamCodec;
+import onehajo.seurasaeng.shuttle.dto.TimetableRunDto;
+import onehajo.seurasaeng.shuttle.service.TimetableRunResolver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.time.LocalTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,15 +45,25 @@ public class BoardingUnitTest {
     @Mock
     private BoardingRepository boardingRepository;
 
-    @Mock
-    private ShuttleRepository shuttleRepository;
-
     @Mock
     private RedisTemplate<String, String> redisTemplate;
 
     @Mock
     private ValueOperations<String, String> valueOperations;
 
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    @SuppressWarnings("rawtypes")
+    private RedisScript<List> boardingAdmissionScript;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TimetableRunResolver timetableRunResolver;
+
     @InjectMocks
     private BoardingService boardingService;
 
@@ -89,54 +111,100 @@ public class BoardingUnitTest {
     }
 
     @Test
-    @DisplayName("탑승 내역 저장 성공")
-    void saveBoardingRecordSuccess() {
-        given(shuttleRepository.findById(testShuttle.getId()))
-                .willReturn(Optional.of(testShuttle));
-        given(boardingRepository.save(any(Boarding.class)))
-                .willReturn(testBoarding);
+    @DisplayName("탑승 내역 지연 저장 - 넘겨받은 탑승 시각 유지")
+    void recordBoardingKeepsBoardingTime() {
+        given(redisTemplate.<Object, Object>opsForStream()).willReturn(streamOperations);
+        LocalDateTime boardingTime = LocalDateTime.of(2025, 3, 10, 8, 5);
 
-        Boarding result = boardingService.saveBoardingRecord(testUser.getId(), testShuttle.getId());
+        Boarding result = boardingService.recordBoarding(testUser.getId(), testShuttle, boardingTime, 8 * 60);
 
         assertThat(result).isNotNull();
         assertThat(result.getUser_id()).isEqualTo(testUser.getId());
         assertThat(result.getShuttle().getId()).isEqualTo(testShuttle.getId());
+        assertThat(result.getBoarding_time()).isEqualTo(boardingTime);
+        assertThat(result.getDeparture_minute()).isEqualTo(8 * 60);
     }
 
     @Test
-    @DisplayName("존재하지 않는 셔틀로 탑승 내역 저장 실패")
-    void saveBoardingRecordFailWithNonExistentShuttle() {
-        given(shuttleRepository.findById(testShuttle.getId()))
-                .willReturn(Optional.empty());
-
-        assertThatThrownBy(() ->
-                boardingService.saveBoardingRecord(testUser.getId(), testShuttle.getId()))
-                .isInstanceOf(ShuttleNotFoundException.class)
-                .hasMessage("해당 셔틀 노선을 찾을 수 없습니다. ID=" + testShuttle.getId());
+    @DisplayName("탑승 내역 지연 저장 - 이벤트 스트림 추가")
+    @SuppressWarnings("unchecked")
+    void recordBoardingAppendsToStream() {
+        given(redisTemplate.<Object, Object>opsForStream()).willReturn(streamOperations);
+
+        Boarding result = boardingService.recordBoarding(testUser.getId(), testShuttle, LocalDateTime.now(), 8 * 60);
+
+        ArgumentCaptor<Map<String, String>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(streamOperations).add(eq(BoardingStreamCodec.STREAM_KEY), captor.capture());
+        verify(boardingRepository, never()).save(any(Boarding.class));
+
+        BoardingEventDTO event = BoardingStreamCodec.decode(captor.getValue());
+        assertThat(result.getShuttle()).isEqualTo(testShuttle);
+        assertThat(event.getUser_id()).isEqualTo(testUser.getId());
+        assertThat(event.getShuttle_id()).isEqualTo(testShuttle.getId());
+        assertThat(event.getBoarding_time()).isEqualTo(result.getBoarding_time());
+        assertThat(event.getDeparture_minute()).isEqualTo(8 * 60);
     }
 
     @Test
     @DisplayName("사용자 탑승 내역 조회 성공")
     void getUserBoardingRecordSuccess() {
-        List<Boarding> boardingList = Arrays.asList(testBoarding);
-        given(boardingRepository.findByUser_idOrderByBoarding_timeDesc(testUser.getId()))
-                .willReturn(boardingList);
-        given(shuttleRepository.findById(testShuttle.getId()))
-                .willReturn(Optional.of(testShuttle));
-
-        List<BoardingRecordResDTO> result = boardingService.getUserBoardingRecord(testUser.getId());
-
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getBoarding_id()).isEqualTo(testBoarding.getId());
-        assertThat(result.get(0).getDeparture()).isEqualTo("청사역");
-        assertThat(result.get(0).getDestination()).isEqualTo("아이티센");
+        BoardingRecordResDTO record = new BoardingRecordResDTO(
+                testBoarding.getId(), "청사역", "아이티센", testBoarding.getBoarding_time());
+        given(boardingRepository.findRecordsByUser_id(eq(testUser.getId()), any(Pageable.class)))
+                .willReturn(List.of(record));
+
+        BoardingRecordPageDTO result = boardingService.getUserBoardingRecords(testUser.getId(), null, null);
+
+        assertThat(result.getRecords()).hasSize(1);
+        assertThat(result.getRecords().get(0).getBoarding_id()).isEqualTo(testBoarding.getId());
+        assertThat(result.getRecords().get(0).getDeparture()).isEqualTo("청사역");
+        assertThat(result.getRecords().get(0).getDestination()).isEqualTo("아이티센");
+        assertThat(result.getNext_cursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("탑승 내역 커서 페이지 - 다음 커서로 이어서 조회")
+    void getUserBoardingRecordsNextPage() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 8, 0);
+        List<BoardingRecordResDTO> firstRows = List.of(
+                new BoardingRecordResDTO(3L, "청사역", "아이티센", base.plusDays(2)),
+                new BoardingRecordResDTO(2L, "청사역", "아이티센", base.plusDays(1)),
+                new BoardingRecordResDTO(1L, "청사역", "아이티센", base));
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        given(boardingRepository.findRecordsByUser_id(eq(testUser.getId()), pageableCaptor.capture()))
+                .willReturn(firstRows);
+
+        BoardingRecordPageDTO first = boardingService.getUserBoardingRecords(testUser.getId(), null, 2);
+
+        assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(3);
+        assertThat(first.getRecords()).extracting(BoardingRecordResDTO::getBoarding_id).containsExactly(3L, 2L);
+        assertThat(first.getNext_cursor()).isNotNull();
+
+        given(boardingRepository.findRecordsByUser_idBefore(eq(testUser.getId()), eq(base.plusDays(1)), eq(2L), any(Pageable.class)))
+                .willReturn(List.of(firstRows.get(2)));
+
+        BoardingRecordPageDTO second = boardingService.getUserBoardingRecords(testUser.getId(), first.getNext_cursor(), 2);
+
+        assertThat(second.getRecords()).extracting(BoardingRecordResDTO::getBoarding_id).containsExactly(1L);
+        assertThat(second.getNext_cursor()).isNull();
     }
 
     @Test
-    @DisplayName("Redis 탑승 인원 조회 성공")
+    @DisplayName("탑승 내역 커서 페이지 - 잘못된 커서")
+    void getUserBoardingRecordsInvalidCursor() {
+        assertThatThrownBy(() -> boardingService.getUserBoardingRecords(testUser.getId(), "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 커서입니다.");
+    }
+
+    @Test
+    @DisplayName("Redis 현재 회차 탑승 인원 조회 성공")
     void getCurrentBoardingCountSuccess() {
+        LocalTime departureTime = LocalTime.of(7, 30);
+        given(timetableRunResolver.resolve(eq(testShuttle.getId()), any(LocalDateTime.class)))
+                .willReturn(new TimetableRunDto(testShuttle.getId(), LocalDate.now(), departureTime, 45));
         given(redisTemplate.opsForValue()).willReturn(valueOperations);
-        String expectedKey = "boarding:count:shuttle:" + testShuttle.getId();
+        String expectedKey = "boarding:count:shuttle:" + testShuttle.getId() + ":" + LocalDate.now() + ":07:30";
         given(valueOperations.get(expectedKey)).willReturn("5");
 
         Long result = boardingService.getCurrentBoardingCount(testShuttle.getId());
@@ -148,7 +216,7 @@ public class BoardingUnitTest {
     @DisplayName("Redis 탑승 인원 데이터 없을 때 0 반환")
     void getCurrentBoardingCountWhenNoData() {
         given(redisTemplate.opsForValue()).willReturn(valueOperations);
-        String expectedKey = "boarding:count:shuttle:" + testShuttle.getId();
+        String expectedKey = "boarding:count:shuttle:" + testShuttle.getId() + ":" + LocalDate.now() + ":none";
         given(valueOperations.get(expectedKey)).willReturn(null);
 
         Long result = boardingService.getCurrentBoardingCount(testShuttle.getId());
@@ -157,41 +225,103 @@ public class BoardingUnitTest {
     }
 
     @Test
-    @DisplayName("Redis 탑승 인원 증가 성공")
-    void incrementBoardingCountSuccess() {
-        given(redisTemplate.opsForValue()).willReturn(valueOperations);
-        String expectedKey = "boarding:count:shuttle:" + testShuttle.getId();
-        given(valueOperations.increment(expectedKey)).willReturn(3L);
+    @DisplayName("Redis 탑승 승인 성공")
+    void admitBoardingSuccess() {
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .willReturn(List.of(0L, 3L));
+
+        BoardingAdmissionDTO result = boardingService.admitBoarding(testUser.getId(), testShuttle.getId(), LocalDateTime.now());
+
+        assertThat(result.getStatus()).isEqualTo(AdmissionStatus.ADMITTED);
+        assertThat(result.getCount()).isEqualTo(3L);
+        assertThat(result.isCurrent_run()).isTrue();
+        // 탑승 인원 알림은 탑승 내역 기록 후
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("탑승 인원 알림 - 지금 운행 중인 회차의 승인만")
+    void publishOccupancyOnlyForCurrentRun() {
+        boardingService.publishOccupancy(testShuttle.getId(), new BoardingAdmissionDTO(AdmissionStatus.ADMITTED, 3L, 45, true, 7 * 60 + 30));
+        boardingService.publishOccupancy(testShuttle.getId(), new BoardingAdmissionDTO(AdmissionStatus.ADMITTED, 9L, 45, false, 7 * 60 + 30));
+        boardingService.publishOccupancy(testShuttle.getId(), new BoardingAdmissionDTO(AdmissionStatus.DUPLICATE, 3L, 45, true, 7 * 60 + 30));
+
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof OccupancyChangedEvent changed
+                && changed.getShuttle_id().equals(testShuttle.getId()) && changed.getCount() == 3L
+                && changed.getCapacity() == 45));
+    }
+
+    @Test
+    @DisplayName("Redis 탑승 일괄 승인 - 지난 회차 스캔은 현재 회차 아님")
+    void admitBoardingsPreviousRun() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime scannedAt = now.minusMinutes(1);
+        given(timetableRunResolver.resolve(testShuttle.getId(), scannedAt))
+                .willReturn(new TimetableRunDto(testShuttle.getId(), scannedAt.toLocalDate(), LocalTime.of(7, 30), 45));
+        given(timetableRunResolver.resolve(eq(testShuttle.getId()), argThat(time -> time != null && !time.equals(scannedAt))))
+                .willReturn(new TimetableRunDto(testShuttle.getId(), scannedAt.toLocalDate(), LocalTime.of(8, 0), 45));
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .willReturn(List.of(0L, 12L));
+
+        List<BoardingAdmissionDTO> result = boardingService.admitBoardings(List.of(
+                new BoardingAdmissionReqDTO(1L, testShuttle.getId(), scannedAt)));
+
+        assertThat(result.getFirst().getStatus()).isEqualTo(AdmissionStatus.ADMITTED);
+        assertThat(result.getFirst().getCapacity()).isEqualTo(45);
+        assertThat(result.getFirst().isCurrent_run()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Redis 탑승 승인 - 당일 중복 탑승")
+    void admitBoardingDuplicate() {
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .willReturn(List.of(1L, 3L));
 
-        Long result = boardingService.incrementBoardingCount(testShuttle.getId());
+        BoardingAdmissionDTO result = boardingService.admitBoarding(testUser.getId(), testShuttle.getId(), LocalDateTime.now());
 
-        assertThat(result).isEqualTo(3L);
+        assertThat(result.getStatus()).isEqualTo(AdmissionStatus.DUPLICATE);
     }
 
     @Test
-    @DisplayName("중복 탑승 체크 - 중복 없음")
-    void checkDuplicateBoardingNoDuplicate() {
-        given(boardingRepository.existsByUser_idAndShuttleIdAndBoarding_timeBetween(
-                eq(testUser.getId()), eq(testShuttle.getId()),
-                any(LocalDateTime.class), any(LocalDateTime.class)))
-                .willReturn(false);
-
-        assertThatCode(() ->
-                boardingService.checkDuplicateBoarding(testUser.getId(), testShuttle.getId()))
-                .doesNotThrowAnyException();
+    @DisplayName("Redis 탑승 승인 - 현재 회차 정원 초과")
+    void admitBoardingFull() {
+        given(timetableRunResolver.resolve(eq(testShuttle.getId()), any(LocalDateTime.class)))
+                .willReturn(new TimetableRunDto(testShuttle.getId(), LocalDate.now(), LocalTime.of(7, 30), 45));
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .willReturn(List.of(2L, 45L));
+
+        BoardingAdmissionDTO result = boardingService.admitBoarding(testUser.getId(), testShuttle.getId(), LocalDateTime.now());
+
+        assertThat(result.getStatus()).isEqualTo(AdmissionStatus.FULL);
+        assertThat(result.getCount()).isEqualTo(45L);
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("boarding:riders:shuttle:1:" + LocalDate.now(),
+                        "boarding:count:shuttle:1:" + LocalDate.now() + ":07:30")),
+                eq(new Object[]{"172800", String.valueOf(testUser.getId()), "45", "1"}));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
-    @DisplayName("중복 탑승 체크 - 중복 발견")
-    void checkDuplicateBoardingFound() {
-        given(boardingRepository.existsByUser_idAndShuttleIdAndBoarding_timeBetween(
-                eq(testUser.getId()), eq(testShuttle.getId()),
-                any(LocalDateTime.class), any(LocalDateTime.class)))
-                .willReturn(true);
-
-        assertThatThrownBy(() ->
-                boardingService.checkDuplicateBoarding(testUser.getId(), testShuttle.getId()))
-                .isInstanceOf(DuplicateBoardingException.class)
-                .hasMessage("오늘 이미 해당 셔틀에 탑승하셨습니다.");
+    @DisplayName("Redis 탑승 일괄 승인 - 지난 운행일은 탑승 인원 미반영")
+    void admitBoardingsBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDate yesterday = today.minusDays(1);
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .willReturn(List.of(0L, 1L, 1L, 1L));
+
+        List<BoardingAdmissionDTO> result = boardingService.admitBoardings(List.of(
+                new BoardingAdmissionReqDTO(1L, testShuttle.getId(), now),
+                new BoardingAdmissionReqDTO(2L, testShuttle.getId(), now.minusDays(1))));
+
+        assertThat(result).extracting(BoardingAdmissionDTO::getStatus)
+                .containsExactly(AdmissionStatus.ADMITTED, AdmissionStatus.DUPLICATE);
+        assertThat(result).extracting(BoardingAdmissionDTO::isCurrent_run).containsExactly(true, false);
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of(
+                        "boarding:riders:shuttle:1:" + today, "boarding:count:shuttle:1:" + today + ":none",
+                        "boarding:riders:shuttle:1:" + yesterday, "boarding:count:shuttle:1:" + yesterday + ":none")),
+                eq(new Object[]{"172800", "1", "0", "1", "2", "0", "0"}));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
-}
\ No newline at end of file
+}
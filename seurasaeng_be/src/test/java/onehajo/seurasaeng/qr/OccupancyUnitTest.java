@@ -0,0 +1,105 @@
+package onehajo.seurasaeng.qr;
+
+import onehajo.seurasaeng.qr.dto.OccupancyResDTO;
+import onehajo.seurasaeng.qr.event.OccupancyChangedEvent;
+import onehajo.seurasaeng.qr.service.BoardingService;
+import onehajo.seurasaeng.qr.service.OccupancyService;
+import onehajo.seurasaeng.shuttle.dto.TimetableRunDto;
+import onehajo.seurasaeng.shuttle.service.TimetableRunResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("셔틀 탑승 현황 단위 테스트")
+public class OccupancyUnitTest {
+
+    @Mock
+    private BoardingService boardingService;
+
+    @Mock
+    private TimetableRunResolver timetableRunResolver;
+
+    private OccupancyService occupancyService;
+
+    @BeforeEach
+    void setUp() {
+        occupancyService = new OccupancyService(boardingService, timetableRunResolver, 60_000);
+
+        LocalDate today = LocalDate.now();
+        given(timetableRunResolver.getShuttleIds()).willReturn(Set.of(1L, 2L, 3L));
+        given(timetableRunResolver.resolve(eq(1L), any(LocalDateTime.class)))
+                .willReturn(new TimetableRunDto(1L, today, LocalTime.of(7, 30), 40));
+        given(timetableRunResolver.resolve(eq(2L), any(LocalDateTime.class)))
+                .willReturn(new TimetableRunDto(2L, today, LocalTime.of(7, 40), 0));
+    }
+
+    @Test
+    @DisplayName("여러 셔틀 탑승 현황을 한 번에 조회")
+    void getOccupanciesInOneRead() {
+        given(boardingService.getBoardingCounts(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+                .willReturn(List.of(10L, 3L));
+
+        List<OccupancyResDTO> result = occupancyService.getOccupancies(List.of(1L, 2L));
+
+        assertThat(result).extracting(OccupancyResDTO::getShuttle_id).containsExactly(1L, 2L);
+        assertThat(result.get(0).getCapacity()).isEqualTo(40);
+        assertThat(result.get(0).getLoad_factor()).isEqualTo(0.25);
+        assertThat(result.get(1).getLoad_factor()).isNull();
+        verify(boardingService, times(1)).getBoardingCounts(anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("보관 중인 현황은 다시 조회하지 않고, 탑승 인원이 바뀐 셔틀만 다시 조회")
+    void snapshotAbsorbsRepeatedReads() {
+        given(boardingService.getBoardingCounts(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+                .willReturn(List.of(10L, 3L));
+        given(boardingService.getBoardingCounts(eq(List.of(1L)), any(LocalDateTime.class)))
+                .willReturn(List.of(11L));
+
+        occupancyService.getOccupancies(List.of(1L, 2L));
+        occupancyService.getOccupancies(List.of(1L, 2L));
+        occupancyService.onOccupancyChanged(new OccupancyChangedEvent(1L, 11L, 40));
+        List<OccupancyResDTO> result = occupancyService.getOccupancies(List.of(1L, 2L));
+
+        assertThat(result).extracting(OccupancyResDTO::getCount).containsExactly(11L, 3L);
+        verify(boardingService, times(2)).getBoardingCounts(anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("셔틀을 지정하지 않으면 운행 중인 회차 전체 조회")
+    void getActiveRunOccupancies() {
+        given(boardingService.getBoardingCounts(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+                .willReturn(List.of(0L, 0L));
+
+        List<OccupancyResDTO> result = occupancyService.getOccupancies(null);
+
+        assertThat(result).extracting(OccupancyResDTO::getShuttle_id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("조회 셔틀 수 초과")
+    void tooManyShuttles() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThatThrownBy(() -> occupancyService.getOccupancies(ids))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,176 @@
+package onehajo.seurasaeng.qr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import onehajo.seurasaeng.qr.dto.OfflineBundleDTO;
+import onehajo.seurasaeng.qr.dto.OfflineBundleResDTO;
+import onehajo.seurasaeng.qr.dto.QrReqDTO;
+import onehajo.seurasaeng.qr.service.BoardingService;
+import onehajo.seurasaeng.qr.service.OfflineBundleService;
+import onehajo.seurasaeng.qr.service.QRService;
+import onehajo.seurasaeng.qr.util.QrTokenCodec;
+import onehajo.seurasaeng.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("오프라인 검증 번들 단위 테스트")
+public class OfflineBundleUnitTest {
+    private static final String SIGNING_KEY = "test-bundle-signing-key";
+
+    @Mock
+    private QRService qrService;
+
+    @Mock
+    private BoardingService boardingService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private OfflineBundleService offlineBundleService;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        offlineBundleService = new OfflineBundleService(
+                qrService, new QrTokenCodec("1:test-token-key", 1), boardingService, userRepository, objectMapper, SIGNING_KEY, 2);
+
+        given(qrService.createEncryptedQRData(anyLong(), anyString()))
+                .willAnswer(invocation -> "qr-" + invocation.getArgument(0) + "-" + invocation.getArgument(1));
+    }
+
+    @Test
+    @DisplayName("전체 번들 - 서명 검증 및 다이제스트로 사용자 조회")
+    void createFullBundle() throws Exception {
+        // Given
+        given(userRepository.findQrSubjectsByIdGreaterThan(0L)).willReturn(List.of(
+                new QrReqDTO(1L, "a@test.com"),
+                new QrReqDTO(2L, "b@test.com"),
+                new QrReqDTO(3L, "c@test.com")));
+        given(boardingService.findRiders(1L, today)).willReturn(List.of(2L));
+
+        // When
+        OfflineBundleResDTO response = offlineBundleService.createBundle(1L, today, 0);
+
+        // Then
+        byte[] payload = Base64.getUrlDecoder().decode(response.getPayload());
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SIGNING_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        assertThat(Base64.getUrlDecoder().decode(response.getSignature())).isEqualTo(mac.doFinal(payload));
+
+        OfflineBundleDTO bundle = objectMapper.readValue(payload, OfflineBundleDTO.class);
+        assertThat(bundle.getVersion()).isEqualTo(3L);
+        assertThat(bundle.getBase_version()).isZero();
+        assertThat(bundle.getBoarded_user_ids()).containsExactly(2L);
+
+        List<Long> digests = readDigests(bundle);
+        assertThat(digests).isSortedAccordingTo(Long::compareUnsigned);
+        assertThat(lookup(bundle, digests, "qr-2-b@test.com")).isEqualTo(2L);
+        assertThat(lookup(bundle, digests, new QrTokenCodec("1:test-token-key", 1).encode(3L))).isEqualTo(3L);
+        assertThat(lookup(bundle, digests, "qr-9-x@test.com")).isNull();
+    }
+
+    @Test
+    @DisplayName("변경분 번들 - 이전 버전 이후 가입자 + 재확인 구간만 포함")
+    void createDeltaBundle() throws Exception {
+        // Given
+        given(userRepository.findQrSubjectsByIdGreaterThan(0L)).willReturn(List.of(
+                new QrReqDTO(1L, "a@test.com"),
+                new QrReqDTO(2L, "b@test.com"),
+                new QrReqDTO(3L, "c@test.com"),
+                new QrReqDTO(4L, "d@test.com")));
+        given(userRepository.findQrSubjectsByIdGreaterThan(2L)).willReturn(List.of(
+                new QrReqDTO(3L, "c@test.com"),
+                new QrReqDTO(4L, "d@test.com"),
+                new QrReqDTO(5L, "e@test.com")));
+        given(boardingService.findRiders(1L, today)).willReturn(List.of());
+
+        offlineBundleService.createBundle(1L, today, 0);
+
+        // When
+        OfflineBundleResDTO response = offlineBundleService.createBundle(1L, today, 4);
+
+        // Then
+        OfflineBundleDTO bundle = objectMapper.readValue(
+                Base64.getUrlDecoder().decode(response.getPayload()), OfflineBundleDTO.class);
+        assertThat(bundle.getVersion()).isEqualTo(5L);
+        assertThat(bundle.getBase_version()).isEqualTo(4L);
+        assertThat(bundle.getUser_ids()).containsOnly(3L, 4L, 5L);
+        // 이미 담은 사용자는 다시 계산하지 않음
+        verify(qrService, times(5)).createEncryptedQRData(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("버전보다 작은 ID 로 늦게 커밋된 가입자도 다음 갱신에 포함")
+    void lateCommittedUserIncluded() throws Exception {
+        // Given - 3번이 먼저 커밋되어 버전이 3이 된 뒤 2번이 커밋됨
+        given(userRepository.findQrSubjectsByIdGreaterThan(0L)).willReturn(List.of(
+                new QrReqDTO(1L, "a@test.com"),
+                new QrReqDTO(3L, "c@test.com")));
+        given(userRepository.findQrSubjectsByIdGreaterThan(1L)).willReturn(List.of(
+                new QrReqDTO(2L, "b@test.com"),
+                new QrReqDTO(3L, "c@test.com")));
+        given(boardingService.findRiders(1L, today)).willReturn(List.of());
+
+        offlineBundleService.createBundle(1L, today, 0);
+
+        // When
+        OfflineBundleResDTO response = offlineBundleService.createBundle(1L, today, 3);
+
+        // Then
+        OfflineBundleDTO bundle = objectMapper.readValue(
+                Base64.getUrlDecoder().decode(response.getPayload()), OfflineBundleDTO.class);
+        assertThat(bundle.getVersion()).isEqualTo(3L);
+        assertThat(bundle.getUser_ids()).contains(2L);
+        assertThat(lookup(bundle, readDigests(bundle), "qr-2-b@test.com")).isEqualTo(2L);
+    }
+
+    private List<Long> readDigests(OfflineBundleDTO bundle) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(bundle.getDigests()));
+        List<Long> digests = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            digests.add(buffer.getLong());
+        }
+        return digests;
+    }
+
+    private Long lookup(OfflineBundleDTO bundle, List<Long> digests, String qrCode) {
+        long digest = OfflineBundleService.digestOf(qrCode);
+        int low = 0;
+        int high = digests.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Long.compareUnsigned(digests.get(mid), digest);
+            if (cmp == 0) {
+                return bundle.getUser_ids().get(mid);
+            } else if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return null;
+    }
+}
@@ -2,26 +2,39 @@ package onehajo.seurasaeng.qr;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import onehajo.seurasaeng.entity.*;
+import onehajo.seurasaeng.qr.dto.AdmissionStatus;
+import onehajo.seurasaeng.qr.dto.BoardingAdmissionDTO;
+import onehajo.seurasaeng.qr.dto.QrImageDTO;
 import onehajo.seurasaeng.qr.dto.QrReqDTO;
+import onehajo.seurasaeng.qr.dto.QrScanReqDTO;
+import onehajo.seurasaeng.qr.dto.QrScanResDTO;
+import onehajo.seurasaeng.qr.dto.ScanStatus;
 import onehajo.seurasaeng.qr.dto.ValidUserResDTO;
+import onehajo.seurasaeng.qr.exception.DuplicateBoardingException;
 import onehajo.seurasaeng.qr.exception.InvalidQRCodeException;
+import onehajo.seurasaeng.qr.exception.ShuttleFullException;
 import onehajo.seurasaeng.qr.exception.UserNotFoundException;
 import onehajo.seurasaeng.qr.repository.QrRepository;
 import onehajo.seurasaeng.qr.service.BoardingService;
 import onehajo.seurasaeng.qr.service.QRService;
-import onehajo.seurasaeng.qr.service.S3Service;
+import onehajo.seurasaeng.qr.service.QrImageService;
 import onehajo.seurasaeng.qr.util.AESUtil;
+import onehajo.seurasaeng.qr.util.QrTokenCodec;
 import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
 import onehajo.seurasaeng.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -36,7 +49,10 @@ public class QRUnitTest {
     private AESUtil aesUtil;
 
     @Mock
-    private S3Service s3Service;
+    private QrTokenCodec qrTokenCodec;
+
+    @Mock
+    private QrImageService qrImageService;
 
     @Mock
     private BoardingService boardingService;
@@ -50,6 +66,7 @@ public class QRUnitTest {
     @Mock
     private ShuttleRepository shuttleRepository;
 
+
     @InjectMocks
     private QRService qrService;
 
@@ -108,15 +125,12 @@ public class QRUnitTest {
     @DisplayName("QR 코드 생성 성공")
     void generateQRCodeSuccess() throws Exception {
         // Given
-        String encryptedData = "encrypted_qr_data";
-        String s3Url = "https://s3.amazonaws.com/test-bucket/qr-code.png";
+        String qrToken = "AQEBq2bW9x4sR1kPzQ";
 
         given(userRepository.findById(testUser.getId()))
                 .willReturn(Optional.of(testUser));
-        given(aesUtil.encrypt(anyString()))
-                .willReturn(encryptedData);
-        given(s3Service.uploadQRToS3(any(byte[].class)))
-                .willReturn(s3Url);
+        given(qrTokenCodec.encode(testUser.getId()))
+                .willReturn(qrToken);
         given(qrRepository.save(any(Qr.class)))
                 .willReturn(testQr);
 
@@ -125,9 +139,10 @@ public class QRUnitTest {
 
         // Then
         verify(userRepository).findById(testUser.getId());
-        verify(aesUtil).encrypt(anyString());
-        verify(s3Service).uploadQRToS3(any(byte[].class));
-        verify(qrRepository).save(any(Qr.class));
+        verify(qrTokenCodec).encode(testUser.getId());
+        verify(aesUtil, never()).encrypt(anyString());
+        verify(qrRepository).save(argThat(qr -> qr.getQrCode().equals(qrToken)));
+        verify(qrImageService).evict(testUser.getId());
     }
 
     @Test
@@ -149,10 +164,8 @@ public class QRUnitTest {
     void getQRCodeByUserIdSuccess() {
         // Given
         byte[] imageBytes = new byte[]{1, 2, 3, 4, 5};
-        given(qrRepository.findByUserId(testUser.getId()))
-                .willReturn(Optional.of(testQr));
-        given(s3Service.downloadFileFromS3(testQr.getQrCode()))
-                .willReturn(imageBytes);
+        given(qrImageService.getQRImage(testUser.getId()))
+                .willReturn(QrImageDTO.builder().png(imageBytes).build());
 
         // When
         String result = qrService.getQRCodeByUserId(testUser.getId());
@@ -160,6 +173,49 @@ public class QRUnitTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isNotEmpty();
+        assertThat(result).isEqualTo(Base64.getEncoder().encodeToString(imageBytes));
+    }
+
+    @Test
+    @DisplayName("압축 QR 토큰 검증 및 탑승 처리 성공")
+    void validateCompactTokenAndBoardingSuccess() throws Exception {
+        // Given
+        String qrToken = "AQEBq2bW9x4sR1kPzQ";
+
+        given(qrTokenCodec.supports(qrToken)).willReturn(true);
+        given(qrTokenCodec.verify(qrToken)).willReturn(testUser.getId());
+        given(userRepository.findById(testUser.getId()))
+                .willReturn(Optional.of(testUser));
+        given(shuttleRepository.findById(testShuttle.getId()))
+                .willReturn(Optional.of(testShuttle));
+        given(boardingService.admitBoarding(eq(testUser.getId()), eq(testShuttle.getId()), any(LocalDateTime.class)))
+                .willReturn(new BoardingAdmissionDTO(AdmissionStatus.ADMITTED, 1L, 45, true, 7 * 60 + 30));
+        given(boardingService.recordBoarding(eq(testUser.getId()), eq(testShuttle), any(LocalDateTime.class), eq(7 * 60 + 30)))
+                .willReturn(testBoarding);
+
+        // When
+        ValidUserResDTO result = qrService.userValidate(qrToken, testShuttle.getId());
+
+        // Then
+        assertThat(result.getUser_name()).isEqualTo(testUser.getName());
+        verify(aesUtil, never()).decrypt(anyString());
+        verify(userRepository, never()).findByIdAndEmail(anyLong(), anyString());
+        verify(boardingService).publishOccupancy(eq(testShuttle.getId()), any(BoardingAdmissionDTO.class));
+    }
+
+    @Test
+    @DisplayName("서명이 올바르지 않은 압축 QR 토큰 검증 실패")
+    void validateCompactTokenFailWithInvalidSignature() {
+        // Given
+        String qrToken = "AQEBq2bW9x4sR1kPzQ";
+
+        given(qrTokenCodec.supports(qrToken)).willReturn(true);
+        given(qrTokenCodec.verify(qrToken)).willThrow(new IllegalArgumentException("QR 토큰 서명이 올바르지 않습니다."));
+
+        // When & Then
+        assertThatThrownBy(() -> qrService.userValidate(qrToken, testShuttle.getId()))
+                .isInstanceOf(InvalidQRCodeException.class);
+        verify(boardingService, never()).admitBoarding(anyLong(), anyLong(), any(LocalDateTime.class));
     }
 
     @Test
@@ -176,10 +232,10 @@ public class QRUnitTest {
                 .willReturn(Optional.of(testUser));
         given(shuttleRepository.findById(testShuttle.getId()))
                 .willReturn(Optional.of(testShuttle));
-        given(boardingService.saveBoardingRecord(testUser.getId(), testShuttle.getId()))
+        given(boardingService.admitBoarding(eq(testUser.getId()), eq(testShuttle.getId()), any(LocalDateTime.class)))
+                .willReturn(new BoardingAdmissionDTO(AdmissionStatus.ADMITTED, 1L, 45, true, 7 * 60 + 30));
+        given(boardingService.recordBoarding(eq(testUser.getId()), eq(testShuttle), any(LocalDateTime.class), eq(7 * 60 + 30)))
                 .willReturn(testBoarding);
-        given(boardingService.incrementBoardingCount(testShuttle.getId()))
-                .willReturn(1L);
 
         // When
         ValidUserResDTO result = qrService.userValidate(qrCode, testShuttle.getId());
@@ -262,13 +318,188 @@ public class QRUnitTest {
                 .willReturn(Optional.of(testUser));
         given(shuttleRepository.findById(testShuttle.getId()))
                 .willReturn(Optional.of(testShuttle));
-        willThrow(new IllegalArgumentException("오늘 이미 해당 셔틀에 탑승하셨습니다."))
-                .given(boardingService).checkDuplicateBoarding(testUser.getId(), testShuttle.getId());
+        given(boardingService.admitBoarding(eq(testUser.getId()), eq(testShuttle.getId()), any(LocalDateTime.class)))
+                .willReturn(new BoardingAdmissionDTO(AdmissionStatus.DUPLICATE, 1L, 45, true, 7 * 60 + 30));
 
         // When & Then
         assertThatThrownBy(() ->
                 qrService.userValidate(qrCode, testShuttle.getId()))
-                .isInstanceOf(IllegalArgumentException.class)
+                .isInstanceOf(DuplicateBoardingException.class)
                 .hasMessage("오늘 이미 해당 셔틀에 탑승하셨습니다.");
+        verify(boardingService, never()).recordBoarding(anyLong(), any(Shuttle.class), any(LocalDateTime.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("정원 초과로 검증 실패")
+    void validateFullShuttleFail() throws Exception {
+        // Given
+        String qrCode = "encrypted_qr_code";
+        QrReqDTO qrRequest = new QrReqDTO(testUser.getId(), testUser.getEmail());
+        String decryptedString = objectMapper.writeValueAsString(qrRequest);
+
+        given(aesUtil.decrypt(qrCode))
+                .willReturn(decryptedString);
+        given(userRepository.findByIdAndEmail(testUser.getId(), testUser.getEmail()))
+                .willReturn(Optional.of(testUser));
+        given(shuttleRepository.findById(testShuttle.getId()))
+                .willReturn(Optional.of(testShuttle));
+        given(boardingService.admitBoarding(eq(testUser.getId()), eq(testShuttle.getId()), any(LocalDateTime.class)))
+                .willReturn(new BoardingAdmissionDTO(AdmissionStatus.FULL, 45L, 45, true, 7 * 60 + 30));
+
+        // When & Then
+        assertThatThrownBy(() ->
+                qrService.userValidate(qrCode, testShuttle.getId()))
+                .isInstanceOf(ShuttleFullException.class);
+        verify(boardingService, never()).recordBoarding(anyLong(), any(Shuttle.class), any(LocalDateTime.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("탑승 내역 저장 실패 시 탑승 승인 취소")
+    void validateRevokeAdmissionWhenSaveFails() throws Exception {
+        // Given
+        String qrCode = "encrypted_qr_code";
+        QrReqDTO qrRequest = new QrReqDTO(testUser.getId(), testUser.getEmail());
+        String decryptedString = objectMapper.writeValueAsString(qrRequest);
+
+        given(aesUtil.decrypt(qrCode))
+                .willReturn(decryptedString);
+        given(userRepository.findByIdAndEmail(testUser.getId(), testUser.getEmail()))
+                .willReturn(Optional.of(testUser));
+        given(shuttleRepository.findById(testShuttle.getId()))
+                .willReturn(Optional.of(testShuttle));
+        given(boardingService.admitBoarding(eq(testUser.getId()), eq(testShuttle.getId()), any(LocalDateTime.class)))
+                .willReturn(new BoardingAdmissionDTO(AdmissionStatus.ADMITTED, 1L, 45, true, 7 * 60 + 30));
+        given(boardingService.recordBoarding(eq(testUser.getId()), eq(testShuttle), any(LocalDateTime.class), eq(7 * 60 + 30)))
+                .willThrow(new RuntimeException("DB 오류"));
+
+        // When & Then
+        assertThatThrownBy(() ->
+                qrService.userValidate(qrCode, testShuttle.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 승인 / 기록 / 취소에 같은 탑승 시각 사용
+        ArgumentCaptor<LocalDateTime> admittedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(boardingService).admitBoarding(eq(testUser.getId()), eq(testShuttle.getId()), admittedAt.capture());
+        verify(boardingService).recordBoarding(testUser.getId(), testShuttle, admittedAt.getValue(), 7 * 60 + 30);
+        verify(boardingService).revokeAdmission(testUser.getId(), testShuttle.getId(), admittedAt.getValue());
+        verify(boardingService, never()).publishOccupancy(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("QR 코드 일괄 검증 - 스캔별 결과 반환")
+    void validateQRCodeBatch() throws Exception {
+        // Given
+        String validQr = "encrypted_qr_code";
+        String invalidQr = "invalid_qr_code";
+        LocalDateTime scannedAt = LocalDateTime.now().minusMinutes(5);
+        String decryptedString = objectMapper.writeValueAsString(new QrReqDTO(testUser.getId(), testUser.getEmail()));
+
+        List<QrScanReqDTO> scans = List.of(
+                new QrScanReqDTO(validQr, testShuttle.getId(), scannedAt, "scan-1"),
+                new QrScanReqDTO(invalidQr, testShuttle.getId(), scannedAt, "scan-2"),
+                new QrScanReqDTO(validQr, testShuttle.getId(), scannedAt, "scan-3"));
+
+        given(boardingService.findScanResults(List.of("scan-1", "scan-2", "scan-3")))
+                .willReturn(Map.of());
+        given(aesUtil.decrypt(validQr)).willReturn(decryptedString);
+        given(aesUtil.decrypt(invalidQr)).willThrow(new Exception("Decryption failed"));
+        given(userRepository.findAllById(anySet())).willReturn(List.of(testUser));
+        given(shuttleRepository.findAllWithLocationByIdIn(anySet())).willReturn(List.of(testShuttle));
+        given(boardingService.admitBoardings(anyList())).willReturn(List.of(
+                new BoardingAdmissionDTO(AdmissionStatus.ADMITTED, 1L, 45, true, 7 * 60 + 30),
+                new BoardingAdmissionDTO(AdmissionStatus.DUPLICATE, 1L, 45, true, 7 * 60 + 30)));
+
+        // When
+        List<QrScanResDTO> result = qrService.userValidateBatch(scans);
+
+        // Then
+        assertThat(result).extracting(QrScanResDTO::getStatus)
+                .containsExactly(ScanStatus.ADMITTED, ScanStatus.INVALID_QR, ScanStatus.DUPLICATE);
+        assertThat(result.get(0).getBoarding_time()).isEqualTo(scannedAt);
+        assertThat(result.get(0).getUser_name()).isEqualTo(testUser.getName());
+        verify(boardingService, times(1)).recordBoarding(testUser.getId(), testShuttle, scannedAt, 7 * 60 + 30);
+        verify(boardingService, times(1)).publishOccupancy(eq(testShuttle.getId()), argThat(admission ->
+                admission.getStatus() == AdmissionStatus.ADMITTED));
+        verify(userRepository, times(1)).findAllById(anySet());
+        verify(boardingService, times(1)).admitBoardings(anyList());
+        verify(boardingService).saveScanResults(argThat(map -> map.size() == 3));
+    }
+
+    @Test
+    @DisplayName("QR 코드 일괄 검증 - 재전송된 스캔은 이전 결과 반환")
+    void validateQRCodeBatchReplay() throws Exception {
+        // Given
+        String previous = "{\"idempotency_key\":\"scan-1\",\"status\":\"ADMITTED\",\"user_name\":\"테스트사용자\"}";
+        given(boardingService.findScanResults(List.of("scan-1")))
+                .willReturn(Map.of("scan-1", previous));
+
+        // When
+        List<QrScanResDTO> result = qrService.userValidateBatch(List.of(
+                new QrScanReqDTO("encrypted_qr_code", testShuttle.getId(), LocalDateTime.now(), "scan-1")));
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getStatus()).isEqualTo(ScanStatus.ADMITTED);
+        assertThat(result.get(0).getUser_name()).isEqualTo(testUser.getName());
+        verify(aesUtil, never()).decrypt(anyString());
+        verify(boardingService, never()).admitBoardings(anyList());
+    }
+
+    @Test
+    @DisplayName("QR 코드 일괄 검증 - 기록 실패 시 승인 취소 후 오류 결과, 나머지 결과는 저장")
+    void validateQRCodeBatchRecordFailure() throws Exception {
+        // Given
+        String qrCode = "encrypted_qr_code";
+        LocalDateTime scannedAt = LocalDateTime.now().minusMinutes(5);
+        String decryptedString = objectMapper.writeValueAsString(new QrReqDTO(testUser.getId(), testUser.getEmail()));
+
+        List<QrScanReqDTO> scans = List.of(
+                new QrScanReqDTO(qrCode, testShuttle.getId(), scannedAt, "scan-1"),
+                new QrScanReqDTO("invalid_qr_code", testShuttle.getId(), scannedAt, "scan-2"));
+
+        given(boardingService.findScanResults(anyList())).willReturn(Map.of());
+        given(aesUtil.decrypt(qrCode)).willReturn(decryptedString);
+        given(aesUtil.decrypt("invalid_qr_code")).willThrow(new Exception("Decryption failed"));
+        given(userRepository.findAllById(anySet())).willReturn(List.of(testUser));
+        given(shuttleRepository.findAllWithLocationByIdIn(anySet())).willReturn(List.of(testShuttle));
+        given(boardingService.admitBoardings(anyList())).willReturn(List.of(
+                new BoardingAdmissionDTO(AdmissionStatus.ADMITTED, 1L, 45, true, 7 * 60 + 30)));
+        given(boardingService.recordBoarding(testUser.getId(), testShuttle, scannedAt, 7 * 60 + 30))
+                .willThrow(new IllegalStateException("DB 오류"));
+
+        // When
+        List<QrScanResDTO> result = qrService.userValidateBatch(scans);
+
+        // Then
+        assertThat(result).extracting(QrScanResDTO::getStatus)
+                .containsExactly(ScanStatus.ERROR, ScanStatus.INVALID_QR);
+        verify(boardingService).revokeAdmission(testUser.getId(), testShuttle.getId(), scannedAt);
+        verify(boardingService, never()).publishOccupancy(anyLong(), any());
+        verify(boardingService).saveScanResults(argThat(map -> map.size() == 1 && map.containsKey("scan-2")));
+    }
+
+    @Test
+    @DisplayName("QR 코드 일괄 검증 - 허용 범위를 벗어난 스캔 시각은 거부")
+    void validateQRCodeBatchInvalidTime() throws Exception {
+        // Given
+        String qrCode = "encrypted_qr_code";
+        String decryptedString = objectMapper.writeValueAsString(new QrReqDTO(testUser.getId(), testUser.getEmail()));
+
+        List<QrScanReqDTO> scans = List.of(
+                new QrScanReqDTO(qrCode, testShuttle.getId(), LocalDateTime.now().minusDays(3), "scan-1"),
+                new QrScanReqDTO(qrCode, testShuttle.getId(), LocalDateTime.now().plusHours(1), "scan-2"));
+
+        given(boardingService.findScanResults(anyList())).willReturn(Map.of());
+        given(aesUtil.decrypt(qrCode)).willReturn(decryptedString);
+        given(userRepository.findAllById(anySet())).willReturn(List.of(testUser));
+        given(shuttleRepository.findAllWithLocationByIdIn(anySet())).willReturn(List.of(testShuttle));
+
+        // When
+        List<QrScanResDTO> result = qrService.userValidateBatch(scans);
+
+        // Then
+        assertThat(result).extracting(QrScanResDTO::getStatus)
+                .containsExactly(ScanStatus.INVALID_TIME, ScanStatus.INVALID_TIME);
+        verify(boardingService, never()).admitBoardings(anyList());
+        verify(boardingService).saveScanResults(argThat(map -> map.size() == 2));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package onehajo.seurasaeng.qr;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import onehajo.seurasaeng.entity.Qr;
+import onehajo.seurasaeng.qr.dto.QrImageCacheStatsDTO;
+import onehajo.seurasaeng.qr.dto.QrImageDTO;
+import onehajo.seurasaeng.qr.repository.QrRepository;
+import onehajo.seurasaeng.qr.service.QrImageService;
+import onehajo.seurasaeng.qr.util.QrTokenCodec;
+import onehajo.seurasaeng.storage.ObjectStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QR 이미지 서비스 단위 테스트")
+public class QrImageUnitTest {
+
+    @Mock
+    private QrRepository qrRepository;
+
+    @Mock
+    private ObjectStorage objectStorage;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final QrTokenCodec qrTokenCodec = new QrTokenCodec("1:test-token-key", 1);
+
+    private QrImageService qrImageService;
+
+    @BeforeEach
+    void setUp() {
+        qrImageService = newService(1024 * 1024, 600_000);
+    }
+
+    @Test
+    @DisplayName("토큰 QR - S3 없이 생성 후 캐시")
+    void renderTokenQrAndCache() throws Exception {
+        // Given
+        String qrToken = qrTokenCodec.encode(1L);
+        given(qrRepository.findByUserId(1L))
+                .willReturn(Optional.of(Qr.builder().id(1L).qrCode(qrToken).build()));
+
+        // When
+        QrImageDTO first = qrImageService.getQRImage(1L);
+        QrImageDTO second = qrImageService.getQRImage(1L);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.isToken()).isTrue();
+        assertThat(decode(first.getPng())).isEqualTo(qrToken);
+        verify(qrRepository, times(1)).findByUserId(1L);
+        verify(objectStorage, never()).get(anyString());
+
+        QrImageCacheStatsDTO stats = qrImageService.getStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getRenders()).isEqualTo(1);
+        assertThat(stats.getStorage_fetches()).isZero();
+    }
+
+    @Test
+    @DisplayName("기존 QR - S3 이미지 사용")
+    void legacyQrFallsBackToStorage() {
+        // Given
+        String s3Url = "https://s3.amazonaws.com/test-bucket/qr-code.png";
+        byte[] imageBytes = new byte[]{1, 2, 3};
+        given(qrRepository.findByUserId(2L))
+                .willReturn(Optional.of(Qr.builder().id(2L).qrCode(s3Url).build()));
+        given(objectStorage.get(s3Url)).willReturn(imageBytes);
+
+        // When
+        qrImageService.getQRImage(2L);
+        QrImageDTO result = qrImageService.getQRImage(2L);
+
+        // Then
+        assertThat(result.getPng()).isEqualTo(imageBytes);
+        assertThat(result.isToken()).isFalse();
+        verify(objectStorage, times(1)).get(s3Url);
+        assertThat(qrImageService.getStats().getStorage_fetches()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시 용량 초과 시 가장 오래 사용하지 않은 이미지 제거")
+    void evictLeastRecentlyUsed() {
+        // Given
+        qrImageService = newService(10, 600_000);
+        for (long id = 1; id <= 3; id++) {
+            String url = "https://s3.amazonaws.com/test-bucket/" + id + ".png";
+            given(qrRepository.findByUserId(id))
+                    .willReturn(Optional.of(Qr.builder().id(id).qrCode(url).build()));
+            given(objectStorage.get(url)).willReturn(new byte[4]);
+        }
+
+        // When
+        qrImageService.getQRImage(1L);
+        qrImageService.getQRImage(2L);
+        qrImageService.getQRImage(1L);
+        qrImageService.getQRImage(3L);
+        qrImageService.getQRImage(1L);
+
+        // Then
+        QrImageCacheStatsDTO stats = qrImageService.getStats();
+        assertThat(stats.getEntries()).isEqualTo(2);
+        assertThat(stats.getBytes()).isEqualTo(8);
+        assertThat(stats.getEvictions()).isEqualTo(1);
+        assertThat(stats.getHits()).isEqualTo(2);
+        verify(qrRepository, times(1)).findByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("캐시 제거 - 다른 인스턴스에 전파")
+    void evictBroadcastsToOtherInstances() {
+        // When
+        qrImageService.evictAll(List.of(1L, 2L));
+
+        // Then
+        verify(redisTemplate).convertAndSend(QrImageService.EVICT_CHANNEL, "1,2");
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 캐시 제거 메시지 수신 시 로컬 캐시 제거")
+    void evictOnMessageFromOtherInstance() {
+        // Given
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), eq(new ChannelTopic(QrImageService.EVICT_CHANNEL)));
+
+        given(qrRepository.findByUserId(1L))
+                .willReturn(Optional.of(Qr.builder().id(1L).qrCode(qrTokenCodec.encode(1L)).build()));
+        qrImageService.getQRImage(1L);
+
+        // When
+        listener.getValue().onMessage(new DefaultMessage(
+                QrImageService.EVICT_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "1".getBytes(StandardCharsets.UTF_8)), null);
+        qrImageService.getQRImage(1L);
+
+        // Then
+        verify(qrRepository, times(2)).findByUserId(1L);
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("TTL 이 지난 캐시는 다시 조회")
+    void expiredEntryIsReloaded() {
+        // Given
+        qrImageService = newService(1024 * 1024, 0);
+        given(qrRepository.findByUserId(1L))
+                .willReturn(Optional.of(Qr.builder().id(1L).qrCode(qrTokenCodec.encode(1L)).build()));
+
+        // When
+        qrImageService.getQRImage(1L);
+        qrImageService.getQRImage(1L);
+
+        // Then
+        verify(qrRepository, times(2)).findByUserId(1L);
+        assertThat(qrImageService.getStats().getHits()).isZero();
+    }
+
+    private QrImageService newService(long maxBytes, long ttlMs) {
+        return new QrImageService(qrRepository, qrTokenCodec, objectStorage,
+                redisTemplate, listenerContainer, maxBytes, ttlMs);
+    }
+
+    private String decode(byte[] png) throws Exception {
+        BufferedImageLuminanceSource source =
+                new BufferedImageLuminanceSource(ImageIO.read(new ByteArrayInputStream(png)));
+        return new QRCodeReader().decode(new BinaryBitmap(new HybridBinarizer(source))).getText();
+    }
+
+    @Test
+    @DisplayName("이미지 버전 - 같은 QR 은 같은 버전, 재발급 시 변경")
+    void versionFollowsQrCode() {
+        // Given
+        given(qrRepository.findByUserId(1L))
+                .willReturn(Optional.of(Qr.builder().id(1L).qrCode(qrTokenCodec.encode(1L)).build()))
+                .willReturn(Optional.of(Qr.builder().id(1L).qrCode(qrTokenCodec.encode(1L)).build()))
+                .willReturn(Optional.of(Qr.builder().id(1L).qrCode(new QrTokenCodec("2:rotated-key", 2).encode(1L)).build()));
+
+        // When
+        String first = qrImageService.getQRImage(1L).getVersion();
+        qrImageService.evict(1L);
+        String same = qrImageService.getQRImage(1L).getVersion();
+        qrImageService.evict(1L);
+        String reissued = qrImageService.getQRImage(1L).getVersion();
+
+        // Then
+        assertThat(same).isEqualTo(first);
+        assertThat(reissued).isNotEqualTo(first);
+    }
+}
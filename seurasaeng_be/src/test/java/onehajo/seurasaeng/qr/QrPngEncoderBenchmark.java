@@ -0,0 +1,91 @@
+package onehajo.seurasaeng.qr;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import onehajo.seurasaeng.qr.util.QrPngEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QR PNG 인코딩 비교 (기존 Graphics2D + ImageIO vs QrPngEncoder)
+ * 단위 테스트 대상이 아니며(surefire 제외) main 으로 직접 실행한다.
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main QrPngEncoderBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QrPngEncoderBenchmark {
+    private static final int QR_SIZE = 200;
+    private static final Map<EncodeHintType, Object> HINTS = Map.of(
+            EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+            EncodeHintType.MARGIN, 1);
+
+    @Param({"AQEBq2bW9x4sR1kPzQ",
+            "dGhpcy1pcy1hLWxlZ2FjeS1hZXMtZWNiLXRva2VuLXdpdGgtanNvbi1wYXlsb2FkLWFuZC1lbWFpbC1hZGRyZXNz"})
+    private String content;
+
+    private BitMatrix scaledMatrix;
+    private BitMatrix moduleMatrix;
+
+    @Setup
+    public void setUp() throws Exception {
+        scaledMatrix = new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, QR_SIZE, QR_SIZE, HINTS);
+        moduleMatrix = new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, 0, 0, HINTS);
+    }
+
+    @Benchmark
+    public byte[] graphics2dImageIo() throws IOException {
+        BufferedImage image = new BufferedImage(QR_SIZE, QR_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, QR_SIZE, QR_SIZE);
+
+        graphics.setColor(Color.BLACK);
+        for (int x = 0; x < QR_SIZE; x++) {
+            for (int y = 0; y < QR_SIZE; y++) {
+                if (scaledMatrix.get(x, y)) {
+                    graphics.fillRect(x, y, 1, 1);
+                }
+            }
+        }
+        graphics.dispose();
+
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public byte[] qrPngEncoder() {
+        return QrPngEncoder.encodePng(moduleMatrix, Math.max(1, QR_SIZE / moduleMatrix.getWidth()));
+    }
+
+    @Benchmark
+    public String qrSvgEncoder() {
+        return QrPngEncoder.encodeSvg(moduleMatrix, Math.max(1, QR_SIZE / moduleMatrix.getWidth()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(QrPngEncoderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
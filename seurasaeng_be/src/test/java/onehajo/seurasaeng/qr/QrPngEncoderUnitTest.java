@@ -0,0 +1,83 @@
+package onehajo.seurasaeng.qr;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import onehajo.seurasaeng.qr.util.QrPngEncoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("QR PNG 인코더 단위 테스트")
+public class QrPngEncoderUnitTest {
+
+    @Test
+    @DisplayName("PNG 인코딩 - 배율 적용 후 모든 픽셀이 BitMatrix 와 일치")
+    void encodePngMatchesMatrix() throws Exception {
+        // Given
+        BitMatrix matrix = new QRCodeWriter().encode("AQEBq2bW9x4sR1kPzQ", BarcodeFormat.QR_CODE, 0, 0);
+        int scale = 3;
+
+        // When
+        byte[] png = QrPngEncoder.encodePng(matrix, scale);
+
+        // Then
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertThat(image.getWidth()).isEqualTo(matrix.getWidth() * scale);
+        assertThat(image.getHeight()).isEqualTo(matrix.getHeight() * scale);
+        assertThat(image.getColorModel().getPixelSize()).isEqualTo(1);
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                boolean dark = (image.getRGB(x, y) & 0xFFFFFF) == 0;
+                assertThat(dark).isEqualTo(matrix.get(x / scale, y / scale));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("PNG 인코딩 - 너비가 8의 배수가 아니어도 정상 처리")
+    void encodePngWithPartialByte() throws Exception {
+        // Given
+        BitMatrix matrix = new BitMatrix(5, 3);
+        matrix.set(4, 0);
+        matrix.set(0, 2);
+
+        // When
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(QrPngEncoder.encodePng(matrix, 1)));
+
+        // Then
+        assertThat(image.getRGB(4, 0) & 0xFFFFFF).isZero();
+        assertThat(image.getRGB(0, 2) & 0xFFFFFF).isZero();
+        assertThat(image.getRGB(3, 0) & 0xFFFFFF).isEqualTo(0xFFFFFF);
+    }
+
+    @Test
+    @DisplayName("SVG 인코딩 - 이어진 모듈은 하나의 경로로 합침")
+    void encodeSvg() {
+        // Given
+        BitMatrix matrix = new BitMatrix(4, 2);
+        matrix.setRegion(1, 0, 3, 1);
+        matrix.set(0, 1);
+
+        // When
+        String svg = QrPngEncoder.encodeSvg(matrix, 10);
+
+        // Then
+        assertThat(svg).startsWith("<svg")
+                .contains("width=\"40\"", "height=\"20\"", "viewBox=\"0 0 4 2\"")
+                .contains("d=\"M1,0h3v1h-3zM0,1h1v1h-1z\"");
+    }
+
+    @Test
+    @DisplayName("배율이 1보다 작으면 예외")
+    void invalidScale() {
+        assertThatThrownBy(() -> QrPngEncoder.encodePng(new BitMatrix(1, 1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,216 @@
+package onehajo.seurasaeng.qr;
+
+import onehajo.seurasaeng.entity.Qr;
+import onehajo.seurasaeng.entity.User;
+import onehajo.seurasaeng.qr.dto.QrRegenerationResDTO;
+import onehajo.seurasaeng.qr.dto.QrRegenerationStatus;
+import onehajo.seurasaeng.qr.repository.QrRepository;
+import onehajo.seurasaeng.qr.service.QrImageService;
+import onehajo.seurasaeng.qr.service.QrRegenerationService;
+import onehajo.seurasaeng.qr.util.QrTokenCodec;
+import onehajo.seurasaeng.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("QR 일괄 재발급 단위 테스트")
+public class QrRegenerationUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private QrRepository qrRepository;
+
+    @Mock
+    private QrImageService qrImageService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisScript<Long> leaseRenewScript;
+
+    @Mock
+    private RedisScript<Long> leaseReleaseScript;
+
+    private final QrTokenCodec qrTokenCodec = new QrTokenCodec("1:old-key,2:new-key", 2);
+
+    private QrRegenerationService qrRegenerationService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        qrRegenerationService = new QrRegenerationService(userRepository, qrRepository, qrTokenCodec,
+                qrImageService, transactionTemplate, redisTemplate, leaseRenewScript, leaseReleaseScript, 2, 60_000);
+
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(eq("qr:regeneration:lease"), anyString(), any(Duration.class))).willReturn(true);
+        given(redisTemplate.execute(eq(leaseRenewScript), anyList(), any(Object[].class))).willReturn(1L);
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    @DisplayName("키셋 페이지로 재발급 - 이미 최신인 QR 은 건너뜀")
+    void regenerateAllPages() throws Exception {
+        // Given
+        given(hashOperations.entries("qr:regeneration:checkpoint")).willReturn(Map.of());
+        given(userRepository.countByIdGreaterThan(0L)).willReturn(3L);
+        given(userRepository.findIdsByIdGreaterThan(0L, PageRequest.of(0, 2))).willReturn(List.of(1L, 2L));
+        given(userRepository.findIdsByIdGreaterThan(2L, PageRequest.of(0, 2))).willReturn(List.of(3L));
+        given(userRepository.findIdsByIdGreaterThan(3L, PageRequest.of(0, 2))).willReturn(List.of());
+
+        Qr legacy = qrOf(1L, "https://s3.amazonaws.com/test-bucket/qr-code.png");
+        Qr current = qrOf(2L, qrTokenCodec.encode(2L, 2));
+        given(qrRepository.findAllByUserIdIn(List.of(1L, 2L))).willReturn(List.of(legacy, current));
+        given(qrRepository.findAllByUserIdIn(List.of(3L))).willReturn(List.of());
+        given(userRepository.getReferenceById(3L)).willReturn(User.builder().id(3L).build());
+
+        // When
+        assertThat(qrRegenerationService.start(false)).isTrue();
+        QrRegenerationResDTO progress = awaitFinished();
+
+        // Then
+        assertThat(progress.getStatus()).isEqualTo(QrRegenerationStatus.COMPLETED);
+        assertThat(progress.getProcessed()).isEqualTo(3);
+        assertThat(progress.getUpdated()).isEqualTo(2);
+        assertThat(progress.getCursor()).isEqualTo(3);
+        assertThat(legacy.getQrCode()).isEqualTo(qrTokenCodec.encode(1L, 2));
+
+        verify(qrRepository).saveAll(List.of(legacy));
+        verify(qrRepository).saveAll(argThat(qrs -> qrs.iterator().next().getQrCode()
+                .equals(qrTokenCodec.encode(3L, 2))));
+        verify(qrImageService).evictAll(List.of(1L));
+        verify(qrImageService).evictAll(List.of(3L));
+        verify(redisTemplate).delete("qr:regeneration:checkpoint");
+        verify(redisTemplate).execute(eq(leaseReleaseScript), eq(List.of("qr:regeneration:lease")), anyString());
+    }
+
+    @Test
+    @DisplayName("같은 키의 체크포인트가 있으면 이어서 처리")
+    void resumeFromCheckpoint() throws Exception {
+        // Given
+        given(hashOperations.entries("qr:regeneration:checkpoint"))
+                .willReturn(Map.of("key_id", "2", "cursor", "2"));
+        given(userRepository.countByIdGreaterThan(2L)).willReturn(1L);
+        given(userRepository.findIdsByIdGreaterThan(2L, PageRequest.of(0, 2))).willReturn(List.of(3L));
+        given(userRepository.findIdsByIdGreaterThan(3L, PageRequest.of(0, 2))).willReturn(List.of());
+        given(qrRepository.findAllByUserIdIn(List.of(3L))).willReturn(List.of(qrOf(3L, "legacy")));
+
+        // When
+        qrRegenerationService.start(false);
+        QrRegenerationResDTO progress = awaitFinished();
+
+        // Then
+        assertThat(progress.getStatus()).isEqualTo(QrRegenerationStatus.COMPLETED);
+        assertThat(progress.getTotal()).isEqualTo(1);
+        verify(userRepository, never()).findIdsByIdGreaterThan(eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("다른 키의 체크포인트는 무시하고 처음부터 처리")
+    void ignoreCheckpointOfOtherKey() throws Exception {
+        // Given
+        given(hashOperations.entries("qr:regeneration:checkpoint"))
+                .willReturn(Map.of("key_id", "1", "cursor", "2"));
+        given(userRepository.countByIdGreaterThan(0L)).willReturn(0L);
+        given(userRepository.findIdsByIdGreaterThan(0L, PageRequest.of(0, 2))).willReturn(List.of());
+
+        // When
+        qrRegenerationService.start(false);
+        awaitFinished();
+
+        // Then
+        verify(userRepository).findIdsByIdGreaterThan(0L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 점유 중이면 시작하지 않음")
+    void skipWhenLeasedByOtherInstance() {
+        // Given
+        given(valueOperations.setIfAbsent(eq("qr:regeneration:lease"), anyString(), any(Duration.class))).willReturn(false);
+
+        // When
+        boolean started = qrRegenerationService.start(false);
+
+        // Then
+        assertThat(started).isFalse();
+        assertThat(qrRegenerationService.getProgress().getStatus()).isEqualTo(QrRegenerationStatus.IDLE);
+        verify(userRepository, never()).countByIdGreaterThan(anyLong());
+    }
+
+    @Test
+    @DisplayName("점유를 잃으면 체크포인트를 남기고 중단")
+    void failWhenLeaseLost() throws Exception {
+        // Given
+        given(hashOperations.entries("qr:regeneration:checkpoint")).willReturn(Map.of());
+        given(userRepository.countByIdGreaterThan(0L)).willReturn(3L);
+        given(redisTemplate.execute(eq(leaseRenewScript), anyList(), any(Object[].class))).willReturn(0L);
+
+        // When
+        qrRegenerationService.start(false);
+        QrRegenerationResDTO progress = awaitFinished();
+
+        // Then
+        assertThat(progress.getStatus()).isEqualTo(QrRegenerationStatus.FAILED);
+        verify(userRepository, never()).findIdsByIdGreaterThan(anyLong(), any());
+        verify(redisTemplate, never()).delete("qr:regeneration:checkpoint");
+    }
+
+    private Qr qrOf(Long user_id, String qrCode) {
+        return Qr.builder()
+                .id(user_id)
+                .user(User.builder().id(user_id).build())
+                .qrCode(qrCode)
+                .build();
+    }
+
+    private QrRegenerationResDTO awaitFinished() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            QrRegenerationResDTO progress = qrRegenerationService.getProgress();
+            if (progress.getStatus() != QrRegenerationStatus.RUNNING) {
+                // 상태 변경 후 작업 스레드 정리 대기
+                Thread.sleep(20);
+                return progress;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("QR 일괄 재발급이 끝나지 않았습니다.");
+    }
+}
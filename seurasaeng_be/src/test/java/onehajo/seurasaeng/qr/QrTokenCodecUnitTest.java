@@ -0,0 +1,63 @@
+package onehajo.seurasaeng.qr;
+
+import onehajo.seurasaeng.qr.util.QrTokenCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("압축 QR 토큰 단위 테스트")
+public class QrTokenCodecUnitTest {
+
+    private final QrTokenCodec qrTokenCodec = new QrTokenCodec("1:first-key,2:second-key", 2);
+
+    @Test
+    @DisplayName("토큰 생성 후 검증 - 사용자 ID 복원")
+    void encodeAndVerify() {
+        for (long user_id : new long[]{0L, 1L, 127L, 128L, 300L, 1_000_000L, Long.MAX_VALUE}) {
+            String token = qrTokenCodec.encode(user_id);
+
+            assertThat(qrTokenCodec.supports(token)).isTrue();
+            assertThat(qrTokenCodec.verify(token)).isEqualTo(user_id);
+        }
+    }
+
+    @Test
+    @DisplayName("토큰 길이 - 기존 AES 토큰보다 짧음")
+    void tokenIsCompact() {
+        assertThat(qrTokenCodec.encode(12345L)).hasSizeLessThanOrEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("이전 키로 서명된 토큰도 키가 남아 있으면 검증")
+    void verifyWithRotatedKey() {
+        String token = new QrTokenCodec("1:first-key", 1).encode(42L);
+
+        assertThat(qrTokenCodec.verify(token)).isEqualTo(42L);
+        assertThatThrownBy(() -> new QrTokenCodec("2:second-key", 2).verify(token))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("변조된 토큰 검증 실패")
+    void verifyFailWithTamperedToken() {
+        byte[] bytes = Base64.getUrlDecoder().decode(qrTokenCodec.encode(42L));
+        bytes[1] = 43;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        assertThatThrownBy(() -> qrTokenCodec.verify(tampered))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("QR 토큰 서명이 올바르지 않습니다.");
+    }
+
+    @Test
+    @DisplayName("기존 AES 토큰은 압축 토큰으로 취급하지 않음")
+    void doesNotSupportLegacyToken() {
+        String legacy = Base64.getUrlEncoder().encodeToString(new byte[48]);
+
+        assertThat(qrTokenCodec.supports(legacy)).isFalse();
+        assertThat(qrTokenCodec.supports("not-base64!")).isFalse();
+    }
+}
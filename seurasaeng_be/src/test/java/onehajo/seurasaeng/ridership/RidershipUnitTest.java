@@ -0,0 +1,225 @@
+package onehajo.seurasaeng.ridership;
+
+import onehajo.seurasaeng.entity.Shuttle;
+import onehajo.seurasaeng.entity.Timetable;
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import onehajo.seurasaeng.ridership.repository.RidershipAppliedRepository;
+import onehajo.seurasaeng.ridership.repository.RidershipDailyRepository;
+import onehajo.seurasaeng.ridership.repository.RidershipHourlyRepository;
+import onehajo.seurasaeng.ridership.service.RidershipAggregationService;
+import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
+import onehajo.seurasaeng.shuttle.repository.TimetableRepository;
+import onehajo.seurasaeng.shuttle.util.TimetableRuns;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("탑승 집계 단위 테스트")
+public class RidershipUnitTest {
+
+    @Mock
+    private RidershipHourlyRepository ridershipHourlyRepository;
+
+    @Mock
+    private RidershipDailyRepository ridershipDailyRepository;
+
+    @Mock
+    private RidershipAppliedRepository ridershipAppliedRepository;
+
+    @Mock
+    private ShuttleRepository shuttleRepository;
+
+    @Mock
+    private TimetableRepository timetableRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RidershipAggregationService ridershipAggregationService;
+
+    private Shuttle shuttle;
+
+    @BeforeEach
+    void setUp() {
+        shuttle = Shuttle.builder().id(1L).shuttleName("청사역").isCommute(true).build();
+        ridershipAggregationService = new RidershipAggregationService(ridershipHourlyRepository, ridershipDailyRepository,
+                ridershipAppliedRepository, shuttleRepository, timetableRepository, transactionTemplate, 30, 12);
+    }
+
+    @Test
+    @DisplayName("탑승 시각으로 회차 출발 시각 계산")
+    void resolveDepartureMinute() {
+        int[] departures = {7 * 60 + 30, 8 * 60, 8 * 60 + 30};
+
+        assertThat(TimetableRuns.resolveDepartureMinute(departures, LocalTime.of(7, 0))).isEqualTo(7 * 60 + 30);
+        assertThat(TimetableRuns.resolveDepartureMinute(departures, LocalTime.of(7, 35))).isEqualTo(7 * 60 + 30);
+        assertThat(TimetableRuns.resolveDepartureMinute(departures, LocalTime.of(7, 41))).isEqualTo(8 * 60);
+        assertThat(TimetableRuns.resolveDepartureMinute(departures, LocalTime.of(9, 0))).isEqualTo(TimetableRuns.NO_RUN);
+        assertThat(TimetableRuns.toTime(8 * 60 + 30)).isEqualTo(LocalTime.of(8, 30));
+        assertThat(TimetableRuns.toTime(TimetableRuns.NO_RUN)).isNull();
+    }
+
+    @Test
+    @DisplayName("탑승 이벤트를 시간대별 / 일별 회차 단위로 묶어 누적")
+    void accumulateGroupsByRun() {
+        LocalDate today = LocalDate.of(2025, 6, 2);
+        given(shuttleRepository.findAllById(anySet())).willReturn(List.of(shuttle));
+        given(timetableRepository.findAllByShuttleIdIn(anySet())).willReturn(List.of(
+                timetable(LocalTime.of(8, 0)), timetable(LocalTime.of(7, 30))));
+
+        List<BoardingEventDTO> events = List.of(
+                event(1L, today.atTime(7, 20)),
+                event(2L, today.atTime(7, 25)),
+                event(3L, today.atTime(7, 50)));
+        given(ridershipAppliedRepository.insertIgnoringApplied(events)).willReturn(events);
+
+        ridershipAggregationService.accumulate(events);
+
+        then(ridershipDailyRepository).should().lockShared(anyLong());
+        then(ridershipHourlyRepository).should().upsert(1L, true, 7 * 60 + 30, today.atTime(7, 0), 2L);
+        then(ridershipHourlyRepository).should().upsert(1L, true, 8 * 60, today.atTime(7, 0), 1L);
+        then(ridershipDailyRepository).should().upsert(1L, true, 7 * 60 + 30, today, 2L);
+        then(ridershipDailyRepository).should().upsert(1L, true, 8 * 60, today, 1L);
+    }
+
+    @Test
+    @DisplayName("이미 집계에 반영된 탑승은 다시 누적하지 않음 (재전달)")
+    @SuppressWarnings("unchecked")
+    void handleSkipsAlreadyApplied() {
+        LocalDate today = LocalDate.of(2025, 6, 2);
+        willAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+        // user 1 은 이미 반영되어 ON CONFLICT 로 건너뜀
+        given(ridershipAppliedRepository.insertIgnoringApplied(anyList())).willReturn(List.of(event(2L, today.atTime(7, 25))));
+        given(shuttleRepository.findAllById(anySet())).willReturn(List.of(shuttle));
+        given(timetableRepository.findAllByShuttleIdIn(anySet())).willReturn(List.of(timetable(LocalTime.of(7, 30))));
+
+        ridershipAggregationService.handle(List.of(event(1L, today.atTime(7, 20)), event(2L, today.atTime(7, 25))));
+
+        assertThat(ridershipAggregationService.group()).isEqualTo("ridership");
+        then(ridershipDailyRepository).should().upsert(1L, true, 7 * 60 + 30, today, 1L);
+    }
+
+    @Test
+    @DisplayName("모두 반영된 묶음은 집계 행을 건드리지 않음")
+    void accumulateNothingWhenAllApplied() {
+        given(ridershipAppliedRepository.insertIgnoringApplied(anyList())).willReturn(List.of());
+
+        ridershipAggregationService.accumulate(List.of(event(1L, LocalDate.of(2025, 6, 2).atTime(7, 20))));
+
+        then(ridershipDailyRepository).should(never()).upsert(anyLong(), anyBoolean(), anyInt(), any(), anyLong());
+        then(ridershipHourlyRepository).should(never()).upsert(anyLong(), anyBoolean(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("집계 재계산 시 해당 일 집계를 지운 뒤 원본으로 다시 누적")
+    @SuppressWarnings("unchecked")
+    void rebuildReplacesDay() {
+        LocalDate day = LocalDate.now().minusDays(1);
+        willAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0))
+                .doInTransaction(mock(TransactionStatus.class)))
+                .given(transactionTemplate).execute(any());
+        given(ridershipAppliedRepository.findByServiceDate(day)).willReturn(List.of(event(1L, day.atTime(7, 20))));
+        given(shuttleRepository.findAllById(anySet())).willReturn(List.of(shuttle));
+        given(timetableRepository.findAllByShuttleIdIn(anySet())).willReturn(List.of(timetable(LocalTime.of(7, 30))));
+
+        long rebuilt = ridershipAggregationService.rebuild(day, day);
+
+        assertThat(rebuilt).isEqualTo(1);
+        InOrder inOrder = inOrder(ridershipDailyRepository, ridershipHourlyRepository, ridershipAppliedRepository);
+        inOrder.verify(ridershipDailyRepository).lockExclusive(anyLong());
+        inOrder.verify(ridershipHourlyRepository).deleteByHourStartRange(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        inOrder.verify(ridershipDailyRepository).deleteByServiceDate(day);
+        inOrder.verify(ridershipAppliedRepository).insertFromBoardings(day);
+        inOrder.verify(ridershipAppliedRepository).findByServiceDate(day);
+        inOrder.verify(ridershipHourlyRepository).upsert(1L, true, 7 * 60 + 30, day.atTime(7, 0), 1L);
+        inOrder.verify(ridershipDailyRepository).upsert(1L, true, 7 * 60 + 30, day, 1L);
+    }
+
+    @Test
+    @DisplayName("보관 파일로 옮겨진 운행일은 재계산하지 않음 (집계를 지우지 않음)")
+    void rebuildRejectsArchivedDays() {
+        LocalDate archivedBefore = YearMonth.now().minusMonths(12).atDay(1);
+
+        assertThatThrownBy(() -> ridershipAggregationService.rebuild(archivedBefore.minusDays(1), archivedBefore))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(archivedBefore.toString());
+        then(transactionTemplate).shouldHaveNoInteractions();
+        then(ridershipDailyRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("승인 시점 회차로 집계 (이후 시간표 변경과 무관, 회차 없는 이전 탑승만 현재 시간표로 계산)")
+    void accumulateUsesRecordedDepartureMinute() {
+        LocalDate today = LocalDate.of(2025, 6, 2);
+        given(shuttleRepository.findAllById(anySet())).willReturn(List.of(shuttle));
+
+        // 07:30 회차로 승인된 뒤 시간표가 바뀐 탑승
+        List<BoardingEventDTO> events = List.of(
+                event(1L, today.atTime(7, 20), 7 * 60 + 30),
+                event(2L, today.atTime(7, 25), TimetableRuns.NO_RUN));
+        given(ridershipAppliedRepository.insertIgnoringApplied(events)).willReturn(events);
+
+        ridershipAggregationService.accumulate(events);
+
+        then(timetableRepository).shouldHaveNoInteractions();
+        then(ridershipDailyRepository).should().upsert(1L, true, 7 * 60 + 30, today, 1L);
+        then(ridershipDailyRepository).should().upsert(1L, true, TimetableRuns.NO_RUN, today, 1L);
+    }
+
+    @Test
+    @DisplayName("집계 조회 기간 오류")
+    void invalidRange() {
+        LocalDate day = LocalDate.of(2025, 6, 2);
+
+        assertThatThrownBy(() -> ridershipAggregationService.getDaily(day, day.minusDays(1), null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("조회 기간이 올바르지 않습니다.");
+        assertThatThrownBy(() -> ridershipAggregationService.getHourly(day, day.plusDays(31), null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("조회 기간은 최대 31일입니다.");
+    }
+
+    private Timetable timetable(LocalTime departureTime) {
+        return Timetable.builder()
+                .shuttle(shuttle)
+                .departureTime(departureTime)
+                .boardingLocation("청사역")
+                .dropoffLocation("아이티센")
+                .build();
+    }
+
+    private BoardingEventDTO event(Long userId, LocalDateTime boardingTime) {
+        return event(userId, boardingTime, null);
+    }
+
+    private BoardingEventDTO event(Long userId, LocalDateTime boardingTime, Integer departureMinute) {
+        return BoardingEventDTO.builder()
+                .user_id(userId)
+                .shuttle_id(shuttle.getId())
+                .boarding_time(boardingTime)
+                .departure_minute(departureMinute)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package onehajo.seurasaeng.ridership;
+
+import onehajo.seurasaeng.qr.dto.BoardingEventDTO;
+import onehajo.seurasaeng.qr.repository.BoardingRepository;
+import onehajo.seurasaeng.ridership.dto.UniqueRiderResDTO;
+import onehajo.seurasaeng.ridership.service.UniqueRiderService;
+import onehajo.seurasaeng.shuttle.service.TimetableRunResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("중복 제외 탑승자 단위 테스트")
+public class UniqueRiderUnitTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private HyperLogLogOperations<String, String> hyperLogLogOperations;
+
+    @Mock
+    private BoardingRepository boardingRepository;
+
+    @Mock
+    private TimetableRunResolver timetableRunResolver;
+
+    private UniqueRiderService uniqueRiderService;
+
+    private final LocalDate day = LocalDate.of(2025, 6, 2);
+
+    @BeforeEach
+    void setUp() {
+        uniqueRiderService = new UniqueRiderService(redisTemplate, boardingRepository, timetableRunResolver, 400);
+    }
+
+    @Test
+    @DisplayName("탑승 이벤트를 셔틀 · 운행일별 HyperLogLog 에 묶어 반영")
+    @SuppressWarnings("unchecked")
+    void recordGroupsByShuttleAndDay() {
+        RedisOperations<String, String> operations = mock(RedisOperations.class);
+        given(operations.opsForHyperLogLog()).willReturn(hyperLogLogOperations);
+        willAnswer(invocation -> ((SessionCallback<Object>) invocation.getArgument(0)).execute(operations))
+                .given(redisTemplate).executePipelined(any(SessionCallback.class));
+
+        uniqueRiderService.handle(List.of(
+                event(10L, 1L, day),
+                event(11L, 1L, day),
+                event(10L, 2L, day.plusDays(1))));
+
+        then(hyperLogLogOperations).should().add(UniqueRiderService.keyOf(1L, day), "10", "11");
+        then(hyperLogLogOperations).should().add(UniqueRiderService.keyOf(2L, day.plusDays(1)), "10");
+        then(operations).should().expire(UniqueRiderService.keyOf(1L, day), Duration.ofDays(400));
+        then(operations).should().expire(UniqueRiderService.keyOf(2L, day.plusDays(1)), Duration.ofDays(400));
+    }
+
+    @Test
+    @DisplayName("기간 · 셔틀 합집합을 PFCOUNT 한 번으로 추정")
+    void estimateUnion() {
+        given(redisTemplate.opsForHyperLogLog()).willReturn(hyperLogLogOperations);
+        given(timetableRunResolver.getShuttleIds()).willReturn(Set.of(2L, 1L));
+        given(hyperLogLogOperations.size(UniqueRiderService.keyOf(1L, day), UniqueRiderService.keyOf(1L, day.plusDays(1))))
+                .willReturn(30L);
+        given(hyperLogLogOperations.size(UniqueRiderService.keyOf(2L, day), UniqueRiderService.keyOf(2L, day.plusDays(1))))
+                .willReturn(20L);
+        given(hyperLogLogOperations.size(
+                UniqueRiderService.keyOf(1L, day), UniqueRiderService.keyOf(1L, day.plusDays(1)),
+                UniqueRiderService.keyOf(2L, day), UniqueRiderService.keyOf(2L, day.plusDays(1))))
+                .willReturn(42L);
+
+        UniqueRiderResDTO result = uniqueRiderService.estimate(day, day.plusDays(1), null);
+
+        assertThat(result.getUnique_riders()).isEqualTo(42L);
+        assertThat(result.getShuttles())
+                .extracting(UniqueRiderResDTO.ShuttleUniqueRiders::getShuttle_id,
+                        UniqueRiderResDTO.ShuttleUniqueRiders::getUnique_riders)
+                .containsExactly(tuple(1L, 30L), tuple(2L, 20L));
+    }
+
+    @Test
+    @DisplayName("조회 기간 / 범위 오류")
+    void invalidRange() {
+        assertThatThrownBy(() -> uniqueRiderService.estimate(day, day.minusDays(1), List.of(1L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("조회 기간이 올바르지 않습니다.");
+        assertThatThrownBy(() -> uniqueRiderService.estimate(day, day.plusDays(366), List.of(1L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("조회 기간은 최대 366일입니다.");
+        assertThatThrownBy(() -> uniqueRiderService.estimate(day, day.plusDays(99), List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L, 21L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("조회 범위가 너무 큽니다.");
+        then(redisTemplate).shouldHaveNoInteractions();
+    }
+
+    private BoardingEventDTO event(Long userId, Long shuttleId, LocalDate date) {
+        return BoardingEventDTO.builder()
+                .user_id(userId)
+                .shuttle_id(shuttleId)
+                .boarding_time(date.atTime(7, 20))
+                .build();
+    }
+}
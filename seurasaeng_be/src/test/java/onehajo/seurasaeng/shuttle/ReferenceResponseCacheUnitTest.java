@@ -0,0 +1,110 @@
+package onehajo.seurasaeng.shuttle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import onehajo.seurasaeng.shuttle.dto.ShuttleResponseDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableResponseDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableSnapshotDto;
+import onehajo.seurasaeng.shuttle.service.ReferenceResponseCache;
+import onehajo.seurasaeng.shuttle.service.ShuttleService;
+import onehajo.seurasaeng.shuttle.service.TimetableService;
+import onehajo.seurasaeng.util.EncodedJsonResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("셔틀 / 시간표 응답 캐시 단위 테스트")
+public class ReferenceResponseCacheUnitTest {
+
+    @Mock
+    private ShuttleService shuttleService;
+
+    @Mock
+    private TimetableService timetableService;
+
+    private ReferenceResponseCache referenceResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        referenceResponseCache = new ReferenceResponseCache(shuttleService, timetableService, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("시간표 응답은 스냅샷 버전이 바뀔 때만 다시 직렬화")
+    void timetablesKeyedBySnapshotVersion() {
+        TimetableResponseDto empty = TimetableResponseDto.builder().commute(List.of()).offwork(List.of()).build();
+        given(timetableService.getSnapshot())
+                .willReturn(new TimetableSnapshotDto("v1", empty, Map.of(), Map.of()))
+                .willReturn(new TimetableSnapshotDto("v1", empty, Map.of(), Map.of()))
+                .willReturn(new TimetableSnapshotDto("v2", empty, Map.of(), Map.of()));
+
+        EncodedJsonResponse first = referenceResponseCache.getTimetables();
+
+        assertThat(referenceResponseCache.getTimetables()).isSameAs(first);
+        assertThat(referenceResponseCache.getTimetables().getVersion()).isEqualTo("v2");
+        assertThat(first.toResponse(request(null, null)).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    @DisplayName("셔틀 응답 - gzip 협상 / Content-Length / 조건부 요청")
+    void shuttlesEncodedOnce() throws IOException {
+        given(shuttleService.getShuttleList()).willReturn(List.of(ShuttleResponseDto.builder()
+                .id(1L).shuttleName("양재").departureName("아이티센타워").destinationName("양재역").commute(true).build()));
+        given(shuttleService.getShuttleWithLocation()).willReturn(List.of());
+
+        EncodedJsonResponse shuttles = referenceResponseCache.getShuttles();
+        // 내용이 같으면 갱신해도 같은 응답 유지
+        referenceResponseCache.refreshShuttles();
+        assertThat(referenceResponseCache.getShuttles()).isSameAs(shuttles);
+        then(shuttleService).should(times(2)).getShuttleList();
+
+        ResponseEntity<byte[]> identity = shuttles.toResponse(request(null, null));
+        String json = new String(identity.getBody(), StandardCharsets.UTF_8);
+        assertThat(json).contains("\"shuttleName\":\"양재\"");
+        assertThat(identity.getHeaders().getContentLength()).isEqualTo(identity.getBody().length);
+        assertThat(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+
+        ResponseEntity<byte[]> gzipped = shuttles.toResponse(request("gzip, deflate, br", null));
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getETag()).isNotEqualTo(identity.getHeaders().getETag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(json);
+        }
+
+        assertThat(shuttles.toResponse(request("gzip;q=0", null)).getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(shuttles.toResponse(request(null, identity.getHeaders().getETag())).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(referenceResponseCache.getShuttleLocations().toResponse(request(null, null)).getStatusCode())
+                .isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    private ServletWebRequest request(String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/shuttles");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -5,6 +5,7 @@ import onehajo.seurasaeng.entity.Location;
 import onehajo.seurasaeng.entity.Shuttle;
 import onehajo.seurasaeng.shuttle.repository.LocationRepository;
 import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
+import onehajo.seurasaeng.shuttle.service.ReferenceResponseCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -32,6 +33,9 @@ public class ShuttleIntegrationTest {
     @Autowired
     private LocationRepository locationRepository;
 
+    @Autowired
+    private ReferenceResponseCache referenceResponseCache;
+
     @BeforeEach
     void setup() {
         Location departure = Location.builder()
@@ -58,6 +62,9 @@ public class ShuttleIntegrationTest {
                 .isCommute(true)
                 .build();
         shuttleRepository.save(shuttle);
+
+        // 리포지토리로 직접 넣은 데이터는 응답 캐시 갱신 후 조회됨
+        referenceResponseCache.refreshShuttles();
     }
 
     @Test
@@ -77,6 +84,7 @@ public class ShuttleIntegrationTest {
     void testGetShuttles_No_Content() throws Exception {
         shuttleRepository.deleteAll();
         locationRepository.deleteAll();
+        referenceResponseCache.refreshShuttles();
 
         mockMvc.perform(get("/api/shuttles")
                         .accept(MediaType.APPLICATION_JSON))
@@ -100,6 +108,7 @@ public class ShuttleIntegrationTest {
     void testGetShuttlesWithLocation_No_Content() throws Exception {
         shuttleRepository.deleteAll();
         locationRepository.deleteAll();
+        referenceResponseCache.refreshShuttles();
 
         mockMvc.perform(get("/api/shuttles/locations")
                 .accept(MediaType.APPLICATION_JSON))
@@ -56,7 +56,7 @@ class ShuttleServiceUnitTest {
     @DisplayName("노선 목록 조회 단위 테스트")
     void testGetShuttleList() {
 
-        when(shuttleRepository.findAll()).thenReturn(List.of(shuttle));
+        when(shuttleRepository.findAllWithLocation()).thenReturn(List.of(shuttle));
 
         List<ShuttleResponseDto> result = shuttleService.getShuttleList();
 
@@ -72,7 +72,7 @@ class ShuttleServiceUnitTest {
     @DisplayName("노선 위치 정보 포함 목록 조회 단위 테스트")
     void testGetShuttleWithLocation() {
 
-        when(shuttleRepository.findAll()).thenReturn(List.of(shuttle));
+        when(shuttleRepository.findAllWithLocation()).thenReturn(List.of(shuttle));
 
         List<ShuttleWithLocationResponseDto> result = shuttleService.getShuttleWithLocation();
 
@@ -0,0 +1,139 @@
+package onehajo.seurasaeng.shuttle;
+
+import onehajo.seurasaeng.shuttle.dto.TimetableDiffDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableImportResultDto;
+import onehajo.seurasaeng.shuttle.dto.UpdateTimetableRequestDto;
+import onehajo.seurasaeng.shuttle.exception.TimetableImportException;
+import onehajo.seurasaeng.shuttle.service.TimetableCsvService;
+import onehajo.seurasaeng.shuttle.service.TimetableService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("시간표 CSV 가져오기 단위 테스트")
+public class TimetableCsvUnitTest {
+
+    @Mock
+    private TimetableService timetableService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TimetableCsvService timetableCsvService;
+
+    @BeforeEach
+    void setUp() {
+        timetableCsvService = new TimetableCsvService(timetableService, jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    @DisplayName("셔틀별로 묶어 한 번에 반영 (따옴표 항목 / 빈 값 허용)")
+    @SuppressWarnings("unchecked")
+    void importGroupsByShuttle() {
+        given(timetableService.importTimetables(anyMap(), eq(true))).willReturn(List.of(
+                TimetableDiffDto.builder().shuttleId(1L).updated(1).inserted(1).build(),
+                TimetableDiffDto.builder().shuttleId(2L).unchanged(1).build()));
+
+        TimetableImportResultDto result = timetableCsvService.importCsv(csv("""
+                \uFEFFshuttle_id,departure_time,total_seats,boarding_location,dropoff_location
+                1,08:00,45,"7번출구 앞, 우측",G동 옆
+                1,07:30,,,
+
+                2,18:00,30,정문,"""
+                + "\"\"\"센타워\"\" 정문\"\n"), true);
+
+        ArgumentCaptor<Map<Long, Map<LocalTime, UpdateTimetableRequestDto.TimetableDto>>> captor =
+                ArgumentCaptor.forClass(Map.class);
+        then(timetableService).should().importTimetables(captor.capture(), eq(true));
+        Map<Long, Map<LocalTime, UpdateTimetableRequestDto.TimetableDto>> requested = captor.getValue();
+
+        assertThat(requested.keySet()).containsExactly(1L, 2L);
+        assertThat(requested.get(1L).keySet()).containsExactly(LocalTime.of(7, 30), LocalTime.of(8, 0));
+        UpdateTimetableRequestDto.TimetableDto first = requested.get(1L).get(LocalTime.of(8, 0));
+        assertThat(first.getTotalSeats()).isEqualTo(45);
+        assertThat(first.getBoardingLocation()).isEqualTo("7번출구 앞, 우측");
+        assertThat(requested.get(1L).get(LocalTime.of(7, 30)).getTotalSeats()).isNull();
+        assertThat(requested.get(2L).get(LocalTime.of(18, 0)).getDropoffLocation()).isEqualTo("\"센타워\" 정문");
+
+        assertThat(result.isDryRun()).isTrue();
+        assertThat(result.getRows()).isEqualTo(3);
+        assertThat(result.getShuttles()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("행 오류가 있으면 행 번호와 함께 모아서 거부하고 반영하지 않음")
+    void importRejectsInvalidRows() {
+        assertThatThrownBy(() -> timetableCsvService.importCsv(csv("""
+                shuttle_id,departure_time,total_seats,boarding_location,dropoff_location
+                abc,08:00,45,정문,G동 옆
+                1,25:00,45,정문,G동 옆
+                1,08:00,-1,정문,G동 옆
+                1,08:00,45,정문
+                1,09:00,45,정문,G동 옆
+                1,09:00,40,정문,G동 옆
+                """), false))
+                .isInstanceOfSatisfying(TimetableImportException.class, e -> assertThat(e.getErrors()).containsExactly(
+                        "2행 : 셔틀 ID 가 올바르지 않습니다 : abc",
+                        "3행 : 출발 시각이 올바르지 않습니다 (HH:mm) : 25:00",
+                        "4행 : 좌석 수가 올바르지 않습니다 : -1",
+                        "5행 : 항목 수가 올바르지 않습니다. (4개)",
+                        "7행 : 셔틀 1 의 출발 시각이 중복되었습니다 : 09:00"));
+
+        assertThatThrownBy(() -> timetableCsvService.importCsv(csv("shuttle,time\n"), false))
+                .isInstanceOf(TimetableImportException.class);
+        then(timetableService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("따옴표 안의 줄바꿈은 다음 줄까지 한 행으로 읽고, 닫히지 않은 따옴표는 시작 행으로 거부")
+    @SuppressWarnings("unchecked")
+    void importQuotedLineBreaks() {
+        given(timetableService.importTimetables(anyMap(), eq(false))).willReturn(List.of(
+                TimetableDiffDto.builder().shuttleId(1L).inserted(2).build()));
+
+        TimetableImportResultDto result = timetableCsvService.importCsv(csv(
+                "shuttle_id,departure_time,total_seats,boarding_location,dropoff_location\r\n"
+                        + "1,08:00,45,\"정문\r\n왼쪽\",G동 옆\r\n"
+                        + "1,09:00,45,정문,G동 옆\r\n"), false);
+
+        ArgumentCaptor<Map<Long, Map<LocalTime, UpdateTimetableRequestDto.TimetableDto>>> captor =
+                ArgumentCaptor.forClass(Map.class);
+        then(timetableService).should().importTimetables(captor.capture(), eq(false));
+        assertThat(captor.getValue().get(1L).get(LocalTime.of(8, 0)).getBoardingLocation()).isEqualTo("정문\n왼쪽");
+        assertThat(result.getRows()).isEqualTo(2);
+
+        assertThatThrownBy(() -> timetableCsvService.importCsv(csv("""
+                shuttle_id,departure_time,total_seats,boarding_location,dropoff_location
+                1,08:00,45,정문,G동 옆
+                1,09:00,45,"정문,G동 옆
+                1,10:00,45,정문,G동 옆
+                """), false))
+                .isInstanceOfSatisfying(TimetableImportException.class, e -> assertThat(e.getErrors()).containsExactly(
+                        "3행 : 따옴표가 닫히지 않았습니다."));
+    }
+
+    private InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -8,6 +8,7 @@ import onehajo.seurasaeng.shuttle.dto.UpdateTimetableRequestDto;
 import onehajo.seurasaeng.shuttle.repository.LocationRepository;
 import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
 import onehajo.seurasaeng.shuttle.repository.TimetableRepository;
+import onehajo.seurasaeng.shuttle.service.TimetableService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -43,6 +44,8 @@ public class TimetableIntegrationTest {
     @Autowired
     private TimetableRepository timetableRepository;
 
+    @Autowired
+    private TimetableService timetableService;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -81,6 +84,9 @@ public class TimetableIntegrationTest {
                 .arrivalMinutes(15)
                 .totalSeats(45)
                 .build());
+
+        // 리포지토리로 직접 넣은 데이터는 스냅샷 갱신 후 조회됨
+        timetableService.refreshSnapshot();
     }
 
     @Test
@@ -103,6 +109,7 @@ public class TimetableIntegrationTest {
         timetableRepository.deleteAll();
         shuttleRepository.deleteAll();
         locationRepository.deleteAll();
+        timetableService.refreshSnapshot();
 
         mockMvc.perform(get("/api/timetables")
                         .accept(MediaType.APPLICATION_JSON))
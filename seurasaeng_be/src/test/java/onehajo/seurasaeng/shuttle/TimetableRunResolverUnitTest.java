@@ -0,0 +1,62 @@
+package onehajo.seurasaeng.shuttle;
+
+import onehajo.seurasaeng.shuttle.dto.TimetableResponseDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableRunDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableSnapshotDto;
+import onehajo.seurasaeng.shuttle.service.TimetableRunResolver;
+import onehajo.seurasaeng.shuttle.service.TimetableService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("운행 회차 조회 단위 테스트")
+class TimetableRunResolverUnitTest {
+
+    @InjectMocks
+    private TimetableRunResolver timetableRunResolver;
+
+    @Mock
+    private TimetableService timetableService;
+
+    private final LocalDate today = LocalDate.of(2025, 6, 2);
+
+    @BeforeEach
+    void setUp() {
+        TimetableResponseDto empty = TimetableResponseDto.builder().commute(List.of()).offwork(List.of()).build();
+        // 07:30 (45석), 08:00 (25석)
+        given(timetableService.getSnapshot()).willReturn(new TimetableSnapshotDto("v1", empty,
+                Map.of(1L, new int[]{7 * 60 + 30, 8 * 60}), Map.of(1L, new int[]{45, 25})));
+    }
+
+    @Test
+    @DisplayName("탑승 시각의 회차와 좌석 수 조회 (시간표 스냅샷 기준)")
+    void resolveCurrentRun() {
+        TimetableRunDto run = timetableRunResolver.resolve(1L, today.atTime(7, 35));
+
+        assertThat(run.getDepartureTime()).isEqualTo(LocalTime.of(7, 30));
+        assertThat(run.getServiceDate()).isEqualTo(today);
+        assertThat(run.getTotalSeats()).isEqualTo(45);
+        assertThat(timetableRunResolver.resolve(1L, today.atTime(7, 45)).getTotalSeats()).isEqualTo(25);
+        assertThat(timetableRunResolver.getShuttleIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("시간표 외 탑승이나 시간표가 없는 셔틀은 회차 없음")
+    void noRun() {
+        assertThat(timetableRunResolver.resolve(1L, today.atTime(9, 0))).isNull();
+        assertThat(timetableRunResolver.resolve(2L, today.atTime(7, 30))).isNull();
+    }
+}
@@ -3,23 +3,35 @@ package onehajo.seurasaeng.shuttle;
 import onehajo.seurasaeng.entity.Location;
 import onehajo.seurasaeng.entity.Shuttle;
 import onehajo.seurasaeng.entity.Timetable;
+import onehajo.seurasaeng.shuttle.dto.NextDepartureResponseDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableDiffDto;
 import onehajo.seurasaeng.shuttle.dto.TimetableResponseDto;
+import onehajo.seurasaeng.shuttle.dto.TimetableSnapshotDto;
 import onehajo.seurasaeng.shuttle.dto.UpdateTimetableRequestDto;
+import onehajo.seurasaeng.shuttle.event.TimetableChangedEvent;
+import onehajo.seurasaeng.shuttle.exception.TimetableImportException;
 import onehajo.seurasaeng.shuttle.repository.ShuttleRepository;
 import onehajo.seurasaeng.shuttle.repository.TimetableRepository;
 import onehajo.seurasaeng.shuttle.service.TimetableService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +47,9 @@ class TimetableServiceUnitTest {
     @Mock
     private TimetableRepository timetableRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Test
     @DisplayName("시간표 목록 조회 API - 단위테스트")
     void getCommuteTimetableSuccess() {
@@ -65,9 +80,7 @@ class TimetableServiceUnitTest {
                 .build();
 
 
-        when(shuttleRepository.findByIsCommute(true)).thenReturn(List.of(shuttle));
-        when(timetableRepository.findByShuttleOrderByDepartureTimeAsc(shuttle)).thenReturn(List.of(timetable));
-
+        when(timetableRepository.findAllWithShuttle()).thenReturn(List.of(timetable));
 
         TimetableResponseDto response = timetableService.getTimetable();
 
@@ -79,7 +92,102 @@ class TimetableServiceUnitTest {
         assertThat(response.getCommute().getFirst().getDuration()).isEqualTo("15분");
         assertThat(response.getCommute().getFirst().getTotalSeats()).isEqualTo("45명");
 
-        verify(shuttleRepository, times(1)).findByIsCommute(true);
+        verify(timetableRepository, times(1)).findAllWithShuttle();
+    }
+
+    @Test
+    @DisplayName("시간표 스냅샷 - 조회는 재사용하고 변경 시에만 버전이 바뀜")
+    void timetableSnapshotVersion() {
+        Location departure = Location.builder().locationName("정부과천청사역").build();
+        Shuttle shuttle = Shuttle.builder()
+                .id(1L)
+                .shuttleName("과천-센타워 셔틀")
+                .departure(departure)
+                .isCommute(true)
+                .build();
+        Timetable first = Timetable.builder().shuttle(shuttle).departureTime(LocalTime.of(7, 20)).build();
+        Timetable second = Timetable.builder().shuttle(shuttle).departureTime(LocalTime.of(7, 40)).build();
+
+        when(timetableRepository.findAllWithShuttle())
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(first, second));
+
+        TimetableSnapshotDto initial = timetableService.getSnapshot();
+        assertThat(timetableService.getSnapshot()).isSameAs(initial);
+
+        // 내용이 같으면 기존 스냅샷 유지
+        timetableService.onTimetableChanged(new TimetableChangedEvent(1L));
+        assertThat(timetableService.getSnapshot()).isSameAs(initial);
+
+        timetableService.onTimetableChanged(new TimetableChangedEvent(1L));
+        TimetableSnapshotDto changed = timetableService.getSnapshot();
+        assertThat(changed.getVersion()).isNotEqualTo(initial.getVersion());
+        assertThat(changed.getTimetable().getCommute().getFirst().getTimetables()).hasSize(2);
+        verify(timetableRepository, times(3)).findAllWithShuttle();
+    }
+
+    @Test
+    @DisplayName("시간표 스냅샷 - 회차 좌석 수만 바뀌어도 새 스냅샷 (응답 / 버전은 그대로)")
+    void timetableSnapshotRunSeats() {
+        Location departure = Location.builder().locationName("정부과천청사역").build();
+        Shuttle shuttle = Shuttle.builder()
+                .id(1L)
+                .shuttleName("과천-센타워 셔틀")
+                .departure(departure)
+                .isCommute(true)
+                .build();
+        Timetable first = Timetable.builder().shuttle(shuttle).departureTime(LocalTime.of(7, 20)).totalSeats(45).build();
+        Timetable second = Timetable.builder().shuttle(shuttle).departureTime(LocalTime.of(7, 40)).totalSeats(45).build();
+        Timetable reducedSecond = Timetable.builder().shuttle(shuttle).departureTime(LocalTime.of(7, 40)).totalSeats(25).build();
+
+        when(timetableRepository.findAllWithShuttle())
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(first, reducedSecond));
+
+        TimetableSnapshotDto initial = timetableService.getSnapshot();
+        timetableService.onTimetableChanged(new TimetableChangedEvent(1L));
+        TimetableSnapshotDto changed = timetableService.getSnapshot();
+
+        assertThat(changed).isNotSameAs(initial);
+        assertThat(changed.getVersion()).isEqualTo(initial.getVersion());
+        assertThat(changed.getDepartureMinutes().get(1L)).containsExactly(7 * 60 + 20, 7 * 60 + 40);
+        assertThat(changed.getTotalSeats().get(1L)).containsExactly(45, 25);
+    }
+
+    @Test
+    @DisplayName("다음 출발 회차 조회 - 셔틀 / 방향 / 개수 지정")
+    void getNextDepartures() {
+        Location spot = Location.builder().locationName("정부과천청사역").build();
+        Shuttle commute = Shuttle.builder().id(1L).shuttleName("과천").departure(spot).destination(spot).isCommute(true).build();
+        Shuttle offwork = Shuttle.builder().id(2L).shuttleName("과천").departure(spot).destination(spot).isCommute(false).build();
+
+        when(timetableRepository.findAllWithShuttle()).thenReturn(List.of(
+                Timetable.builder().shuttle(commute).departureTime(LocalTime.of(7, 20)).boardingLocation("7번출구 앞").build(),
+                Timetable.builder().shuttle(commute).departureTime(LocalTime.of(7, 40)).boardingLocation("7번출구 앞").build(),
+                Timetable.builder().shuttle(commute).departureTime(LocalTime.of(8, 0)).boardingLocation("7번출구 앞").build(),
+                Timetable.builder().shuttle(offwork).departureTime(LocalTime.of(18, 0)).dropoffLocation("G동 도로 옆").build()));
+
+        LocalDateTime at = LocalDateTime.of(2025, 6, 2, 7, 25, 30);
+        List<NextDepartureResponseDto> all = timetableService.getNextDepartures(null, null, at, 3);
+
+        assertThat(all).extracting(NextDepartureResponseDto::getShuttleId).containsExactly(1L, 2L);
+        assertThat(all.getFirst().getDepartures())
+                .extracting(NextDepartureResponseDto.DepartureDto::getTurn,
+                        NextDepartureResponseDto.DepartureDto::getDepartureTime,
+                        NextDepartureResponseDto.DepartureDto::getMinutesUntil)
+                .containsExactly(tuple("2회", "07:40", 15), tuple("3회", "08:00", 35));
+        assertThat(all.get(1).getDepartures().getFirst().getMinutesUntil()).isEqualTo(18 * 60 - (7 * 60 + 25));
+
+        List<NextDepartureResponseDto> commuteOnly = timetableService.getNextDepartures(List.of(1L, 2L), true, at, 1);
+        assertThat(commuteOnly).hasSize(1);
+        assertThat(commuteOnly.getFirst().getDepartures()).hasSize(1);
+
+        // 막차 이후면 남은 회차 없음
+        assertThat(timetableService.getNextDepartures(List.of(1L), null, at.withHour(9), 3).getFirst().getDepartures())
+                .isEmpty();
+        assertThrows(IllegalArgumentException.class,
+                () -> timetableService.getNextDepartures(null, null, at, 11));
     }
 
     @Test
@@ -133,8 +241,81 @@ class TimetableServiceUnitTest {
     }
 
     @Test
-    @DisplayName("시간표 수정 API - 단위테스트 | 시간표 개수 mismatch 예외")
-    void updateTimetableSizeMismatch() {
+    @DisplayName("시간표 수정 API - 단위테스트 | 바뀐 회차만 수정 / 추가 / 삭제")
+    @SuppressWarnings("unchecked")
+    void updateTimetableMerge() {
+
+        Shuttle shuttle = Shuttle.builder()
+                .id(1L)
+                .shuttleName("정부과천청사 셔틀")
+                .build();
+
+        Timetable timetable1 = Timetable.builder()
+                .id(1L)
+                .shuttle(shuttle)
+                .departureTime(LocalTime.of(7, 20))
+                .boardingLocation("7번출구 앞")
+                .dropoffLocation("G동 옆")
+                .totalSeats(45)
+                .build();
+
+        Timetable timetable2 = Timetable.builder()
+                .id(2L)
+                .shuttle(shuttle)
+                .departureTime(LocalTime.of(7, 40))
+                .boardingLocation("7번출구 앞")
+                .dropoffLocation("G동 옆")
+                .totalSeats(45)
+                .build();
+
+        Timetable timetable3 = Timetable.builder()
+                .id(3L)
+                .shuttle(shuttle)
+                .departureTime(LocalTime.of(8, 0))
+                .boardingLocation("7번출구 앞")
+                .dropoffLocation("G동 옆")
+                .totalSeats(45)
+                .build();
+
+        // 07:40 은 그대로, 08:00 은 좌석 수만 변경, 07:20 은 08:30 으로 이동, 09:00 은 추가
+        UpdateTimetableRequestDto request = new UpdateTimetableRequestDto(
+                shuttle.getId(),
+                List.of(
+                        new UpdateTimetableRequestDto.TimetableDto("1회", "07:40"),
+                        new UpdateTimetableRequestDto.TimetableDto("2회", "08:00", 25, null, null),
+                        new UpdateTimetableRequestDto.TimetableDto("3회", "08:30"),
+                        new UpdateTimetableRequestDto.TimetableDto("4회", "09:00", null, "정문", null)
+                )
+        );
+
+        when(shuttleRepository.findById(shuttle.getId())).thenReturn(Optional.of(shuttle));
+        when(timetableRepository.findByShuttleOrderByDepartureTimeAsc(shuttle))
+                .thenReturn(List.of(timetable1, timetable2, timetable3));
+
+        timetableService.updateTimetable(request);
+
+        assertThat(timetable1.getDepartureTime()).isEqualTo(LocalTime.of(8, 30));
+        assertThat(timetable3.getTotalSeats()).isEqualTo(25);
+
+        ArgumentCaptor<List<Timetable>> saved = ArgumentCaptor.forClass(List.class);
+        verify(timetableRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(3);
+        assertThat(saved.getValue()).containsSubsequence(timetable3, timetable1);
+        assertThat(saved.getValue()).doesNotContain(timetable2);
+        Timetable inserted = saved.getValue().getLast();
+        assertThat(inserted.getId()).isNull();
+        assertThat(inserted.getDepartureTime()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(inserted.getBoardingLocation()).isEqualTo("정문");
+        assertThat(inserted.getDropoffLocation()).isEqualTo("G동 옆");
+        assertThat(inserted.getTotalSeats()).isEqualTo(45);
+
+        verify(timetableRepository, never()).deleteAllInBatch(anyList());
+        verify(eventPublisher).publishEvent(any(TimetableChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("시간표 수정 API - 단위테스트 | 요청에 없는 회차 삭제")
+    void updateTimetableRemovesMissingRuns() {
 
         Shuttle shuttle = Shuttle.builder()
                 .id(1L)
@@ -163,6 +344,85 @@ class TimetableServiceUnitTest {
         when(shuttleRepository.findById(shuttle.getId())).thenReturn(Optional.of(shuttle));
         when(timetableRepository.findByShuttleOrderByDepartureTimeAsc(shuttle)).thenReturn(List.of(timetable1, timetable2));
 
-        assertThrows(IllegalArgumentException.class, () -> timetableService.updateTimetable(request));
+        timetableService.updateTimetable(request);
+
+        assertThat(timetable1.getDepartureTime()).isEqualTo(LocalTime.of(8, 0));
+        verify(timetableRepository).deleteAllInBatch(List.of(timetable2));
+        verify(timetableRepository).saveAll(List.of(timetable1));
+    }
+
+    @Test
+    @DisplayName("시간표 수정 API - 단위테스트 | 변경 없으면 저장 / 이벤트 없음")
+    void updateTimetableNoChange() {
+
+        Shuttle shuttle = Shuttle.builder()
+                .id(1L)
+                .shuttleName("정부과천청사 셔틀")
+                .build();
+
+        Timetable timetable1 = Timetable.builder()
+                .id(1L)
+                .shuttle(shuttle)
+                .departureTime(LocalTime.of(7, 20))
+                .build();
+
+        UpdateTimetableRequestDto request = new UpdateTimetableRequestDto(
+                shuttle.getId(),
+                List.of(
+                        new UpdateTimetableRequestDto.TimetableDto("1회", "07:20")
+                )
+        );
+
+        when(shuttleRepository.findById(shuttle.getId())).thenReturn(Optional.of(shuttle));
+        when(timetableRepository.findByShuttleOrderByDepartureTimeAsc(shuttle)).thenReturn(List.of(timetable1));
+
+        timetableService.updateTimetable(request);
+
+        verify(timetableRepository, never()).saveAll(anyList());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("시간표 일괄 수정 - 미리보기는 변경 내역만 계산")
+    void importTimetablesDryRun() {
+        Location spot = Location.builder().locationName("정부과천청사역").build();
+        Shuttle shuttle = Shuttle.builder().id(1L).shuttleName("과천").departure(spot).destination(spot).build();
+        Timetable timetable1 = Timetable.builder().id(1L).shuttle(shuttle).departureTime(LocalTime.of(7, 20))
+                .boardingLocation("7번출구 앞").dropoffLocation("G동 옆").build();
+        Timetable timetable2 = Timetable.builder().id(2L).shuttle(shuttle).departureTime(LocalTime.of(7, 40))
+                .boardingLocation("7번출구 앞").dropoffLocation("G동 옆").build();
+
+        when(shuttleRepository.findAllWithLocationByIdIn(Set.of(1L))).thenReturn(List.of(shuttle));
+        when(timetableRepository.findAllByShuttleIdIn(Set.of(1L))).thenReturn(List.of(timetable2, timetable1));
+
+        Map<LocalTime, UpdateTimetableRequestDto.TimetableDto> requested = new TreeMap<>(Map.of(
+                LocalTime.of(7, 20), new UpdateTimetableRequestDto.TimetableDto(null, "07:20"),
+                LocalTime.of(8, 0), new UpdateTimetableRequestDto.TimetableDto(null, "08:00"),
+                LocalTime.of(8, 30), new UpdateTimetableRequestDto.TimetableDto(null, "08:30")));
+
+        List<TimetableDiffDto> diffs = timetableService.importTimetables(Map.of(1L, requested), true);
+
+        assertThat(diffs).singleElement().satisfies(diff -> {
+            assertThat(diff.getUnchanged()).isEqualTo(1);
+            assertThat(diff.getUpdated()).isEqualTo(1);
+            assertThat(diff.getInserted()).isEqualTo(1);
+            assertThat(diff.getDeleted()).isZero();
+        });
+        assertThat(timetable2.getDepartureTime()).isEqualTo(LocalTime.of(7, 40));
+        verify(timetableRepository, never()).saveAll(anyList());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("시간표 일괄 수정 - 없는 셔틀이 있으면 전체 거부")
+    void importTimetablesUnknownShuttle() {
+        when(shuttleRepository.findAllWithLocationByIdIn(Set.of(9L))).thenReturn(List.of());
+
+        Map<LocalTime, UpdateTimetableRequestDto.TimetableDto> requested = Map.of(
+                LocalTime.of(7, 20), new UpdateTimetableRequestDto.TimetableDto(null, "07:20"));
+
+        assertThrows(TimetableImportException.class,
+                () -> timetableService.importTimetables(Map.of(9L, requested), false));
+        verify(timetableRepository, never()).findAllByShuttleIdIn(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package onehajo.seurasaeng.socket;
+
+import onehajo.seurasaeng.qr.event.OccupancyChangedEvent;
+import onehajo.seurasaeng.socket.dto.OccupancyMessagePayloadDTO;
+import onehajo.seurasaeng.socket.service.OccupancyBroadcaster;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("탑승 인원 실시간 전송 단위 테스트")
+public class OccupancyBroadcasterUnitTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private OccupancyBroadcaster occupancyBroadcaster;
+
+    @Test
+    @DisplayName("연속 탑승은 셔틀별 마지막 인원 한 번만 전송")
+    void coalesceBurst() {
+        for (long count = 1; count <= 10; count++) {
+            occupancyBroadcaster.onOccupancyChanged(new OccupancyChangedEvent(1L, count, 45));
+        }
+        occupancyBroadcaster.onOccupancyChanged(new OccupancyChangedEvent(2L, 3L, 25));
+
+        occupancyBroadcaster.flush();
+
+        ArgumentCaptor<OccupancyMessagePayloadDTO> captor = ArgumentCaptor.forClass(OccupancyMessagePayloadDTO.class);
+        then(messagingTemplate).should().convertAndSend(eq("/topic/route/1/occupancy"), captor.capture());
+        assertThat(captor.getValue().getCount()).isEqualTo(10L);
+        assertThat(captor.getValue().getCapacity()).isEqualTo(45);
+        then(messagingTemplate).should().convertAndSend(eq("/topic/route/2/occupancy"), any(Object.class));
+        then(messagingTemplate).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 전송하지 않음")
+    void noChangeNoSend() {
+        occupancyBroadcaster.onOccupancyChanged(new OccupancyChangedEvent(1L, 1L, 45));
+        occupancyBroadcaster.flush();
+        occupancyBroadcaster.flush();
+
+        then(messagingTemplate).should(times(1)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("전송 실패 시 다음 주기에 다시 전송")
+    void retryOnFailure() {
+        willThrow(new MessagingException("broker down"))
+                .willDoNothing()
+                .given(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+        occupancyBroadcaster.onOccupancyChanged(new OccupancyChangedEvent(1L, 1L, 45));
+
+        occupancyBroadcaster.flush();
+        occupancyBroadcaster.flush();
+
+        then(messagingTemplate).should(times(2)).convertAndSend(eq("/topic/route/1/occupancy"), any(Object.class));
+    }
+}
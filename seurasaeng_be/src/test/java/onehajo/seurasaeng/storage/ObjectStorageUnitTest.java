@@ -0,0 +1,120 @@
+package onehajo.seurasaeng.storage;
+
+import onehajo.seurasaeng.storage.exception.StorageException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("오브젝트 저장소 단위 테스트")
+public class ObjectStorageUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalObjectStorage localStorage;
+    private final byte[] content = "qr-image".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        localStorage = new LocalObjectStorage(tempDir.toString(), 16, 2);
+    }
+
+    @Test
+    @DisplayName("로컬 저장소 - 내용 주소 키로 저장 후 조회")
+    void localPutAndGet() {
+        // When
+        String key = localStorage.put(content, "image/png");
+        String again = localStorage.put(content.clone(), "image/png");
+
+        // Then
+        assertThat(again).isEqualTo(key);
+        assertThat(key).matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.png");
+        assertThat(Files.exists(tempDir.resolve(key))).isTrue();
+        assertThat(localStorage.get(key)).isEqualTo(content);
+        // 메모리 매핑된 객체 재조회
+        assertThat(localStorage.get(key)).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("로컬 저장소 - 매핑 기준 초과 객체는 파일에서 조회")
+    void localLargeObject() {
+        // Given
+        byte[] large = new byte[1024];
+        large[1023] = 7;
+        String largeKey = localStorage.put(large, null);
+
+        // When & Then
+        assertThat(localStorage.get(largeKey)).isEqualTo(large);
+        assertThat(localStorage.get(largeKey)).isEqualTo(large);
+    }
+
+    @Test
+    @DisplayName("로컬 저장소 - 매핑은 최근 조회한 객체만 보관 (LRU)")
+    void localMappingEvictsLeastRecentlyUsed() {
+        // Given - 매핑 최대 2개
+        String first = localStorage.put("first".getBytes(StandardCharsets.UTF_8), null);
+        String second = localStorage.put("second".getBytes(StandardCharsets.UTF_8), null);
+        String third = localStorage.put("third".getBytes(StandardCharsets.UTF_8), null);
+        localStorage.get(first);
+        localStorage.get(second);
+        localStorage.get(first);
+
+        // When
+        localStorage.get(third);
+
+        // Then
+        assertThat(localStorage.isMapped(first)).isTrue();
+        assertThat(localStorage.isMapped(second)).isFalse();
+        assertThat(localStorage.isMapped(third)).isTrue();
+        assertThat(localStorage.get(second)).isEqualTo("second".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("로컬 저장소 - 삭제 후 조회 실패")
+    void localDelete() {
+        // Given
+        String key = localStorage.put(content, "image/png");
+        localStorage.get(key);
+
+        // When
+        boolean deleted = localStorage.delete(key);
+
+        // Then
+        assertThat(deleted).isTrue();
+        assertThatThrownBy(() -> localStorage.get(key))
+                .isInstanceOf(StorageException.class);
+    }
+
+    @Test
+    @DisplayName("로컬 저장소 - 저장소 밖 경로 접근 차단")
+    void localRejectsPathTraversal() {
+        assertThatThrownBy(() -> localStorage.get("../outside.png"))
+                .isInstanceOf(StorageException.class)
+                .hasMessageContaining("잘못된 저장소 키");
+    }
+
+    @Test
+    @DisplayName("메모리 저장소 - 저장, 조회, 삭제")
+    void memoryStorage() {
+        // Given
+        InMemoryObjectStorage memoryStorage = new InMemoryObjectStorage();
+
+        // When
+        String key = memoryStorage.put(content, "image/png");
+
+        // Then
+        assertThat(key).isEqualTo(localStorage.put(content, "image/png"));
+        assertThat(memoryStorage.get(key)).isEqualTo(content);
+        assertThat(memoryStorage.delete(key)).isTrue();
+        assertThat(memoryStorage.size()).isZero();
+        assertThatThrownBy(() -> memoryStorage.get(key))
+                .isInstanceOf(StorageException.class);
+    }
+}
@@ -43,7 +43,7 @@ export default function KakaoMap({ route, activeTab }: KakaoMapProps) {
   const [busMarkerImage, setBusMarkerImage] = useState<string>(BUS_MARKER_IMAGE_BLUE);
 
    /* 실시간으로 수신하는 GPS 데이터 */
-const { gpsData } = useWebSocket(route?.id ?? null, {
+const { gpsData, occupancy } = useWebSocket(route?.id ?? null, {
   onStop: () => {
     console.log("운행 종료 수신됨");
     setIsBusOperating(false);
@@ -268,29 +268,21 @@ useEffect(() => {
     }
   };
 
+  // 운행 시작 시 한 번 조회하고, 이후 변경은 소켓으로 수신
   useEffect(() => {
   if (!route?.id) return;
 
-  let interval: any = null;
-
-  // 현재 선택된 노선이 실제 WebSocket에서 운행 중인 노선인지 확인
-  if (isBusOperating && gpsData) {
-    const isSameRoute = gpsData.latitude !== null && gpsData.longitude !== null;
-
-    if (isSameRoute) {
-      fetchPassengerCount(String(route.id));
-      interval = setInterval(() => {
-        fetchPassengerCount(String(route.id));
-      }, 2000);
-    }
+  if (isBusOperating) {
+    fetchPassengerCount(String(route.id));
   } else {
     setCurrentCount(0);
   }
+}, [isBusOperating, route?.id]);
 
-  return () => {
-    if (interval) clearInterval(interval);
-  };
-}, [isBusOperating, gpsData, route]);
+  useEffect(() => {
+  if (!route?.id || !occupancy || occupancy.routeId !== route.id) return;
+  setCurrentCount(occupancy.count);
+}, [occupancy, route?.id]);
 
   const getBusImage = (count: number) => {
     if (count <= 15) return BUS_MARKER_IMAGE_BLUE;
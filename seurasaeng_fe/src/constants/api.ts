@@ -11,12 +11,12 @@ export const API = {
     endpoint: '/ws',
     destination: (routeId: string) => `/app/route/${routeId}`,
     topic: (routeId: string) => `/topic/route/${routeId}`,
+    occupancyTopic: (routeId: string) => `/topic/route/${routeId}/occupancy`,
   },
   routes: {
     endOperation: (routeId: string) => `/route/${routeId}/end`,
     list: '/shuttles',
     listWithLocation: '/shuttles/locations',
     count: (shuttleId: string) =>  `/shuttle/count/${shuttleId}`,
-    countDelete: (shuttleId: string) => `/shuttle/count/${shuttleId}`,
   },
 };
\ No newline at end of file
@@ -9,6 +9,14 @@ export interface GpsData {
   longitude: number;
 }
 
+// 수신받는 탑승 인원 데이터 타입
+export interface OccupancyData {
+  routeId: number;
+  count: number;
+  capacity: number;
+  timestamp: string;
+}
+
 // 서버에서 오는 메시지 타입 
 export type ServerMessage =
   | {
@@ -26,9 +34,11 @@ export type ServerMessage =
 export default function useWebSocket(routeId: number | null, options?: { onStop?: () => void }) {
   const [gpsData, setGpsData] = useState<GpsData | null>(null);
   const [isOperating, setIsOperating] = useState<boolean>(false);
+  const [occupancy, setOccupancy] = useState<OccupancyData | null>(null);
   const clientRef = useRef<Client | null>(null);
 
   const subscriptionRef = useRef<StompSubscription | null>(null);
+  const occupancySubscriptionRef = useRef<StompSubscription | null>(null);
   const retryCountRef = useRef<number>(0);
   const MAX_RETRY = 5;
 
@@ -105,6 +115,15 @@ export default function useWebSocket(routeId: number | null, options?: { onStop?
     });
 
     subscriptionRef.current = subscription;
+
+    // 탑승 인원 변경 구독 (서버에서 일정 주기로 묶어서 전송)
+    occupancySubscriptionRef.current?.unsubscribe();
+    occupancySubscriptionRef.current = clientRef.current.subscribe(
+      API.websocket.occupancyTopic(String(routeId)),
+      (message) => {
+        setOccupancy(JSON.parse(message.body));
+      }
+    );
   };
 
   useEffect(() => {
@@ -120,13 +139,15 @@ export default function useWebSocket(routeId: number | null, options?: { onStop?
     if (!clientRef.current || !clientRef.current.connected) return;
 
     setGpsData(null);
+    setOccupancy(null);
 
     subscriptionRef.current?.unsubscribe();
+    occupancySubscriptionRef.current?.unsubscribe();
     console.log("소켓 구독 해제");
     if (routeId !== null) {
       subscribeRoute(routeId);
     }
   }, [routeId]);
 
-  return { gpsData, isOperating };
+  return { gpsData, isOperating, occupancy };
 }
\ No newline at end of file
@@ -163,8 +163,7 @@ const handleEndOperation = async () => {
 
   try {
     await apiClient.post(API.routes.endOperation(selectedValue));
-    await apiClient.delete(API.routes.countDelete(selectedValue));
-    console.log("운행 종료 및 인원 초기화 완료");
+    console.log("운행 종료 완료");
   } catch (err) {
     console.error("운행 종료 API 실패", err);
   }
@@ -22,12 +22,15 @@ const MyRideHistoryPage: React.FC = () => {
   const [rides, setRides] = useState<RideHistoryItem[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     const fetchRides = async () => {
       try {
         const res = await apiClient.get('/shuttle/rides');
         setRides(res.data);
+        setNextCursor(res.headers['x-next-cursor'] ?? null);
       } catch {
         setError('탑승 내역을 불러오지 못했습니다.');
       } finally {
@@ -37,6 +40,21 @@ const MyRideHistoryPage: React.FC = () => {
     fetchRides();
   }, []);
 
+  // 다음 페이지 이어서 불러오기
+  const fetchMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const res = await apiClient.get('/shuttle/rides', { params: { cursor: nextCursor } });
+      setRides((prev) => [...prev, ...res.data]);
+      setNextCursor(res.headers['x-next-cursor'] ?? null);
+    } catch {
+      setError('탑승 내역을 불러오지 못했습니다.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   return (
     <div className="min-h-screen bg-[#fdfdfe] pb-16">
       {/* 상단바 */}
@@ -73,6 +91,15 @@ const MyRideHistoryPage: React.FC = () => {
             </div>
           ))
         )}
+        {!loading && !error && nextCursor && (
+          <button
+            className="w-full py-3 text-sm text-gray-500"
+            onClick={fetchMore}
+            disabled={loadingMore}
+          >
+            {loadingMore ? '불러오는 중...' : '더 보기'}
+          </button>
+        )}
       </div>
       {/* 하단바 */}
       <BottomBar />